@@ -0,0 +1,27 @@
+package com.spring.schoolmate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 설정 (application.yml 의 idempotency.*)
+ * - ttl                 : 저장된 응답 보관 기간 (이후 같은 키는 새 요청으로 처리)
+ * - cache-size          : 최근 응답을 메모리에 보관하는 최대 건수 (LRU)
+ * - in-progress-timeout : 처리 중 표시(업무 변경 미반영)가 이보다 오래되면 중단된 요청으로 보고 다시 처리 (APPLIED 는 다시 처리하지 않음)
+ * - cleanup-interval    : 만료된 기록 삭제 주기
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProperties {
+
+  private Duration ttl = Duration.ofHours(24);
+  private int cacheSize = 10_000;
+  private Duration inProgressTimeout = Duration.ofMinutes(2);
+  private Duration cleanupInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,29 @@
+package com.spring.schoolmate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 급식 사진 비동기 분석 설정 (application.yml 의 photo.analysis.*)
+ * - workers        : 업로드/Vision/번역을 처리하는 작업 스레드 수
+ * - queue-capacity : 대기 작업 최대 건수 (넘으면 503 + Retry-After)
+ * - job-retention  : 끝난 작업 결과를 조회할 수 있는 기간
+ * - sse-timeout    : 완료 이벤트 스트림(SSE) 최대 연결 시간
+ * - retry-after    : 대기열이 가득 찼을 때 클라이언트에 알려 줄 재시도 간격
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "photo.analysis")
+public class PhotoAnalysisProperties {
+
+  private int workers = 4;
+  private int queueCapacity = 200;
+  private Duration jobRetention = Duration.ofMinutes(30);
+  private Duration sseTimeout = Duration.ofSeconds(60);
+  private Duration retryAfter = Duration.ofSeconds(5);
+}
@@ -0,0 +1,29 @@
+package com.spring.schoolmate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 포인트 만료 설정 (application.yml 의 point.expiry.*)
+ * - enabled          : 적립 포인트에 만료일을 붙이고 만료 스위퍼를 실행할지 여부
+ * - validity         : 적립 후 만료까지의 기간
+ * - batch-size       : 스위퍼가 한 트랜잭션에서 처리하는 만료 로트 수 (학생 행 잠금은 이 단위로만 유지)
+ * - max-batches      : 한 번 실행할 때 처리하는 최대 batch 수 (남은 로트는 다음 실행에서 처리)
+ * - sweep-interval   : 스위퍼 실행 간격
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "point.expiry")
+public class PointExpiryProperties {
+
+  private boolean enabled = true;
+  private Duration validity = Duration.ofDays(365);
+  private int batchSize = 500;
+  private int maxBatches = 200;
+  private Duration sweepInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,37 @@
+package com.spring.schoolmate.config;
+
+import com.spring.schoolmate.service.PointReconcileService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 포인트 장부 정합성 점검 조회 및 수동 실행용 actuator 엔드포인트.
+ * - GET  /actuator/pointreconcile : 진행 상황 및 마지막 불일치 리포트
+ * - POST /actuator/pointreconcile : 실행 (본문 {"repair": true} 이면 불일치를 장부 기준으로 보정)
+ */
+@Component
+@Endpoint(id = "pointreconcile")
+@RequiredArgsConstructor
+public class PointReconcileEndpoint {
+
+  private final PointReconcileService pointReconcileService;
+
+  @ReadOperation
+  public Map<String, Object> status() {
+    return pointReconcileService.status();
+  }
+
+  @WriteOperation
+  public Map<String, Object> start(@Nullable Boolean repair) {
+    boolean started = pointReconcileService.startAsync(Boolean.TRUE.equals(repair));
+    Map<String, Object> status = pointReconcileService.status();
+    status.put("accepted", started);
+    return status;
+  }
+}
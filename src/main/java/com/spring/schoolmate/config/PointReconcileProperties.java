@@ -0,0 +1,23 @@
+package com.spring.schoolmate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 포인트 장부 정합성 점검 설정 (application.yml 의 point.reconcile.*)
+ * - chunk-size   : 한 번에 집계하는 student_id 범위 크기
+ * - parallelism  : 동시에 집계하는 범위 수 (DB 커넥션 풀 크기보다 작게)
+ * - max-reported : 리포트에 담는 불일치 학생 최대 수 (건수는 전체 집계)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "point.reconcile")
+public class PointReconcileProperties {
+
+  private int chunkSize = 2_000;
+  private int parallelism = 4;
+  private int maxReported = 1_000;
+}
@@ -8,6 +8,7 @@ import com.spring.schoolmate.jwt.OAuth2SuccessHandler;
 import com.spring.schoolmate.repository.AdminRepository;
 import com.spring.schoolmate.repository.StudentRepository;
 import com.spring.schoolmate.service.CustomOAuth2UserService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -75,6 +76,8 @@ public class SecurityConfig {
 
         // 4. URL별 접근 권한 설정
         http.authorizeHttpRequests(auth -> auth
+          // SSE 등 비동기 응답의 ASYNC 디스패치는 최초 요청에서 이미 인가됨
+          .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
           .requestMatchers(
             "/api/auth/login",
             "/api/auth/**",
@@ -91,6 +94,10 @@ public class SecurityConfig {
             "/v3/api-docs/**", "/api-docs/**", "/swagger-ui.html"
           ).permitAll()
           .requestMatchers("/admin").hasRole("ADMIN")
+          .requestMatchers("/api/admin/points/**").hasRole("ADMIN")
+          .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+          .requestMatchers("/actuator/neisprefetch").hasRole("ADMIN")
+          .requestMatchers("/actuator/pointreconcile").hasRole("ADMIN")
           .anyRequest().authenticated());
 
         // 5. 세션 관리 설정: 상태 없음(stateless)
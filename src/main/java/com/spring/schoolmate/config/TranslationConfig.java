@@ -0,0 +1,29 @@
+package com.spring.schoolmate.config;
+
+import com.google.api.gax.core.FixedCredentialsProvider;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.google.cloud.translate.v3.TranslationServiceSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class TranslationConfig {
+
+  /**
+   * Translation API 클라이언트(TranslationServiceClient)를 스프링 빈으로 등록.
+   * gRPC 채널을 애플리케이션 전체에서 하나만 열어 재사용하고, 종료 시 close() 로 닫는다.
+   * VisionConfig와 같이 FirebaseConfig에서 생성된 GoogleCredentials 빈을 사용.
+   */
+  @Bean(destroyMethod = "close")
+  public TranslationServiceClient translationServiceClient(GoogleCredentials credentials) throws IOException {
+
+    TranslationServiceSettings settings = TranslationServiceSettings.newBuilder()
+      .setCredentialsProvider(FixedCredentialsProvider.create(credentials))
+      .build();
+
+    return TranslationServiceClient.create(settings);
+  }
+}
@@ -0,0 +1,21 @@
+package com.spring.schoolmate.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Vision 라벨 번역 설정 (application.yml 의 translation.*)
+ * - cache-size : 번역 결과를 메모리에 보관하는 최대 건수 (LRU)
+ * - dictionary : 시작 시 읽어 두는 라벨 사전 (classpath, "영문=번역" 한 줄에 하나)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "translation")
+public class TranslationProperties {
+
+  private int cacheSize = 10_000;
+  private String dictionary = "translation/vision-labels-ko.txt";
+}
@@ -0,0 +1,82 @@
+package com.spring.schoolmate.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * vision_labels.label_name 유니크 인덱스 일회성 마이그레이션.
+ *
+ * 예전 조회 후 저장 방식에서는 같은 label_name 행이 중복으로 들어갈 수 있었고, 그런 테이블에서는
+ * ddl-auto: update 의 ADD CONSTRAINT 가 실패(로그만 남김)해서 인덱스 없이 기동된다.
+ * 인덱스가 없으면 VisionBatchRepository.insertLabelsIfAbsent 가 중복을 막지 못하므로, 기동 시 인덱스가 없으면
+ * 1. 라벨명별로 가장 작은 label_id 를 남기고 eatphoto_vision_scores.label_id 를 그쪽으로 옮긴 뒤 나머지 라벨 삭제
+ * 2. 유니크 인덱스 추가
+ * 를 한 번 실행한다. (인덱스가 있으면 아무것도 하지 않음, 실패하면 로그를 남기고 다음 기동 때 다시 시도)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VisionLabelUniqueIndexMigration implements ApplicationRunner {
+
+  private static final String INDEX_NAME = "uk_vision_labels_label_name";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    try {
+      if (hasUniqueIndex()) {
+        return;
+      }
+      Integer merged = transactionTemplate.execute(status -> mergeDuplicates());
+      jdbcTemplate.execute("ALTER TABLE vision_labels ADD CONSTRAINT " + INDEX_NAME + " UNIQUE (label_name)");
+      log.info("[Vision 라벨] 중복 라벨명 {}개를 합치고 유니크 인덱스를 추가했습니다.", merged);
+    } catch (DataAccessException e) {
+      log.error("[Vision 라벨] 유니크 인덱스 마이그레이션 실패 - 다음 기동 때 다시 시도합니다.", e);
+    }
+  }
+
+  // 라벨명별 가장 작은 label_id 로 점수를 옮기고 나머지 라벨 삭제 - 합친 라벨명 수 반환
+  private int mergeDuplicates() {
+    List<Map<String, Object>> duplicates = jdbcTemplate.queryForList(
+      "SELECT label_name, MIN(label_id) AS keep_id FROM vision_labels GROUP BY label_name HAVING COUNT(*) > 1");
+    for (Map<String, Object> row : duplicates) {
+      String labelName = (String) row.get("label_name");
+      int keepId = ((Number) row.get("keep_id")).intValue();
+      jdbcTemplate.update("UPDATE eatphoto_vision_scores SET label_id = ? WHERE label_id IN "
+        + "(SELECT label_id FROM vision_labels WHERE label_name = ? AND label_id <> ?)", keepId, labelName, keepId);
+      jdbcTemplate.update("DELETE FROM vision_labels WHERE label_name = ? AND label_id <> ?", labelName, keepId);
+    }
+    return duplicates.size();
+  }
+
+  // label_name 단일 컬럼 유니크 인덱스 존재 여부 (테이블명 대소문자는 DB 마다 다름)
+  private boolean hasUniqueIndex() {
+    return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+      DatabaseMetaData metaData = connection.getMetaData();
+      for (String table : List.of("vision_labels", "VISION_LABELS")) {
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+          while (rs.next()) {
+            if ("label_name".equalsIgnoreCase(rs.getString("COLUMN_NAME"))) {
+              return true;
+            }
+          }
+        }
+      }
+      return false;
+    }));
+  }
+}
@@ -1,20 +1,54 @@
 package com.spring.schoolmate.config;
 
 
+import com.spring.schoolmate.neis.NeisClientProperties;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 @Slf4j
 public class WebClientConfig {
 
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/58.0.3029.110 Safari/537.36";
+
+    /**
+     * NEIS 전용 WebClient.
+     * 커넥션 풀 크기와 연결/응답 타임아웃을 제한하여 NEIS 장애 시 요청이 무기한 대기하지 않도록 합니다.
+     * 풀/요청 메트릭은 actuator(reactor.netty.connection.provider.*, reactor.netty.http.client.*)로 노출됩니다.
+     */
     @Bean
-    public WebClient webClient() {
+    public WebClient neisWebClient(NeisClientProperties properties) {
+        NeisClientProperties.Pool pool = properties.getPool();
+        ConnectionProvider provider = ConnectionProvider.builder("neis")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .metrics(true)
+                .build();
+
+        // 데이터셋별 타임아웃은 NeisClient에서 걸고, 여기서는 가장 긴 값으로 상한만 둔다
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getTimeouts().values().stream()
+                        .reduce(properties.getTimeout(), (a, b) -> a.compareTo(b) >= 0 ? a : b))
+                .metrics(true, uri -> {
+                    // 쿼리 스트링을 태그에 넣지 않도록 경로만 사용
+                    int query = uri.indexOf('?');
+                    return query < 0 ? uri : uri.substring(0, query);
+                });
+
         return WebClient.builder()
-                .defaultHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/58.0.3029.110 Safari/537.36")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.USER_AGENT, USER_AGENT)
                 .build();
     }
 }
@@ -1,16 +1,26 @@
 package com.spring.schoolmate.controller;
 
 import com.spring.schoolmate.dto.admin.AdminProfileUpdateReq;
+import com.spring.schoolmate.dto.admin.BulkPointGrantReq;
+import com.spring.schoolmate.dto.admin.BulkPointGrantRes;
+import com.spring.schoolmate.dto.allergy.SchoolAllergyReportRes;
+import com.spring.schoolmate.dto.common.CursorPage;
 import com.spring.schoolmate.dto.profile.ProfileRes;
 import com.spring.schoolmate.service.AdminProfileService;
+import com.spring.schoolmate.service.PointHistoryService;
+import com.spring.schoolmate.service.SchoolAllergyStatsService;
 import io.swagger.v3.oas.annotations.Operation; // Operation 어노테이션 추가
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
 /**
  * 관리자 전용 컨트롤러.
  * 학생 프로필 수정, 전체 학생 목록 및 포인트 조회 기능을 제공합니다.
@@ -22,6 +32,8 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
   private final AdminProfileService adminProfileService;
+  private final SchoolAllergyStatsService schoolAllergyStatsService;
+  private final PointHistoryService pointHistoryService;
 
   /**
    * 1. 특정 학생의 정보 및 포인트 수정 API
@@ -63,4 +75,71 @@ public class AdminController {
     );
     return ResponseEntity.ok(studentPage);
   }
-}
\ No newline at end of file
+
+  /**
+   * 2-1. 전체 학생 목록 커서 기반 조회 API
+   * GET /api/admin/students/page?cursor=...&size=20
+   * OFFSET/COUNT 없이 studentId 이후부터 조회하므로 뒤쪽 페이지도 첫 페이지와 같은 비용으로 조회된다.
+   */
+  @Operation(
+    summary = "전체 학생 목록 및 프로필 조회 (커서 페이지네이션/검색)",
+    description = "전체 학생 목록과 프로필 및 현재 포인트를 학생 ID 순으로 size 건씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다. 이름, 전화번호, 학교 검색이 가능합니다."
+  )
+  @GetMapping("/students/page")
+  public ResponseEntity<?> getStudentsPage(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    @RequestParam(required = false) String name,
+    @RequestParam(required = false) String phone,
+    @RequestParam(required = false) String school
+  ) {
+    try {
+      CursorPage<ProfileRes> students = adminProfileService.getStudentProfilesPage(
+        cursor, size, name, phone, school
+      );
+      return ResponseEntity.ok(students);
+    } catch (IllegalArgumentException e) {
+      // 잘못된 커서
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+  }
+
+  /**
+   * 2-2. 학교 / 학년 / 반 단위 포인트 일괄 지급 API
+   * POST /api/admin/points/grant
+   */
+  @Operation(
+    summary = "포인트 일괄 지급 (학교/학년/반)",
+    description = "학교 코드(필수), 학년, 반 조건에 해당하는 학생 전체에게 같은 포인트를 한 번에 지급합니다. 이벤트 보상 등에 사용합니다. [권한: ADMIN]"
+  )
+  @PostMapping("/points/grant") // 권한 검사는 SecurityConfig 의 /api/admin/points/** 규칙
+  public ResponseEntity<?> grantPoints(@RequestBody BulkPointGrantReq req) {
+    try {
+      BulkPointGrantRes result = pointHistoryService.grantPointsBulk(req);
+      return ResponseEntity.ok(result);
+    } catch (IllegalArgumentException e) {
+      // 필수 조건 누락, 지급 포인트 범위 오류 등
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+  }
+
+  /**
+   * 3. 학교 급식 알레르기 노출 리포트 API
+   * GET /api/admin/schools/{scCode}/{schoolCode}/allergy-report?date=yyyyMMdd
+   */
+  @Operation(
+    summary = "학교 급식 알레르기 노출 리포트",
+    description = "특정 학교의 알레르기별 학생 수와, 해당 일자(기본: 오늘) 급식의 요리별 알레르기 노출 학생 수를 조회합니다."
+  )
+  @GetMapping("/schools/{scCode}/{schoolCode}/allergy-report")
+  public ResponseEntity<SchoolAllergyReportRes> getSchoolAllergyReport(
+    @PathVariable String scCode,
+    @PathVariable String schoolCode,
+    @RequestParam(required = false) String date) {
+
+    String mealDate = (date == null || date.isBlank())
+      ? LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"))
+      : date;
+    return ResponseEntity.ok(schoolAllergyStatsService.getReport(scCode, schoolCode, mealDate));
+  }
+}
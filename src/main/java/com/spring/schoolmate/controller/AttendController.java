@@ -2,7 +2,8 @@ package com.spring.schoolmate.controller;
 
 import com.spring.schoolmate.dto.pointhistory.PointHistoryRes;
 import com.spring.schoolmate.entity.PointHistory;
-import com.spring.schoolmate.service.PointHistoryService;
+import com.spring.schoolmate.service.AttendanceService;
+import com.spring.schoolmate.service.IdempotencyService;
 import com.spring.schoolmate.exception.NotFoundException;
 import com.spring.schoolmate.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation; // Operation 어노테이션 추가
@@ -26,21 +27,25 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class AttendController {
 
-  private final PointHistoryService pointHistoryService;
+  private final AttendanceService attendanceService;
   private final StudentService studentService;
+  private final IdempotencyService idempotencyService;
 
   /**
    * 로그인된 학생의 오늘 출석을 체크하고 500 포인트를 지급합니다.
    * POST /api/attend/student/me/check
    * @param authentication Spring Security의 인증 정보
+   * @param idempotencyKey 재시도 시 같은 값을 보내면 저장된 응답을 그대로 반환 (선택)
    * @return 지급된 포인트 내역(PointHistoryRes) DTO
    */
   @Operation(
     summary = "오늘의 출석 체크 및 포인트 지급",
-    description = "로그인한 학생의 오늘 출석을 기록하고 정해진 포인트(예: 500P)를 지급합니다. 하루에 한 번만 가능합니다."
+    description = "로그인한 학생의 오늘 출석을 기록하고 정해진 포인트(예: 500P)를 지급합니다. 하루에 한 번만 가능합니다. Idempotency-Key 헤더를 보내면 재시도 시 처음 응답을 그대로 돌려줍니다."
   )
   @PostMapping("/student/me/check")
-  public ResponseEntity<PointHistoryRes> checkAttendance(Authentication authentication) {
+  public ResponseEntity<?> checkAttendance(
+    Authentication authentication,
+    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
     if (authentication == null || !authentication.isAuthenticated()) {
       return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build(); // 401
     }
@@ -48,16 +53,18 @@ public class AttendController {
     // 실제 로직에서는 이메일을 통해 studentId를 조회해야 함
     Long studentId = studentService.getStudentIdByEmail(email);
 
-    try {
-      // Service에서 오늘 출석 여부, 포인트 지급 및 기록 처리
-      PointHistory history = pointHistoryService.addAttendancePoint(studentId);
-      return ResponseEntity.ok(PointHistoryRes.fromEntity(history)); // 200 OK
-    } catch (NoSuchElementException e) {
-      return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 학생 없음
-    } catch (IllegalStateException e) {
-      // '오늘 이미 출석 완료' 등 비즈니스 로직 오류
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build(); // 400 BAD REQUEST
-    }
+    return idempotencyService.execute(studentId, IdempotencyService.SCOPE_ATTEND, idempotencyKey, null, () -> {
+      try {
+        // Service에서 오늘 출석 여부, 포인트 지급 및 기록 처리
+        PointHistory history = attendanceService.checkIn(studentId);
+        return ResponseEntity.ok(PointHistoryRes.fromEntity(history)); // 200 OK
+      } catch (NoSuchElementException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build(); // 404 학생 없음
+      } catch (IllegalStateException e) {
+        // '오늘 이미 출석 완료' 등 비즈니스 로직 오류
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build(); // 400 BAD REQUEST
+      }
+    });
   }
 
   /**
@@ -78,7 +85,7 @@ public class AttendController {
     String email = authentication.getName();
 
     try {
-      Integer count = pointHistoryService.getAttendanceCountByStudentEmail(email);
+      Integer count = attendanceService.getAttendanceCountByStudentEmail(email);
       return ResponseEntity.ok(count);
     } catch (NoSuchElementException | NotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -109,8 +116,8 @@ public class AttendController {
     String email = authentication.getName();
 
     try {
-      // Service에서 해당 월의 출석 기록 리스트를 가져와 String List로 변환
-      List<String> dates = pointHistoryService.getAttendanceDatesByStudentEmailAndMonth(email, year, month);
+      // 연간 출석 비트맵에서 해당 월의 출석일을 문자열 리스트로 변환
+      List<String> dates = attendanceService.getAttendanceDatesByStudentEmailAndMonth(email, year, month);
       return ResponseEntity.ok(dates);
     } catch (NoSuchElementException | NotFoundException e) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
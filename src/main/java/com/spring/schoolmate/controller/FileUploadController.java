@@ -1,73 +1,138 @@
 package com.spring.schoolmate.controller;
 
+import com.spring.schoolmate.config.PhotoAnalysisProperties;
+import com.spring.schoolmate.dto.eatphoto.PhotoJobRes;
 import com.spring.schoolmate.entity.Student;
-import com.spring.schoolmate.service.EatPhotoService;
+import com.spring.schoolmate.service.IdempotencyService;
+import com.spring.schoolmate.service.PhotoAnalysisJobService;
 import io.swagger.v3.oas.annotations.Operation; // Operation 어노테이션 추가
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.RejectedExecutionException;
 import com.spring.schoolmate.security.CustomStudentDetails;
 
 /**
  * 파일 업로드 및 Google Cloud Vision AI 연동 컨트롤러.
  * 주로 학생이 급식 사진을 업로드하고 분석을 요청하는 기능을 처리합니다.
+ * 분석은 작업 스레드에서 비동기로 진행되며, 결과는 작업 조회 또는 SSE 스트림으로 확인합니다.
  */
 @Tag(name = "File Upload & Vision AI", description = "급식 사진 업로드 및 Google Cloud Vision AI 분석 API")
 @RestController
 @RequestMapping("/api/v1/photos")
 public class FileUploadController {
 
-  private final EatPhotoService eatPhotoService;
+  private final PhotoAnalysisJobService photoAnalysisJobService;
+  private final PhotoAnalysisProperties photoAnalysisProperties;
+  private final IdempotencyService idempotencyService;
 
-  public FileUploadController(EatPhotoService eatPhotoService) {
-    this.eatPhotoService = eatPhotoService;
+  public FileUploadController(PhotoAnalysisJobService photoAnalysisJobService,
+                              PhotoAnalysisProperties photoAnalysisProperties,
+                              IdempotencyService idempotencyService) {
+    this.photoAnalysisJobService = photoAnalysisJobService;
+    this.photoAnalysisProperties = photoAnalysisProperties;
+    this.idempotencyService = idempotencyService;
   }
 
   @Operation(
     summary = "학생 급식 사진 업로드 및 Vision AI 분석 요청",
-    description = "로그인된 학생이 급식 사진을 업로드하고, 서버는 이를 Google Cloud Storage에 저장 후 Vision AI를 통해 분석합니다. 결과 문자열(JSON 형식)을 반환합니다."
+    description = "로그인된 학생이 급식 사진을 업로드하면 분석 작업을 대기열에 넣고 202와 작업 ID를 반환합니다. 저장/Vision AI 분석/포인트 지급은 비동기로 진행되며, 결과는 /jobs/{jobId} 조회 또는 /jobs/{jobId}/events (SSE) 로 확인합니다. 대기열이 가득 차면 503과 Retry-After 를 반환합니다. Idempotency-Key 헤더를 보내면 재시도 시 새 작업 없이 처음 응답(같은 작업 ID)을 그대로 돌려줍니다."
   )
   @PostMapping("/upload")
-  public ResponseEntity<String> uploadPhoto(@RequestParam("file") MultipartFile file) {
+  public ResponseEntity<?> uploadPhoto(
+    @RequestParam("file") MultipartFile file,
+    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-    if (authentication == null || !authentication.isAuthenticated()) {
-      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요하거나 토큰이 유효하지 않습니다.");
+    ResponseEntity<?> authError = checkAuthentication();
+    if (authError != null) {
+      return authError;
+    }
+    Long studentId = currentStudentId();
+    if (studentId == null) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body("사용자 인증 정보에서 학생 ID를 추출할 수 없습니다. (내부 로직 오류)");
+    }
+    if (file.isEmpty()) {
+      return ResponseEntity.badRequest().body("업로드할 파일이 비어 있습니다.");
     }
 
-    Long studentId;
-    try {
-      // JWT를 통해 인증된 학생의 ID 추출
-      Object principal = authentication.getPrincipal();
-
-      if (principal instanceof CustomStudentDetails) {
-        studentId = ((CustomStudentDetails) principal).getStudent().getStudentId();
-      } else if (principal instanceof Student) {
-        studentId = ((Student) principal).getStudentId();
-      } else {
-        throw new ClassCastException("Principal 객체 타입이 CustomStudentDetails 또는 Student가 아닙니다.");
+    // 같은 키로 다른 파일을 보내면 거절하도록 파일 이름/크기를 요청 요약으로 사용
+    String fingerprint = file.getOriginalFilename() + ":" + file.getSize();
+    return idempotencyService.execute(studentId, IdempotencyService.SCOPE_PHOTO_UPLOAD, idempotencyKey, fingerprint, () -> {
+      try {
+        // 요청이 끝나면 임시 파일이 지워지므로 내용을 복사해서 넘긴다
+        PhotoJobRes job = photoAnalysisJobService.submit(studentId, file.getBytes(), file.getOriginalFilename());
+        return ResponseEntity.accepted()
+          .location(URI.create("/api/v1/photos/jobs/" + job.getJobId()))
+          .body(job);
+      } catch (IOException e) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Image upload failed: " + e.getMessage());
+      } catch (RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .header(HttpHeaders.RETRY_AFTER, String.valueOf(photoAnalysisProperties.getRetryAfter().toSeconds()))
+          .body("사진 분석 요청이 많습니다. 잠시 후 다시 시도해 주세요.");
       }
+    });
+  }
 
-    } catch (Exception e) {
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-        .body("사용자 인증 정보에서 학생 ID를 추출할 수 없습니다. (내부 로직 오류)");
+  @Operation(
+    summary = "급식 사진 분석 작업 상태 조회",
+    description = "업로드 시 받은 작업 ID로 분석 상태(QUEUED/RUNNING/SUCCEEDED/FAILED)와 결과 메시지를 조회합니다. 본인 작업만 조회할 수 있습니다."
+  )
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<?> getJob(@PathVariable String jobId) {
+    ResponseEntity<?> authError = checkAuthentication();
+    if (authError != null) {
+      return authError;
     }
+    Long studentId = currentStudentId();
+    return photoAnalysisJobService.getJob(jobId, studentId)
+      .<ResponseEntity<?>>map(ResponseEntity::ok)
+      .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("작업을 찾을 수 없습니다."));
+  }
+
+  @Operation(
+    summary = "급식 사진 분석 완료 이벤트 (SSE)",
+    description = "연결 직후 현재 상태를 status 이벤트로 보내고, 분석이 끝나면 result 이벤트를 보낸 뒤 스트림을 닫습니다."
+  )
+  @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<?> streamJob(@PathVariable String jobId) {
+    ResponseEntity<?> authError = checkAuthentication();
+    if (authError != null) {
+      return authError;
+    }
+    Long studentId = currentStudentId();
+    return photoAnalysisJobService.subscribe(jobId, studentId)
+      .<ResponseEntity<?>>map(ResponseEntity::ok)
+      .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+  }
+
+  // 인증되지 않은 요청이면 401 응답, 아니면 null
+  private ResponseEntity<?> checkAuthentication() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요하거나 토큰이 유효하지 않습니다.");
+    }
+    return null;
+  }
 
-    try {
-      // ⭐️ 수정된 부분: file.getBytes() 대신 MultipartFile 객체 'file' 자체를 전달합니다. ⭐️
-      String result = eatPhotoService.uploadAndAnalyzePhoto(file, studentId);
-      return ResponseEntity.ok(result);
-    } catch (IOException e) {
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Image upload failed: " + e.getMessage());
-    } catch (Exception e) {
-      // Service에서 throw new DMLException(...) 등으로 던진 메시지를 반환합니다.
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+  // JWT를 통해 인증된 학생의 ID 추출 (학생 principal 이 아니면 null)
+  private Long currentStudentId() {
+    Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    if (principal instanceof CustomStudentDetails) {
+      return ((CustomStudentDetails) principal).getStudent().getStudentId();
+    } else if (principal instanceof Student) {
+      return ((Student) principal).getStudentId();
     }
+    return null;
   }
-}
\ No newline at end of file
+}
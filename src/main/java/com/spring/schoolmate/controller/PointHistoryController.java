@@ -1,7 +1,12 @@
 package com.spring.schoolmate.controller;
 
+import com.spring.schoolmate.dto.common.CursorPage;
+import com.spring.schoolmate.dto.pointhistory.LeaderboardRes;
+import com.spring.schoolmate.dto.pointhistory.MyRankRes;
 import com.spring.schoolmate.dto.pointhistory.PointHistoryRes;
+import com.spring.schoolmate.dto.pointhistory.PointSummaryRes;
 import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.leaderboard.LeaderboardService;
 import com.spring.schoolmate.service.PointHistoryService;
 import com.spring.schoolmate.exception.NotFoundException;
 import com.spring.schoolmate.service.StudentService;
@@ -29,6 +34,7 @@ public class PointHistoryController {
 
   private final PointHistoryService pointHistoryService;
   private final StudentService studentService;
+  private final LeaderboardService leaderboardService;
 
   //-------------------------------------------------------------------------
   // 학생 본인 조회 엔드포인트
@@ -90,6 +96,39 @@ public class PointHistoryController {
     }
   }
 
+  /**
+   * 로그인된 학생의 포인트 거래 내역을 커서 기반으로 조회. (authToken 기반)
+   * GET /api/point-history/student/me/page?cursor=...&size=20
+   * @param authentication Spring Security의 인증 정보
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+   * @param size 페이지 크기 (기본 20, 최대 100)
+   * @return 거래 내역 목록과 다음 커서
+   */
+  @Operation(
+    summary = "본인(학생)의 포인트 거래 내역 조회 (커서 페이지네이션)",
+    description = "로그인된 학생의 포인트 거래 내역을 최신순으로 size 건씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다."
+  )
+  @GetMapping("/student/me/page")
+  public ResponseEntity<CursorPage<PointHistoryRes>> getMyPointHistoryPage(
+    Authentication authentication,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    String email = authentication.getName();
+
+    try {
+      return ResponseEntity.ok(pointHistoryService.getHistoryPageByStudentEmail(email, cursor, size));
+    } catch (NoSuchElementException | NotFoundException e) {
+      // 학생을 찾지 못한 경우
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    } catch (IllegalArgumentException e) {
+      // 잘못된 커서
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+  }
+
   /**
    * 로그인된 학생의 급식 사진 업로드 횟수를 조회. (authToken 기반)
    * GET /api/point-history/student/me/meal-count
@@ -144,6 +183,94 @@ public class PointHistoryController {
     }
   }
 
+  /**
+   * 로그인된 학생의 마이페이지 포인트 요약을 한 번에 조회. (authToken 기반)
+   * GET /api/point-history/student/me/summary
+   * @param authentication Spring Security의 인증 정보
+   * @return 잔액, 급식 사진 업로드 횟수, 사용 포인트 총합, 누적 출석 횟수
+   */
+  @Operation(
+    summary = "본인(학생)의 포인트 요약 조회",
+    description = "보유 포인트, 급식 사진 업로드 횟수, 사용 포인트 총합, 누적 출석 횟수를 한 번에 조회합니다."
+  )
+  @GetMapping("/student/me/summary")
+  public ResponseEntity<PointSummaryRes> getMyPointSummary(Authentication authentication) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    String email = authentication.getName();
+
+    try {
+      return ResponseEntity.ok(pointHistoryService.getSummaryByStudentEmail(email));
+    } catch (NoSuchElementException | NotFoundException e) {
+      // 학생을 찾지 못한 경우
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // 포인트 순위표
+  //-------------------------------------------------------------------------
+
+  /**
+   * 전체 포인트 순위 상위 N명을 조회.
+   * GET /api/point-history/leaderboard?limit=10
+   * @param limit 조회할 인원 (기본 10, 최대 100)
+   * @return 순위표
+   */
+  @Operation(
+    summary = "전체 포인트 순위 조회",
+    description = "보유 포인트 기준 전체 학생 순위 상위 limit 명을 조회합니다."
+  )
+  @GetMapping("/leaderboard")
+  public ResponseEntity<LeaderboardRes> getGlobalLeaderboard(
+    @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(leaderboardService.getGlobalTop(limit));
+  }
+
+  /**
+   * 학교별 포인트 순위 상위 N명을 조회.
+   * GET /api/point-history/leaderboard/schools/{schoolCode}?limit=10
+   * @param schoolCode 학교 코드
+   * @param limit 조회할 인원 (기본 10, 최대 100)
+   * @return 순위표
+   */
+  @Operation(
+    summary = "학교별 포인트 순위 조회",
+    description = "특정 학교 학생들의 보유 포인트 기준 순위 상위 limit 명을 조회합니다."
+  )
+  @GetMapping("/leaderboard/schools/{schoolCode}")
+  public ResponseEntity<LeaderboardRes> getSchoolLeaderboard(
+    @PathVariable String schoolCode,
+    @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(leaderboardService.getSchoolTop(schoolCode, limit));
+  }
+
+  /**
+   * 로그인된 학생의 전체 / 학교 순위를 조회. (authToken 기반)
+   * GET /api/point-history/leaderboard/me
+   * @param authentication Spring Security의 인증 정보
+   * @return 전체 순위, 학교 순위
+   */
+  @Operation(
+    summary = "본인(학생)의 포인트 순위 조회",
+    description = "로그인된 학생의 전체 순위와 학교 내 순위를 조회합니다."
+  )
+  @GetMapping("/leaderboard/me")
+  public ResponseEntity<MyRankRes> getMyRank(Authentication authentication) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+
+    try {
+      Long studentId = studentService.getStudentIdByEmail(authentication.getName());
+      return ResponseEntity.ok(leaderboardService.getMyRank(studentId));
+    } catch (NoSuchElementException | NotFoundException e) {
+      // 학생을 찾지 못했거나 순위표에 없는 경우 (프로필 미등록)
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+  }
+
   //-------------------------------------------------------------------------
   // 관리자/내부 시스템용 (이메일 기반)
   //-------------------------------------------------------------------------
@@ -171,6 +298,32 @@ public class PointHistoryController {
     }
   }
 
+  /**
+   * 특정 학생의 이메일을 기반으로 포인트 거래 내역을 커서 기반으로 조회.
+   * @param email 조회할 학생의 이메일
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+   * @param size 페이지 크기 (기본 20, 최대 100)
+   * @return 거래 내역 목록과 다음 커서
+   */
+  @Operation(
+    summary = "특정 학생의 포인트 거래 내역 조회 (관리자용, 커서 페이지네이션)",
+    description = "관리자가 특정 학생의 포인트 거래 내역을 최신순으로 size 건씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다."
+  )
+  @GetMapping("/student/{email}/page")
+  public ResponseEntity<CursorPage<PointHistoryRes>> getPointHistoryPageByStudentEmail(
+    @PathVariable String email,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size) {
+
+    try {
+      return ResponseEntity.ok(pointHistoryService.getHistoryPageByStudentEmail(email, cursor, size));
+    } catch (NoSuchElementException | NotFoundException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+  }
+
   /**
    * 포인트 거래 내역을 기록. (관리자 지급/차감 또는 내부 시스템용)
    * @param email   거래를 기록할 학생의 이메일
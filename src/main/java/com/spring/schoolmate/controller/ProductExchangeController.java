@@ -1,8 +1,10 @@
 package com.spring.schoolmate.controller;
 
+import com.spring.schoolmate.dto.common.CursorPage;
 import com.spring.schoolmate.entity.ProductExchange;
 import com.spring.schoolmate.exception.NotFoundException;
 import com.spring.schoolmate.security.CustomStudentDetails;
+import com.spring.schoolmate.service.IdempotencyService;
 import com.spring.schoolmate.service.ProductExchangeService;
 import io.swagger.v3.oas.annotations.Operation; // Operation 어노테이션 추가
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,42 +32,47 @@ import java.util.NoSuchElementException;
 public class ProductExchangeController {
 
   private final ProductExchangeService productExchangeService;
+  private final IdempotencyService idempotencyService;
 
   /**
    * 상품 교환 요청 (STUDENT 권한 필요)
    * @param productId 교환할 상품 ID
    * @param authentication 현재 로그인한 사용자 정보 (Student ID 획득용)
+   * @param idempotencyKey 재시도 시 같은 값을 보내면 저장된 응답을 그대로 반환 (선택)
    * @return 교환 완료된 ProductExchange 객체
    */
   @Operation(
     summary = "상품 교환 요청 (포인트 사용)",
-    description = "로그인된 학생이 특정 상품 ID에 대해 포인트를 사용하고 교환을 요청합니다. 포인트가 차감되며, 재고 및 포인트 부족 시 오류를 반환합니다. [권한: STUDENT]"
+    description = "로그인된 학생이 특정 상품 ID에 대해 포인트를 사용하고 교환을 요청합니다. 포인트가 차감되며, 재고 및 포인트 부족 시 오류를 반환합니다. Idempotency-Key 헤더를 보내면 재시도 시 다시 차감하지 않고 처음 응답을 돌려줍니다. [권한: STUDENT]"
   )
   @PreAuthorize("hasAuthority('STUDENT')")
   @PostMapping("/{productId}")
   public ResponseEntity<?> exchangeProduct(
     @PathVariable Integer productId,
-    Authentication authentication) {
+    Authentication authentication,
+    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
     // studentId는 Long 타입입니다.
     CustomStudentDetails userDetails = (CustomStudentDetails) authentication.getPrincipal();
     Long studentId = userDetails.getStudent().getStudentId();
 
-    try {
-      ProductExchange newExchange = productExchangeService.exchangeProduct(studentId, productId);
-      return new ResponseEntity<>(newExchange, HttpStatus.CREATED);
-    } catch (NoSuchElementException e) {
-      // 학생 또는 상품 미발견 시 404 NOT_FOUND
-      log.warn("상품 교환 실패: 학생 또는 상품을 찾을 수 없습니다. Student ID: {}, Product ID: {}", studentId, productId, e);
-      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-    } catch (IllegalArgumentException e) {
-      // 포인트 부족 또는 재고 부족 시 400 BAD_REQUEST
-      log.warn("상품 교환 실패: 포인트 또는 재고 부족. Student ID: {}, Product ID: {}", studentId, productId, e);
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-    } catch (Exception e) {
-      log.error("상품 교환 중 예상치 못한 오류 발생. Student ID: {}, Product ID: {}", studentId, productId, e);
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("상품 교환 중 예상치 못한 오류가 발생했습니다.");
-    }
+    return idempotencyService.execute(studentId, IdempotencyService.SCOPE_EXCHANGE, idempotencyKey, "product:" + productId, () -> {
+      try {
+        ProductExchange newExchange = productExchangeService.exchangeProduct(studentId, productId);
+        return new ResponseEntity<>(newExchange, HttpStatus.CREATED);
+      } catch (NoSuchElementException e) {
+        // 학생 또는 상품 미발견 시 404 NOT_FOUND
+        log.warn("상품 교환 실패: 학생 또는 상품을 찾을 수 없습니다. Student ID: {}, Product ID: {}", studentId, productId, e);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+      } catch (IllegalArgumentException e) {
+        // 포인트 부족 또는 재고 부족 시 400 BAD_REQUEST
+        log.warn("상품 교환 실패: 포인트 또는 재고 부족. Student ID: {}, Product ID: {}", studentId, productId, e);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+      } catch (Exception e) {
+        log.error("상품 교환 중 예상치 못한 오류 발생. Student ID: {}, Product ID: {}", studentId, productId, e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("상품 교환 중 예상치 못한 오류가 발생했습니다.");
+      }
+    });
   }
 
   // ---
@@ -116,4 +123,35 @@ public class ProductExchangeController {
     Page<ProductExchange> exchanges = productExchangeService.getExchangedProductsByStudentId(studentId, pageable);
     return ResponseEntity.ok(exchanges);
   }
-}
\ No newline at end of file
+
+  /**
+   * 로그인한 학생의 교환 상품 목록을 커서 기반으로 조회 (STUDENT 권한 필요)
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+   * @param size 페이지 크기 (기본 20, 최대 100)
+   * @param authentication 현재 로그인한 사용자 정보 (Student ID 획득용)
+   * @return 교환 상품 목록과 다음 커서
+   */
+  @Operation(
+    summary = "본인(학생)의 상품 교환 내역 조회 (커서 페이지네이션)",
+    description = "로그인된 학생이 교환한 상품 목록을 최신순으로 size 건씩 조회합니다. 다음 페이지는 응답의 nextCursor를 cursor로 전달합니다. [권한: STUDENT]"
+  )
+  @PreAuthorize("hasAuthority('STUDENT')")
+  @GetMapping("/my-exchanges/page")
+  public ResponseEntity<?> getMyExchangedProductsPage(
+    @RequestParam(required = false) String cursor,
+    @RequestParam(required = false) Integer size,
+    Authentication authentication) {
+
+    CustomStudentDetails userDetails = (CustomStudentDetails) authentication.getPrincipal();
+    Long studentId = userDetails.getStudent().getStudentId();
+
+    try {
+      CursorPage<ProductExchange> exchanges =
+        productExchangeService.getExchangedProductsPageByStudentId(studentId, cursor, size);
+      return ResponseEntity.ok(exchanges);
+    } catch (IllegalArgumentException e) {
+      // 잘못된 커서
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+  }
+}
@@ -1,10 +1,12 @@
 package com.spring.schoolmate.controller;
 
+import com.spring.schoolmate.dto.neis.MealAllergyRes;
 import com.spring.schoolmate.dto.neis.MealInfoRow;
 import com.spring.schoolmate.dto.neis.SchoolScheduleRow;
 import com.spring.schoolmate.dto.neis.TimetableRes;
 import com.spring.schoolmate.dto.profile.ProfileRes;
 import com.spring.schoolmate.security.CustomStudentDetails;
+import com.spring.schoolmate.service.AllergyService;
 import com.spring.schoolmate.service.NeisApiService;
 import com.spring.schoolmate.service.ProfileService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -25,6 +28,7 @@ import java.util.List;
 /**
  * 학교 정보 (NEIS API 연동) 관련 컨트롤러.
  * 급식, 학사일정, 시간표 조회 기능을 제공합니다.
+ * NEIS 호출을 기다리는 동안 서블릿 스레드를 점유하지 않도록 Mono를 반환합니다. (클라이언트 연결이 끊기면 외부 호출도 취소)
  */
 @Tag(name = "NEIS API", description = "NEIS Open API 연동 관련 (급식, 학사일정, 시간표)")
 @RestController
@@ -36,17 +40,18 @@ public class SchoolController {
 
     private final NeisApiService neisApiService;
     private final ProfileService profileService;
+    private final AllergyService allergyService;
 
     // 급식 정보 조회 API
     @GetMapping("/meal")
     @Operation(summary = "월간 급식 정보 조회", description = "로그인된 학생의 학교 정보(시작 날짜: 오늘, 기간: 한 달)를 기준으로 급식 정보를 조회합니다.")
-    public ResponseEntity<List<MealInfoRow>> getMealInfo(
+    public Mono<ResponseEntity<List<MealInfoRow>>> getMealInfo(
       @AuthenticationPrincipal CustomStudentDetails customStudentDetails) {
 
         log.info(">>>>> 월간 급식 정보 정보 조회 API Call");
         if (customStudentDetails == null) {
             log.error("인증 정보가 없습니다. (customStudentDetails is null)");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
         }
         log.info("급식 정보 조회 API 시작. 사용자: {}", customStudentDetails.getUsername());
 
@@ -58,20 +63,51 @@ public class SchoolController {
         String startDate = today.format(formatter); // 시작일: 오늘
         String endDate = endDateAfterOneMonth.format(formatter); // 종료일: 한 달 뒤
 
-        List<MealInfoRow> mealList = neisApiService.getMealInfo(
+        log.info("프로필 정보 확인 완료: scCode={}, schoolCode={}", userProfile.getScCode(), userProfile.getSchoolCode());
+        return neisApiService.getMealInfoAsync(
           userProfile.getScCode(),
           userProfile.getSchoolCode(),
           startDate,
           endDate
-        );
-        log.info("프로필 정보 확인 완료: scCode={}, schoolCode={}", userProfile.getScCode(), userProfile.getSchoolCode());
-        return ResponseEntity.ok(mealList);
+        ).map(ResponseEntity::ok);
+    }
+
+    // 내 알레르기 기준 급식 정보 조회 API
+    @GetMapping("/meal/me")
+    @Operation(summary = "알레르기 위험 표시 급식 정보 조회", description = "로그인된 학생의 학교 급식(오늘부터 한 달)을 요리 단위로 나누고, 학생이 등록한 알레르기가 포함된 요리를 표시합니다.")
+    public Mono<ResponseEntity<List<MealAllergyRes>>> getMyMealInfo(
+      @AuthenticationPrincipal CustomStudentDetails customStudentDetails) {
+
+        log.info(">>>>> 알레르기 급식 정보 조회 API Call");
+        if (customStudentDetails == null) {
+            log.error("인증 정보가 없습니다. (customStudentDetails is null)");
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        Long studentId = customStudentDetails.getStudent().getStudentId();
+        ProfileRes userProfile = profileService.getProfile(studentId);
+        long allergyMask = allergyService.getAllergyMask(studentId);
+
+        LocalDate today = LocalDate.now();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
+        String startDate = today.format(formatter); // 시작일: 오늘
+        String endDate = today.plusMonths(1).format(formatter); // 종료일: 한 달 뒤
+
+        return neisApiService.getMealInfoAsync(
+          userProfile.getScCode(),
+          userProfile.getSchoolCode(),
+          startDate,
+          endDate
+        ).map(rows -> rows.stream()
+          .map(row -> MealAllergyRes.of(row, allergyMask))
+          .toList()
+        ).map(ResponseEntity::ok);
     }
 
     // 학사일정 조회 API
     @Operation(summary = "월간 학사일정 조회", description = "로그인된 학생의 학교 정보를 기준으로 특정 연/월의 학사일정을 조회합니다.")
     @GetMapping("/schedule")
-    public ResponseEntity<List<SchoolScheduleRow>> getMySchoolSchedule(
+    public Mono<ResponseEntity<List<SchoolScheduleRow>>> getMySchoolSchedule(
       @AuthenticationPrincipal CustomStudentDetails customStudentDetails,
       @Parameter(description = "조회할 연도 (4자리)", example = "2025") @RequestParam int year,
       @Parameter(description = "조회할 월 (1~12)", example = "10") @RequestParam int month) { // @Parameter 추가
@@ -87,19 +123,18 @@ public class SchoolController {
 
         log.info("조회 대상 기간: {} ~ {}", startDate, endDate);
 
-        List<SchoolScheduleRow> scheduleList = neisApiService.getSchoolSchedule(
+        return neisApiService.getSchoolScheduleAsync(
           userProfile.getScCode(),
           userProfile.getSchoolCode(),
           startDate,
           endDate
-        );
-        return ResponseEntity.ok(scheduleList);
+        ).map(ResponseEntity::ok);
     }
 
     // 시간표 조회 API
     @Operation(summary = "주간 시간표 조회", description = "특정 날짜를 기준으로 해당 주(월~금)의 시간표를 조회합니다. 학생의 학년/반/학과 정보를 사용합니다.")
     @GetMapping("/timetable")
-    public ResponseEntity<List<TimetableRes>> getMySchoolTimetable(
+    public Mono<ResponseEntity<List<TimetableRes>>> getMySchoolTimetable(
       @AuthenticationPrincipal CustomStudentDetails customStudentDetails,
       @Parameter(description = "조회 기준 날짜 (YYYY-MM-DD 형식)", example = "2025-10-06") @RequestParam String date) {
 
@@ -131,7 +166,7 @@ public class SchoolController {
         // ===============================================================
 
         // 4. NeisApiService 호출
-        List<TimetableRes> timetableList = neisApiService.getTimetable(
+        return neisApiService.getTimetableAsync(
           userProfile.getLevel(),
           userProfile.getScCode(),
           userProfile.getSchoolCode(),
@@ -140,7 +175,6 @@ public class SchoolController {
           String.valueOf(userProfile.getGrade()),
           String.valueOf(userProfile.getClassNo()),
           userProfile.getMajorName()
-        );
-        return ResponseEntity.ok(timetableList);
+        ).map(ResponseEntity::ok);
     }
 }
\ No newline at end of file
@@ -13,12 +13,14 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 /**
  * 학교 정보 검색 및 조회 컨트롤러.
  * NEIS API를 사용하여 회원가입 및 프로필 설정에 필요한 학교, 학과, 학급 정보를 제공합니다.
+ * NEIS 응답을 기다리는 동안 서블릿 스레드를 반환하도록 Mono를 반환합니다.
  */
 @Tag(name = "School Search (NEIS)", description = "회원가입, 프로필 수정에 필요한 학교 정보 검색 및 조회 API")
 @RestController
@@ -32,12 +34,11 @@ public class SchoolSearchController {
       summary = "학교 검색",
       description = "학교 이름과 학교급(초/중/고)을 기준으로 NEIS API에서 학교 목록을 검색합니다. 회원가입 시 학교 코드 획득에 사용됩니다."
     )
-    public ResponseEntity<List<SchoolInfoRow>> searchSchool(
+    public Mono<ResponseEntity<List<SchoolInfoRow>>> searchSchool(
       @Parameter(description = "검색할 학교 이름", required = true) @RequestParam String schoolName,
       @Parameter(description = "학교급 (초등학교, 중학교, 고등학교)", required = true) @RequestParam String schoolLevel) {
 
-        List<SchoolInfoRow> schoolList = neisApiService.searchSchool(schoolName, schoolLevel);
-        return ResponseEntity.ok(schoolList);
+        return neisApiService.searchSchoolAsync(schoolName, schoolLevel).map(ResponseEntity::ok);
     }
 
     @GetMapping("/majors")
@@ -45,12 +46,11 @@ public class SchoolSearchController {
       summary = "학과 정보 조회",
       description = "학교 코드와 교육청 코드를 이용해 해당 학교에 개설된 학과 목록을 조회합니다. (주로 고등학교용)"
     )
-    public ResponseEntity<List<String>> getSchoolMajors(
+    public Mono<ResponseEntity<List<String>>> getSchoolMajors(
       @Parameter(description = "시도교육청코드", required = true) @RequestParam String educationOfficeCode,
       @Parameter(description = "학교 행정표준코드", required = true) @RequestParam String schoolCode) {
 
-        List<String> majorList = neisApiService.findMajorsBySchoolType(educationOfficeCode, schoolCode);
-        return ResponseEntity.ok(majorList);
+        return neisApiService.findMajorsBySchoolTypeAsync(educationOfficeCode, schoolCode).map(ResponseEntity::ok);
     }
 
     @GetMapping("/class-info")
@@ -58,7 +58,7 @@ public class SchoolSearchController {
       summary = "학급 정보 조회",
       description = "특정 학교의 특정 학년(선택적으로 학과)에 개설된 학급 목록을 조회합니다. 회원가입 시 학급 번호 획득에 사용됩니다."
     )
-    public ResponseEntity<List<ClassInfoRow>> getClassInfo(
+    public Mono<ResponseEntity<List<ClassInfoRow>>> getClassInfo(
       @Parameter(description = "시도교육청코드", required = true) @RequestParam String educationOfficeCode,
       @Parameter(description = "학교 행정표준코드", required = true) @RequestParam String schoolCode,
       @Parameter(description = "학년", required = true) @RequestParam String grade,
@@ -66,7 +66,6 @@ public class SchoolSearchController {
       @Parameter(description = "학과명 (선택)") @RequestParam(required = false) String majorName) {
 
         // schoolLevel 파라미터를 서비스로 전달
-        List<ClassInfoRow> classList = neisApiService.getClassInfo(educationOfficeCode, schoolCode, grade, schoolLevel, majorName);
-        return ResponseEntity.ok(classList);
+        return neisApiService.getClassInfoAsync(educationOfficeCode, schoolCode, grade, schoolLevel, majorName).map(ResponseEntity::ok);
     }
 }
\ No newline at end of file
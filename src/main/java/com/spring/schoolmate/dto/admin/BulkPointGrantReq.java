@@ -0,0 +1,14 @@
+package com.spring.schoolmate.dto.admin;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BulkPointGrantReq {
+  private String schoolCode; // Profile 엔티티의 학교 코드 (필수)
+  private Integer grade;     // 학년 (없으면 학교 전체)
+  private Integer classNo;   // 반 번호 (없으면 학년 전체, grade와 함께 사용)
+  private Integer amount;    // 학생 1명당 지급할 포인트 (양수)
+  private String reason;     // 지급 사유 (PointHistory.refType에 기록, 없으면 '관리자 일괄 지급')
+}
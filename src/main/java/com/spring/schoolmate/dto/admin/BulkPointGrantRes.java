@@ -0,0 +1,16 @@
+package com.spring.schoolmate.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPointGrantRes {
+  private Integer grantedCount; // 포인트를 지급받은 학생 수
+  private Integer amount;       // 학생 1명당 지급 포인트
+  private String reason;        // 지급 사유
+}
@@ -0,0 +1,57 @@
+package com.spring.schoolmate.dto.allergy;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 학교 급식 알레르기 노출 리포트 (영양 담당자용)
+ * 학교의 알레르기별 학생 수와, 해당 일자 급식의 요리별 노출 학생 수를 담는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchoolAllergyReportRes {
+
+    private String scCode;
+    private String schoolCode;
+    private String date; // 급식일자 (YYYYMMDD)
+
+    private List<AllergenCount> allergenCounts; // 학교 전체 알레르기별 학생 수
+    private List<Meal> meals;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class AllergenCount {
+        private Integer allergyNo;
+        private String allergyName;
+        private Integer studentCount;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Meal {
+        private String mealName; // 조식/중식/석식
+        private List<Dish> dishes;
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Dish {
+        private String name;
+        private List<AllergenCount> allergens; // 요리에 포함된 알레르기별 학생 수
+        // 여러 알레르기를 가진 학생은 중복될 수 있으므로 노출 학생 수는 범위로 제공
+        private Integer affectedAtLeast; // 알레르기별 학생 수 중 최댓값
+        private Integer affectedAtMost; // 알레르기별 학생 수의 합
+    }
+}
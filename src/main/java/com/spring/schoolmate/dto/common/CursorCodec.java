@@ -0,0 +1,84 @@
+package com.spring.schoolmate.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 커서 토큰 인코딩/디코딩.
+ * 정렬 키(시각, ID)를 "시각|ID" 로 이어 붙여 URL-safe Base64 로 감싼다. 클라이언트는 내용을 해석하지 않고 그대로 돌려준다.
+ * 잘못된 토큰은 IllegalArgumentException 으로 거절한다.
+ */
+public final class CursorCodec {
+
+  private static final String SEPARATOR = "|";
+
+  private CursorCodec() {
+  }
+
+  /**
+   * (시각, ID) 커서 - 최신순 목록용
+   */
+  public record TimeKey(Timestamp at, long id) {
+
+    /**
+     * Integer PK 테이블용 ID (int 범위를 벗어난 조작된 커서는 IllegalArgumentException)
+     */
+    public int intId() {
+      if (id < Integer.MIN_VALUE || id > Integer.MAX_VALUE) {
+        throw invalid();
+      }
+      return (int) id;
+    }
+  }
+
+  public static String encode(Date at, long id) {
+    // java.sql.Timestamp 는 toInstant() 가 나노초까지 유지
+    return encode(at.toInstant() + SEPARATOR + id);
+  }
+
+  public static String encode(long id) {
+    return encode(Long.toString(id));
+  }
+
+  public static TimeKey decodeTimeKey(String cursor) {
+    String raw = decode(cursor);
+    int split = raw.lastIndexOf(SEPARATOR);
+    if (split < 0) {
+      throw invalid();
+    }
+    try {
+      Timestamp at = Timestamp.from(Instant.parse(raw.substring(0, split)));
+      return new TimeKey(at, Long.parseLong(raw.substring(split + 1)));
+    } catch (DateTimeParseException | NumberFormatException e) {
+      throw invalid();
+    }
+  }
+
+  public static long decodeId(String cursor) {
+    try {
+      return Long.parseLong(decode(cursor));
+    } catch (NumberFormatException e) {
+      throw invalid();
+    }
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decode(String cursor) {
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw invalid();
+    }
+  }
+
+  private static IllegalArgumentException invalid() {
+    return new IllegalArgumentException("유효하지 않은 커서입니다.");
+  }
+}
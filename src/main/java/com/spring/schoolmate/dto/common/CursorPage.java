@@ -0,0 +1,55 @@
+package com.spring.schoolmate.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 기반 목록 응답.
+ * - items      : 이번 페이지 항목
+ * - nextCursor : 다음 페이지 요청 시 cursor 파라미터로 그대로 넘기는 토큰 (마지막 페이지면 null)
+ * - hasNext    : 다음 페이지 존재 여부
+ *
+ * 저장소에서는 size + 1 건을 조회해 한 건이 더 있으면 다음 페이지가 있다고 판단한다. (COUNT 쿼리 없음)
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  public static final int DEFAULT_SIZE = 20;
+  public static final int MAX_SIZE = 100;
+
+  private final List<T> items;
+  private final String nextCursor;
+  private final boolean hasNext;
+
+  /**
+   * 요청 크기를 1 ~ MAX_SIZE 범위로 맞춘다. (null 이면 DEFAULT_SIZE)
+   */
+  public static int clampSize(Integer size) {
+    if (size == null || size <= 0) {
+      return DEFAULT_SIZE;
+    }
+    return Math.min(size, MAX_SIZE);
+  }
+
+  /**
+   * size + 1 건으로 조회한 결과에서 페이지를 만든다.
+   * @param rows     저장소 조회 결과 (최대 size + 1 건)
+   * @param size     페이지 크기
+   * @param cursorOf 마지막 항목으로 다음 커서를 만드는 함수
+   */
+  public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+    if (rows.size() <= size) {
+      return new CursorPage<>(rows, null, false);
+    }
+    List<T> items = rows.subList(0, size);
+    return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)), true);
+  }
+
+  public <R> CursorPage<R> map(Function<T, R> mapper) {
+    return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+  }
+}
@@ -0,0 +1,22 @@
+package com.spring.schoolmate.dto.eatphoto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 급식 사진 분석 작업 상태
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhotoJobRes {
+
+  private String jobId;
+  private String status;            // QUEUED, RUNNING, SUCCEEDED, FAILED
+  private String message;           // 분석 결과 또는 실패 사유 (끝나기 전에는 null)
+  private LocalDateTime createdAt;
+  private LocalDateTime finishedAt; // 끝나기 전에는 null
+}
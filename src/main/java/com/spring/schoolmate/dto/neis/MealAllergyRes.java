@@ -0,0 +1,67 @@
+package com.spring.schoolmate.dto.neis;
+
+import com.spring.schoolmate.neis.AllergyMask;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 로그인한 학생 기준 급식 정보 (요리별 알레르기 위험 여부 포함)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealAllergyRes {
+
+    private String mealDate; // 급식일자 (YYYYMMDD)
+
+    private String mealName; // 조식/중식/석식
+
+    private String calorieInfo; // 칼로리 정보
+
+    private boolean dangerous; // 위험한 요리가 하나라도 있는지
+
+    private List<Dish> dishes;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Dish {
+        private String name;
+        private List<Integer> allergyNos; // 요리의 전체 알레르기 번호
+        private List<Integer> matchedAllergyNos; // 그중 학생이 보유한 알레르기 번호
+        private boolean dangerous;
+    }
+
+    /**
+     * 급식 한 끼를 학생의 알레르기 비트마스크와 대조합니다. (요리마다 AND 연산 한 번)
+     */
+    public static MealAllergyRes of(MealInfoRow row, long studentAllergyMask) {
+        List<MealDish> mealDishes = row.getDishes() == null ? Collections.emptyList() : row.getDishes();
+        List<Dish> dishes = mealDishes.stream()
+                .map(dish -> {
+                    long matched = dish.getAllergyMask() & studentAllergyMask;
+                    return Dish.builder()
+                            .name(dish.getName())
+                            .allergyNos(dish.getAllergyNos())
+                            .matchedAllergyNos(AllergyMask.toList(matched))
+                            .dangerous(matched != 0)
+                            .build();
+                })
+                .toList();
+
+        return MealAllergyRes.builder()
+                .mealDate(row.getMealDate())
+                .mealName(row.getMealName())
+                .calorieInfo(row.getCalorieInfo())
+                .dangerous(dishes.stream().anyMatch(Dish::isDangerous))
+                .dishes(dishes)
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.spring.schoolmate.dto.neis;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DDISH_NM 을 파싱한 요리 한 개 (예: "김치(5.13)" -> name=김치, allergyNos=[5, 13])
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MealDish {
+
+    private String name; // 요리명 (알레르기 표기 제외)
+
+    private List<Integer> allergyNos; // 알레르기 유발 식품 번호
+
+    private long allergyMask; // allergyNos 의 비트마스크 (AllergyMask 참고)
+}
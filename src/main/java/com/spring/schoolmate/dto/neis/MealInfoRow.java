@@ -3,6 +3,9 @@ package com.spring.schoolmate.dto.neis;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
 
 @Getter
 @NoArgsConstructor
@@ -21,4 +24,8 @@ public class MealInfoRow {
 
     @JsonProperty("NTR_INFO")
     private String nutritionInfo; // 영양 정보
+
+    // DDISH_NM 을 파싱한 요리 목록 (NEIS 응답에는 없으며, 캐시에 적재할 때 한 번 채움)
+    @Setter
+    private List<MealDish> dishes;
 }
@@ -1,11 +1,15 @@
 package com.spring.schoolmate.dto.neis;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Getter
 @NoArgsConstructor
+@AllArgsConstructor
+@Builder
 public class SchoolInfoRow {
 
     @JsonProperty("ATPT_OFCDC_SC_CODE")
@@ -25,4 +29,7 @@ public class SchoolInfoRow {
 
     @JsonProperty("HS_SC_NM")
     private String schoolType; // 고등학교구분명 :: 일반고, 특성화고
+
+    @JsonProperty("SCHUL_KND_SC_NM")
+    private String schoolLevel; // 학교종류명 :: 초등학교, 중학교, 고등학교
 }
@@ -1,13 +1,17 @@
 package com.spring.schoolmate.dto.neis;
 
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class TimetableRes {
     private String timetableDate;
     private String schoolName; // 학교명
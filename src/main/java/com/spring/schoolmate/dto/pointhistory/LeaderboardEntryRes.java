@@ -0,0 +1,19 @@
+package com.spring.schoolmate.dto.pointhistory;
+
+import lombok.*;
+
+/**
+ * 포인트 순위 항목
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntryRes {
+
+    private Integer rank;          // 순위 (1부터)
+    private String nickname;       // 학생 닉네임
+    private String schoolName;     // 학교명
+    private Integer pointBalance;  // 보유 포인트
+}
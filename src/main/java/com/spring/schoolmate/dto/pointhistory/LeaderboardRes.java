@@ -0,0 +1,20 @@
+package com.spring.schoolmate.dto.pointhistory;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 포인트 순위표 (전체 또는 학교별 상위 N명)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaderboardRes {
+
+    private String schoolCode;               // 학교별 순위이면 학교 코드, 전체 순위이면 null
+    private Integer totalCount;              // 순위표 전체 인원
+    private List<LeaderboardEntryRes> entries;
+}
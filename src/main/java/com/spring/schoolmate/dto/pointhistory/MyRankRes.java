@@ -0,0 +1,21 @@
+package com.spring.schoolmate.dto.pointhistory;
+
+import lombok.*;
+
+/**
+ * 로그인된 학생의 전체/학교 순위
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MyRankRes {
+
+    private Integer pointBalance;  // 보유 포인트
+    private Integer globalRank;    // 전체 순위
+    private Integer globalTotal;   // 전체 인원
+    private String schoolName;     // 학교명 (학교 정보가 없으면 null)
+    private Integer schoolRank;    // 학교 내 순위 (학교 정보가 없으면 null)
+    private Integer schoolTotal;   // 학교 인원
+}
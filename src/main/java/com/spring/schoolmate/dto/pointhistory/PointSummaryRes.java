@@ -0,0 +1,20 @@
+package com.spring.schoolmate.dto.pointhistory;
+
+import lombok.*;
+
+/**
+ * 마이페이지 포인트 요약 (잔액 + 학생별 집계)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PointSummaryRes {
+
+    private Long studentId;
+    private Integer pointBalance;     // 현재 보유 포인트
+    private Integer mealPhotoCount;   // 급식 사진 업로드 횟수
+    private Integer usedPoints;       // 사용한 포인트 총합
+    private Integer attendanceCount;  // 누적 출석 횟수
+}
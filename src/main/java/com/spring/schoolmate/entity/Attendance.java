@@ -0,0 +1,38 @@
+package com.spring.schoolmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 학생 출석 기록. (학생, 출석일) 당 한 행이며, 같은 날 두 번째 출석은 유니크 제약으로 INSERT 단계에서 거절된다.
+ */
+@Entity
+@Table(name = "attendance",
+    uniqueConstraints = @UniqueConstraint(name = "uk_attendance_student_date",
+        columnNames = {"student_id", "attend_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Attendance {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "attendance_id")
+    private Long attendanceId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    // 출석일
+    @Column(name = "attend_date", nullable = false)
+    private LocalDate attendDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
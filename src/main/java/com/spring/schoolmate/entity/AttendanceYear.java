@@ -0,0 +1,36 @@
+package com.spring.schoolmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 학생별 연간 출석 비트맵. (학생, 연도) 당 한 행
+ * days 의 n 번째 비트(0부터)가 그 해 (n + 1) 번째 날의 출석 여부이다. (java.util.BitSet 바이트 배열, 최대 366비트)
+ * 출석 일수/월별 출석일 조회는 attendance 테이블 대신 이 비트맵으로 계산한다. (AttendanceService)
+ */
+@Entity
+@Table(name = "attendance_years",
+    uniqueConstraints = @UniqueConstraint(name = "uk_attendance_year_student",
+        columnNames = {"student_id", "attend_year"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttendanceYear {
+
+    public static final int MAX_BYTES = 46; // 366비트
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ay_id")
+    private Long ayId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "attend_year", nullable = false)
+    private Integer year;
+
+    @Column(name = "days", nullable = false, length = MAX_BYTES)
+    private byte[] days;
+}
@@ -0,0 +1,62 @@
+package com.spring.schoolmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 로 처리한 요청의 저장된 응답. (학생, 범위, 키) 당 한 행.
+ * 처리 중에는 status = IN_PROGRESS 로 먼저 INSERT 해서 같은 키의 동시 재시도를 막고,
+ * 포인트를 바꾸는 서비스가 자기 트랜잭션 안에서 APPLIED 로 바꾼다 (업무 변경과 함께 커밋/롤백).
+ * 처리가 끝나면 DONE 으로 HTTP 상태와 응답 본문을 기록해 재시도에 그대로 돌려준다.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_student_scope_key",
+        columnNames = {"student_id", "scope", "idem_key"}),
+    indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    public enum Status { IN_PROGRESS, APPLIED, DONE }
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "idempotency_id")
+    private Long idempotencyId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    // 엔드포인트 구분 (ATTEND, PHOTO_UPLOAD, EXCHANGE)
+    @Column(name = "scope", length = 20, nullable = false)
+    private String scope;
+
+    @Column(name = "idem_key", length = 100, nullable = false)
+    private String idemKey;
+
+    // 같은 키로 다른 요청(예: 다른 상품)이 오면 거절하기 위한 요청 요약
+    @Column(name = "fingerprint", length = 200)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Column(name = "content_type", length = 50)
+    private String contentType;
+
+    @Lob
+    @Column(name = "body")
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -12,7 +12,13 @@ import java.sql.Timestamp;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "point_history")
+@Table(name = "point_history",
+    // 학생별 최신순 커서 조회 (student_id, created_at, ph_id)
+    indexes = {
+        @Index(name = "idx_point_history_student_created", columnList = "student_id, created_at, ph_id"),
+        // 만료 스위퍼: 아직 남은 포인트가 있는 적립 건만 expires_at 을 가지므로 이 인덱스로 만료 대상만 찾음
+        @Index(name = "idx_point_history_expires", columnList = "expires_at")
+    })
 public class PointHistory {
 
     // Point History 고유 ID
@@ -49,7 +55,11 @@ public class PointHistory {
   @CreationTimestamp
   private Timestamp createdAt;
 
-  // 포인트 만료 시간
+  // 포인트 만료 시간 (미사용 잔여가 있는 적립 건에만 값이 있고, 다 쓰거나 만료 처리되면 null)
   @Column(name = "expires_at")
   private Timestamp expiresAt;
+
+  // 적립 건(로트)의 미사용 잔여 포인트 (차감 시 만료가 가까운 로트부터 FIFO 로 소진)
+  @Column(name = "remaining")
+  private Integer remaining;
 }
\ No newline at end of file
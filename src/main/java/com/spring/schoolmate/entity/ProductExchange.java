@@ -11,11 +11,14 @@ import java.util.Date;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "product_exchange")
+@Table(name = "product_exchange",
+  // 학생별 최신순 커서 조회 (student_id, exchange_date, product_exchange_id)
+  indexes = @Index(name = "idx_product_exchange_student_date", columnList = "student_id, exchange_date, product_exchange_id"))
 public class ProductExchange {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "product_exchange_id")
   private Integer productExchangeId; // 교환 상품 아이디
 
   // 1. Student 참조 무시: 순환 참조 방지를 위해 유지. 학생 ID는 getter로 제공.
@@ -31,7 +34,7 @@ public class ProductExchange {
   // @JsonIgnore // 👈 이 어노테이션을 반드시 제거해야 상품 정보가 JSON 응답에 포함됨
   private Product product; // 상품 엔터티
 
-  @Column(nullable = false)
+  @Column(name = "exchange_date", nullable = false)
   private Date exchangeDate; // 상품 교환 일자
 
   @Column(nullable = true)
@@ -0,0 +1,40 @@
+package com.spring.schoolmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 학교별 알레르기 보유 학생 수 집계.
+ * (학교, 알레르기 번호) 당 한 행이며, 학생의 알레르기/학교가 바뀔 때마다 증감으로 갱신한다. (SchoolAllergyStatsService)
+ */
+@Entity
+@Table(name = "school_allergy_counts",
+    uniqueConstraints = @UniqueConstraint(name = "uk_school_allergy_count",
+        columnNames = {"atpt_ofcdc_sc_code", "sd_schul_code", "allergy_no"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchoolAllergyCount {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sac_id")
+    private Long sacId;
+
+    // 시도교육청코드
+    @Column(name = "atpt_ofcdc_sc_code", nullable = false)
+    private String scCode;
+
+    // 학교 행정표준코드
+    @Column(name = "sd_schul_code", nullable = false)
+    private String schoolCode;
+
+    // 알레르기 번호 (Allergy.allergyNo)
+    @Column(name = "allergy_no", nullable = false)
+    private Integer allergyNo;
+
+    // 해당 알레르기를 가진 학생 수
+    @Column(name = "student_count", nullable = false)
+    private Integer studentCount;
+}
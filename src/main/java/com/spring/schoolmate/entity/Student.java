@@ -62,10 +62,16 @@ public class Student {
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
-    @Column(name = "point_balance", nullable = false)
+    // 잔액 변경은 StudentRepository.addPointBalance (원자적 UPDATE) 로만 하며, 엔티티 저장 시에는 덮어쓰지 않음
+    @Column(name = "point_balance", nullable = false, updatable = false)
     @Builder.Default
     private Integer pointBalance = 0;
 
+    // 보유 알레르기 번호의 비트마스크 (AllergyMask), 알레르기 등록/수정 시 함께 갱신
+    // 기존 데이터는 null 이며 처음 조회할 때 studentAllergies로 계산하여 채움
+    @Column(name = "allergy_mask")
+    private Long allergyMask;
+
     @Column(name = "is_deleted")
     @Builder.Default
     private Boolean isDeleted = false;
@@ -0,0 +1,34 @@
+package com.spring.schoolmate.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 학생별 포인트 내역 집계. (학생당 한 행, PK = student_id)
+ * 포인트 내역을 기록하는 트랜잭션 안에서 증감으로만 갱신하므로, 마이페이지 조회 시 point_history 를 집계하지 않는다.
+ */
+@Entity
+@Table(name = "student_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StudentStats {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // 급식 사진 업로드로 포인트를 받은 횟수
+    @Column(name = "meal_photo_count", nullable = false)
+    private Integer mealPhotoCount;
+
+    // 사용(차감)한 포인트 총합 (양수)
+    @Column(name = "used_points", nullable = false)
+    private Integer usedPoints;
+
+    // 출석 체크 횟수
+    @Column(name = "attendance_count", nullable = false)
+    private Integer attendanceCount;
+}
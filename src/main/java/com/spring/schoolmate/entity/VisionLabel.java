@@ -9,16 +9,21 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "vision_labels")
+@Table(name = "vision_labels", uniqueConstraints = {
+  @UniqueConstraint(name = "uk_vision_labels_label_name", columnNames = "label_name")
+})
 public class VisionLabel {
 
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Integer labelId; // 라벨 고유 식별자
 
-  @Column(length = 100, nullable = false)
+  @Column(name = "label_name", length = 100, nullable = false)
   private String labelName; // AI가 식별한 라벨명
 
   @Column(length = 5, nullable = true)
   private String languageCode; // 라벨의 언어 코드
+
+  @Column(length = 100, nullable = true)
+  private String sourceName; // 번역 전 Vision 원문 라벨명 (예: "Rice")
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.spring.schoolmate.leaderboard;
+
+/**
+ * 순위표에 올리는 학생 정보 (StudentRepository 조회 결과)
+ */
+public record LeaderboardMember(Long studentId, Integer pointBalance, String schoolCode, String schoolName, String nickname) {
+}
@@ -0,0 +1,243 @@
+package com.spring.schoolmate.leaderboard;
+
+import com.spring.schoolmate.dto.pointhistory.LeaderboardEntryRes;
+import com.spring.schoolmate.dto.pointhistory.LeaderboardRes;
+import com.spring.schoolmate.dto.pointhistory.MyRankRes;
+import com.spring.schoolmate.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 전체 / 학교별 포인트 순위표.
+ *
+ * - 학교별 RankTree 와 전체 RankTree 를 메모리에 두고, 상위 N명과 내 순위를 O(log n) 에 응답
+ * - 잔액 변경은 PointBalanceChangedEvent, 학생 삭제는 StudentDeletedEvent 로 커밋 이후에 반영
+ * - 시작 시 DB(student JOIN profile)에서 전체를 적재하고, 프로필 변경 등을 맞추기 위해 주기적으로 다시 적재
+ *   (여러 인스턴스로 실행할 때 다른 인스턴스의 변경도 이 주기로 반영됨)
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final StudentRepository studentRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Boards boards = new Boards();
+
+    // 순위표 한 벌 (다시 적재할 때 통째로 교체)
+    private static final class Boards {
+        final Map<Long, Member> members = new HashMap<>();
+        final RankTree global = new RankTree();
+        final Map<String, RankTree> bySchool = new HashMap<>();
+
+        void put(Member member) {
+            members.put(member.studentId(), member);
+            global.insert(member.studentId(), member.balance());
+            if (member.schoolCode() != null) {
+                bySchool.computeIfAbsent(member.schoolCode(), code -> new RankTree())
+                        .insert(member.studentId(), member.balance());
+            }
+        }
+
+        void remove(Member member) {
+            members.remove(member.studentId());
+            global.remove(member.studentId(), member.balance());
+            RankTree school = member.schoolCode() == null ? null : bySchool.get(member.schoolCode());
+            if (school != null) {
+                school.remove(member.studentId(), member.balance());
+                if (school.size() == 0) {
+                    bySchool.remove(member.schoolCode());
+                }
+            }
+        }
+    }
+
+    private record Member(long studentId, int balance, String schoolCode, String schoolName, String nickname, long version) {
+
+        static Member of(LeaderboardMember row, long version) {
+            int balance = row.pointBalance() == null ? 0 : row.pointBalance();
+            return new Member(row.studentId(), balance, row.schoolCode(), row.schoolName(), row.nickname(), version);
+        }
+
+        Member withBalance(int newBalance, long newVersion) {
+            return new Member(studentId, newBalance, schoolCode, schoolName, nickname, newVersion);
+        }
+    }
+
+    /**
+     * DB 에서 순위표 전체를 다시 적재합니다. (시작 시 + leaderboard.rebuild-interval 주기)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval:1h}", initialDelayString = "${leaderboard.rebuild-interval:1h}")
+    public void rebuild() {
+        long version = System.nanoTime();
+        Boards rebuilt = new Boards();
+        studentRepository.findLeaderboardMembers().forEach(row -> rebuilt.put(Member.of(row, version)));
+
+        lock.writeLock().lock();
+        try {
+            // 적재 중에 반영된 최신 잔액은 유지
+            boards.members.values().stream()
+                    .filter(member -> member.version() > version)
+                    .forEach(member -> {
+                        Member loaded = rebuilt.members.get(member.studentId());
+                        if (loaded != null) {
+                            rebuilt.remove(loaded);
+                            rebuilt.put(loaded.withBalance(member.balance(), member.version()));
+                        }
+                    });
+            boards = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("[순위표] 학생 {}명, 학교 {}개 적재", rebuilt.members.size(), rebuilt.bySchool.size());
+    }
+
+    /**
+     * 커밋된 잔액 변경을 반영합니다. 순위표에 없는 학생은 DB 에서 학교 정보를 읽어 추가합니다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBalanceChanged(PointBalanceChangedEvent event) {
+        List<Long> unknown = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            event.balances().forEach((studentId, balance) -> {
+                Member member = boards.members.get(studentId);
+                if (member == null) {
+                    unknown.add(studentId);
+                } else if (member.version() < event.version() && member.balance() != balance) {
+                    boards.remove(member);
+                    boards.put(member.withBalance(balance, event.version()));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+
+        // 프로필이 없는 학생은 순위표에 올리지 않음
+        List<LeaderboardMember> rows = studentRepository.findLeaderboardMembersByIds(unknown);
+        lock.writeLock().lock();
+        try {
+            for (LeaderboardMember row : rows) {
+                if (!boards.members.containsKey(row.studentId())) {
+                    boards.put(Member.of(row, event.version()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 삭제(탈퇴)가 커밋된 학생을 순위표에서 뺍니다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentDeleted(StudentDeletedEvent event) {
+        remove(event.studentId());
+    }
+
+    /**
+     * 학생을 순위표에서 뺍니다. (순위표에 없으면 아무것도 하지 않음)
+     */
+    public void remove(Long studentId) {
+        lock.writeLock().lock();
+        try {
+            Member member = boards.members.get(studentId);
+            if (member != null) {
+                boards.remove(member);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 상위 limit 명
+     */
+    public LeaderboardRes getGlobalTop(int limit) {
+        lock.readLock().lock();
+        try {
+            return toRes(null, boards.global, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 학교별 상위 limit 명 (순위표에 없는 학교면 빈 목록)
+     */
+    public LeaderboardRes getSchoolTop(String schoolCode, int limit) {
+        lock.readLock().lock();
+        try {
+            RankTree school = boards.bySchool.get(schoolCode);
+            return toRes(schoolCode, school == null ? new RankTree() : school, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 학생의 전체 / 학교 순위
+     * @throws NoSuchElementException 순위표에 없는 학생 (프로필 미등록 등)
+     */
+    public MyRankRes getMyRank(Long studentId) {
+        lock.readLock().lock();
+        try {
+            Member member = boards.members.get(studentId);
+            if (member == null) {
+                throw new NoSuchElementException("순위표에 등록되지 않은 학생입니다. ID: " + studentId);
+            }
+            RankTree school = member.schoolCode() == null ? null : boards.bySchool.get(member.schoolCode());
+            return MyRankRes.builder()
+                    .pointBalance(member.balance())
+                    .globalRank(boards.global.rankOf(member.studentId(), member.balance()))
+                    .globalTotal(boards.global.size())
+                    .schoolName(member.schoolName())
+                    .schoolRank(school == null ? null : school.rankOf(member.studentId(), member.balance()))
+                    .schoolTotal(school == null ? null : school.size())
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 읽기 잠금 안에서 호출
+    private LeaderboardRes toRes(String schoolCode, RankTree tree, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<LeaderboardEntryRes> entries = tree.top(size).stream()
+                .map(ranked -> {
+                    Member member = boards.members.get(ranked.studentId());
+                    return LeaderboardEntryRes.builder()
+                            .rank(ranked.rank())
+                            .nickname(member.nickname())
+                            .schoolName(member.schoolName())
+                            .pointBalance(ranked.balance())
+                            .build();
+                })
+                .toList();
+        return LeaderboardRes.builder()
+                .schoolCode(schoolCode)
+                .totalCount(tree.size())
+                .entries(entries)
+                .build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.spring.schoolmate.leaderboard;
+
+import java.util.Map;
+
+/**
+ * 학생 포인트 잔액이 바뀌었음을 알리는 이벤트. (PointHistoryService, PointExpiryService 에서 발행)
+ * 커밋 이후에 순위표에 반영되며, 같은 학생에 대해 version 이 더 큰 변경만 적용한다.
+ * version 은 학생 행을 잠근 상태에서 잡은 System.nanoTime() 이라 같은 학생의 변경 순서와 일치한다.
+ *
+ * @param balances 학생 ID -> 변경 후 잔액
+ * @param version  변경 순서
+ */
+public record PointBalanceChangedEvent(Map<Long, Integer> balances, long version) {
+
+    public static PointBalanceChangedEvent of(Map<Long, Integer> balances) {
+        return new PointBalanceChangedEvent(balances, System.nanoTime());
+    }
+}
@@ -0,0 +1,157 @@
+package com.spring.schoolmate.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 포인트 순위용 order-statistic treap.
+ * (잔액 내림차순, 학생 ID 오름차순) 으로 정렬하고 각 노드에 서브트리 크기를 두어
+ * 삽입/삭제/순위 조회를 기대 O(log n), 상위 N명 조회를 O(log n + N) 에 처리한다.
+ *
+ * 동기화하지 않으므로 LeaderboardService 의 잠금 안에서만 사용한다.
+ */
+final class RankTree {
+
+    private static final class Node {
+        final long studentId;
+        final int balance;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long studentId, int balance) {
+            this.studentId = studentId;
+            this.balance = balance;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    /**
+     * 순위 항목 (rank 는 1부터)
+     */
+    record Ranked(int rank, long studentId, int balance) {
+    }
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void insert(long studentId, int balance) {
+        Node[] parts = split(root, balance, studentId);
+        root = merge(merge(parts[0], new Node(studentId, balance)), parts[1]);
+    }
+
+    void remove(long studentId, int balance) {
+        root = remove(root, studentId, balance);
+    }
+
+    /**
+     * 해당 (학생, 잔액) 의 순위. 트리에 있는 항목에 대해서만 의미가 있다.
+     */
+    int rankOf(long studentId, int balance) {
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            if (compare(balance, studentId, node.balance, node.studentId) <= 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return before + 1;
+    }
+
+    /**
+     * 상위 limit 명 (중위 순회를 limit 개에서 멈춤)
+     */
+    List<Ranked> top(int limit) {
+        List<Ranked> result = new ArrayList<>(Math.min(limit, size()));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(new Ranked(result.size() + 1, node.studentId, node.balance));
+            node = node.right;
+        }
+        return result;
+    }
+
+    // a 가 b 보다 앞 순위이면 음수 (잔액 내림차순, 학생 ID 오름차순)
+    private static int compare(int balanceA, long idA, int balanceB, long idB) {
+        if (balanceA != balanceB) {
+            return balanceA > balanceB ? -1 : 1;
+        }
+        return Long.compare(idA, idB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    // [key 보다 앞, key 이후] 로 분할
+    private static Node[] split(Node node, int balance, long studentId) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(node.balance, node.studentId, balance, studentId) < 0) {
+            Node[] parts = split(node.right, balance, studentId);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, balance, studentId);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    // left 의 모든 항목이 right 보다 앞이어야 함
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node remove(Node node, long studentId, int balance) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(balance, studentId, node.balance, node.studentId);
+        if (c == 0) {
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, studentId, balance);
+        } else {
+            node.right = remove(node.right, studentId, balance);
+        }
+        update(node);
+        return node;
+    }
+}
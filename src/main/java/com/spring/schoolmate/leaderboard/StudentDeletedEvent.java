@@ -0,0 +1,10 @@
+package com.spring.schoolmate.leaderboard;
+
+/**
+ * 학생이 탈퇴(삭제)되었음을 알리는 이벤트. (StudentService 에서 발행)
+ * 커밋 이후에 순위표에서 바로 빠지며, 다음 주기 적재를 기다리지 않는다.
+ *
+ * @param studentId 삭제된 학생 ID
+ */
+public record StudentDeletedEvent(Long studentId) {
+}
@@ -0,0 +1,49 @@
+package com.spring.schoolmate.neis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 알레르기 번호(allergyNo) 집합을 long 비트마스크로 다루는 유틸리티.
+ * NEIS 급식의 알레르기 표기 번호(1.난류 ~ 19.잣)와 allergies.allergy_no가 같은 번호 체계를 사용한다.
+ *
+ * 번호 n 은 (n - 1) 번째 비트에 대응한다. (1 ~ 63 까지 표현 가능)
+ */
+public final class AllergyMask {
+
+    public static final int MAX_NO = 63;
+
+    private AllergyMask() {
+    }
+
+    public static boolean isValid(int allergyNo) {
+        return allergyNo >= 1 && allergyNo <= MAX_NO;
+    }
+
+    public static long bit(int allergyNo) {
+        return isValid(allergyNo) ? 1L << (allergyNo - 1) : 0L;
+    }
+
+    public static long of(Collection<Integer> allergyNos) {
+        long mask = 0L;
+        if (allergyNos != null) {
+            for (Integer no : allergyNos) {
+                if (no != null) {
+                    mask |= bit(no);
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static List<Integer> toList(long mask) {
+        List<Integer> allergyNos = new ArrayList<>(Long.bitCount(mask));
+        while (mask != 0) {
+            int index = Long.numberOfTrailingZeros(mask);
+            allergyNos.add(index + 1);
+            mask &= mask - 1;
+        }
+        return allergyNos;
+    }
+}
@@ -0,0 +1,8 @@
+package com.spring.schoolmate.neis;
+
+/**
+ * 시간표 조회 단위 (학교 + 학교급 + 학년 + 반 + 학과)
+ * profile 테이블에 실제로 존재하는 조합만 조회하여 사용한다.
+ */
+public record ClassKey(String scCode, String schoolCode, String level, Integer grade, Integer classNo, String majorName) {
+}
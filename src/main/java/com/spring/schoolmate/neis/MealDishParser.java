@@ -0,0 +1,70 @@
+package com.spring.schoolmate.neis;
+
+import com.spring.schoolmate.dto.neis.MealDish;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * NEIS 급식 DDISH_NM 문자열을 요리 목록으로 파싱한다.
+ * 예) "쌀밥<br/>쇠고기미역국 (5.6.16.)<br/>김치 9.13." -> [쌀밥], [쇠고기미역국, 5/6/16], [김치, 9/13]
+ *
+ * 급식이 캐시에 적재될 때 한 번만 호출된다. (NeisApiService)
+ */
+public final class MealDishParser {
+
+    // 요리 구분자 (<br/>, <br>, <BR /> 등)
+    private static final Pattern LINE_BREAK = Pattern.compile("(?i)<br\\s*/?>");
+
+    // "김치(5.13)", "김치 (5.13.)"
+    private static final Pattern PAREN_NUMBERS = Pattern.compile("^(.*?)\\s*\\(([\\d.\\s]+)\\)\\s*$");
+
+    // "김치 5.13." (괄호 없이 공백 뒤에 번호가 붙는 학교)
+    private static final Pattern TRAILING_NUMBERS = Pattern.compile("^(.*\\S)\\s+((?:\\d{1,2}\\.)+\\d{0,2})\\s*$");
+
+    private MealDishParser() {
+    }
+
+    public static List<MealDish> parse(String dishNames) {
+        if (dishNames == null || dishNames.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        List<MealDish> dishes = new ArrayList<>();
+        for (String line : LINE_BREAK.split(dishNames)) {
+            String text = line.trim();
+            if (text.isEmpty()) {
+                continue;
+            }
+
+            String name = text;
+            List<Integer> allergyNos = new ArrayList<>();
+            Matcher matcher = PAREN_NUMBERS.matcher(text);
+            if (!matcher.matches()) {
+                matcher = TRAILING_NUMBERS.matcher(text);
+            }
+            if (matcher.matches()) {
+                name = matcher.group(1).trim();
+                for (String token : matcher.group(2).split("[.\\s]+")) {
+                    String number = token.trim();
+                    if (!number.isEmpty()) {
+                        int allergyNo = Integer.parseInt(number);
+                        if (AllergyMask.isValid(allergyNo) && !allergyNos.contains(allergyNo)) {
+                            allergyNos.add(allergyNo);
+                        }
+                    }
+                }
+            }
+
+            dishes.add(MealDish.builder()
+                    .name(name)
+                    .allergyNos(Collections.unmodifiableList(allergyNos))
+                    .allergyMask(AllergyMask.of(allergyNos))
+                    .build());
+        }
+        return Collections.unmodifiableList(dishes);
+    }
+}
@@ -0,0 +1,169 @@
+package com.spring.schoolmate.neis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * NeisApiService 앞단의 인메모리 캐시.
+ * 데이터셋별로 TTL/최대 크기가 다른 Caffeine 캐시를 두고, stale-while-revalidate 방식으로 동작한다.
+ *
+ * - fresh (ttl 이내)         : 캐시 값을 바로 반환
+ * - stale (ttl ~ stale-ttl)  : 캐시 값을 바로 반환하고, 같은 키에 대해 한 번만 백그라운드 갱신
+ * - 만료 (stale-ttl ~ error-ttl) : NEIS를 호출하여 적재 후 반환, 호출이 실패하면 만료된 값으로 응답 (stale-if-error)
+ * - 미존재                  : NEIS를 호출하여 적재 후 반환
+ *
+ * 캐시 키는 호출하는 쪽(NeisApiService)에서 정규화하여 넘긴다. (예: 급식은 학교+월 단위)
+ * Reactor Context에 FORCE_REFRESH가 있으면 캐시 상태와 관계없이 NEIS를 호출하여 덮어쓴다. (야간 prefetch용)
+ *
+ * neis.cache.disk.enabled=true 이면 급식/시간표 적재 값을 NeisDiskCache에도 기록해 두고, 기동 직후 다시 읽어 캐시를 채운다.
+ */
+@Component
+@Slf4j
+public class NeisCache {
+
+    private final NeisCacheProperties properties;
+    private final NeisDiskCache diskCache;
+    private final Map<NeisDataset, Cache<String, Entry>> caches = new EnumMap<>(NeisDataset.class);
+    private final Map<NeisDataset, Counter> staleHits = new EnumMap<>(NeisDataset.class);
+    private final Map<NeisDataset, Counter> staleIfError = new EnumMap<>(NeisDataset.class);
+
+    // Context 키 : true 이면 캐시를 건너뛰고 새로 적재
+    public static final String FORCE_REFRESH = "neis.cache.force-refresh";
+
+    // 백그라운드 갱신이 진행 중인 키 (같은 키에 대한 중복 갱신 방지)
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public NeisCache(NeisCacheProperties properties, NeisDiskCache diskCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.diskCache = diskCache;
+
+        for (NeisDataset dataset : NeisDataset.values()) {
+            NeisCacheProperties.Spec spec = properties.spec(dataset);
+            Cache<String, Entry> cache = Caffeine.newBuilder()
+                    .maximumSize(spec.getMaxSize())
+                    .expireAfterWrite(spec.retention())
+                    .recordStats()
+                    .build();
+            caches.put(dataset, cache);
+
+            // actuator /metrics 의 cache.gets, cache.evictions 등으로 노출
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "neis." + dataset.getKey());
+            staleHits.put(dataset, Counter.builder("neis.cache.stale")
+                    .description("stale 값으로 응답하고 백그라운드 갱신을 시작한 횟수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+            staleIfError.put(dataset, Counter.builder("neis.cache.stale-if-error")
+                    .description("NEIS 호출 실패로 만료된 값으로 응답한 횟수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 캐시에서 값을 조회하고, 없거나 만료되었으면 loader로 NEIS를 호출하여 적재한다.
+     *
+     * @param dataset 데이터셋 구분 (TTL/크기 설정 단위)
+     * @param key     정규화된 캐시 키
+     * @param loader  NEIS 호출 Mono 공급자 (캐시 미스 또는 갱신 시에만 구독됨)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(NeisDataset dataset, String key, Supplier<Mono<T>> loader) {
+        return Mono.deferContextual(ctx -> {
+            Entry entry = caches.get(dataset).getIfPresent(key);
+            if (entry == null || ctx.getOrDefault(FORCE_REFRESH, false)) {
+                return load(dataset, key, loader);
+            }
+
+            long age = System.currentTimeMillis() - entry.loadedAt();
+            NeisCacheProperties.Spec spec = properties.spec(dataset);
+            if (age > spec.getStaleTtl().toMillis()) {
+                // 만료된 값은 NEIS 호출이 실패했을 때만 사용
+                return this.<T>load(dataset, key, loader)
+                        .onErrorResume(e -> {
+                            staleIfError.get(dataset).increment();
+                            log.warn("[NEIS 캐시] NEIS 호출 실패, 만료된 값으로 응답: {} {} - {}", dataset.getKey(), key, e.getMessage());
+                            return Mono.just((T) entry.value());
+                        });
+            }
+            if (age > spec.getTtl().toMillis()) {
+                staleHits.get(dataset).increment();
+                refreshInBackground(dataset, key, loader);
+            }
+            return Mono.just((T) entry.value());
+        });
+    }
+
+    /**
+     * 구독 체인에 붙이면 해당 요청의 캐시 조회를 건너뛰고 NEIS에서 새로 적재합니다.
+     * 예) neisApiService.getMealInfoAsync(...).contextWrite(NeisCache.forceRefresh())
+     */
+    public static Function<Context, Context> forceRefresh() {
+        return ctx -> ctx.put(FORCE_REFRESH, true);
+    }
+
+    /**
+     * 디스크 캐시에 남아 있는 급식/시간표 값을 인메모리 캐시에 다시 올립니다. (적재 시각은 기록된 값을 그대로 사용)
+     * 이미 더 최근 값이 올라와 있으면 덮어쓰지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        long start = System.nanoTime();
+        List<NeisDiskCache.Restored> restored = diskCache.rehydrate();
+        if (restored.isEmpty()) {
+            return;
+        }
+        for (NeisDiskCache.Restored entry : restored) {
+            caches.get(entry.dataset()).asMap().merge(entry.key(), new Entry(entry.value(), entry.loadedAt()),
+                    (current, loaded) -> current.loadedAt() >= loaded.loadedAt() ? current : loaded);
+        }
+        log.info("[NEIS 캐시] 디스크 캐시에서 {}건 복원, {}ms",
+                restored.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private <T> Mono<T> load(NeisDataset dataset, String key, Supplier<Mono<T>> loader) {
+        return loader.get()
+                .doOnNext(value -> {
+                    Entry entry = new Entry(value, System.currentTimeMillis());
+                    caches.get(dataset).put(key, entry);
+                    if (diskCache.persists(dataset)) {
+                        // 파일 쓰기는 이벤트 루프 밖에서
+                        Schedulers.boundedElastic().schedule(() -> diskCache.append(dataset, key, value, entry.loadedAt()));
+                    }
+                });
+    }
+
+    private <T> void refreshInBackground(NeisDataset dataset, String key, Supplier<Mono<T>> loader) {
+        String refreshKey = dataset.getKey() + "|" + key;
+        if (!refreshing.add(refreshKey)) {
+            return; // 이미 갱신 중
+        }
+        load(dataset, key, loader)
+                .contextWrite(NeisLane.BACKGROUND.context())
+                .doFinally(signal -> refreshing.remove(refreshKey))
+                .subscribe(
+                        value -> log.debug("[NEIS 캐시] 백그라운드 갱신 완료: {} {}", dataset.getKey(), key),
+                        e -> log.warn("[NEIS 캐시] 백그라운드 갱신 실패, 기존 값 유지: {} {} - {}", dataset.getKey(), key, e.getMessage()));
+    }
+
+    private record Entry(Object value, long loadedAt) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.spring.schoolmate.neis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * NEIS 응답 캐시 설정 (application.yml 의 neis.cache.*)
+ * - ttl       : 이 시간 동안은 캐시 값을 그대로 사용 (fresh)
+ * - stale-ttl : ttl 이후 이 시간까지는 기존 값을 먼저 응답하고 백그라운드에서 갱신 (stale-while-revalidate)
+ * - error-ttl : stale-ttl 이후 이 시간까지는 값을 보관해 두었다가, NEIS 호출이 실패하면 그 값으로 응답 (stale-if-error)
+ * - max-size  : 데이터셋별 최대 엔트리 수 (초과 시 Caffeine이 사용 빈도 기반으로 제거)
+ * - disk      : 인메모리 캐시 뒤의 디스크 세그먼트 파일 (NeisDiskCache), 기동 직후 급식/시간표 캐시를 다시 채우는 용도
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "neis.cache")
+public class NeisCacheProperties {
+
+    private Spec meal = new Spec(Duration.ofHours(6), Duration.ofHours(24), Duration.ofDays(7), 5_000);
+    private Spec schedule = new Spec(Duration.ofHours(12), Duration.ofDays(2), Duration.ofDays(7), 2_000);
+    private Spec timetable = new Spec(Duration.ofHours(6), Duration.ofHours(24), Duration.ofDays(3), 20_000);
+    private Spec schoolInfo = new Spec(Duration.ofHours(24), Duration.ofDays(7), Duration.ofDays(30), 2_000);
+    private Spec schoolMajor = new Spec(Duration.ofHours(24), Duration.ofDays(7), Duration.ofDays(30), 2_000);
+    private Spec classInfo = new Spec(Duration.ofHours(24), Duration.ofDays(7), Duration.ofDays(30), 5_000);
+    private Disk disk = new Disk();
+
+    public Spec spec(NeisDataset dataset) {
+        return switch (dataset) {
+            case MEAL -> meal;
+            case SCHEDULE -> schedule;
+            case TIMETABLE -> timetable;
+            case SCHOOL_INFO -> schoolInfo;
+            case SCHOOL_MAJOR -> schoolMajor;
+            case CLASS_INFO -> classInfo;
+        };
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        private Duration ttl;
+        private Duration staleTtl;
+        private Duration errorTtl;
+        private long maxSize;
+
+        public Spec() {
+        }
+
+        public Spec(Duration ttl, Duration staleTtl, Duration errorTtl, long maxSize) {
+            this.ttl = ttl;
+            this.staleTtl = staleTtl;
+            this.errorTtl = errorTtl;
+            this.maxSize = maxSize;
+        }
+
+        // 캐시에 값을 보관하는 전체 기간
+        public Duration retention() {
+            return errorTtl != null && errorTtl.compareTo(staleTtl) > 0 ? errorTtl : staleTtl;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Disk {
+        private boolean enabled = false;
+        private String dir = "data/neis-cache";
+        private Set<NeisDataset> datasets = EnumSet.of(NeisDataset.MEAL, NeisDataset.TIMETABLE);
+        private DataSize maxSegmentSize = DataSize.ofMegabytes(64); // 넘으면 새 세그먼트로 교체
+        private int maxSegments = 4; // 초과 시 가장 오래된 세그먼트부터 삭제
+        private int rehydrateLimit = 5_000; // 기동 시 데이터셋별로 다시 올리는 최대 엔트리 수 (최근 적재 순)
+    }
+}
@@ -0,0 +1,158 @@
+package com.spring.schoolmate.neis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * NEIS 호출용 회로 차단기. (API 키와 호스트가 하나이므로 NEIS 전체에 하나만 둔다)
+ *
+ * - CLOSED    : 최근 window-size 건 중 실패율이 기준 이상이면 OPEN
+ * - OPEN      : open-duration 동안 호출을 바로 거절 (NeisUnavailableException) -> 캐시의 만료 값으로 응답
+ * - HALF_OPEN : half-open-calls 건만 시험 호출, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ *
+ * 상태 전환은 드물고 짧으므로 synchronized 로 단순하게 처리한다.
+ */
+@Component
+@Slf4j
+public class NeisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * 획득한 호출 권한.
+     * @param trial          half-open 시험 호출 권한인지 여부
+     * @param halfOpenRound  시험 호출이면 권한을 받은 half-open 회차 (취소 시 같은 회차일 때만 돌려줌)
+     */
+    public record Permit(boolean trial, long halfOpenRound) {
+    }
+
+    private static final Permit NORMAL_PERMIT = new Permit(false, 0);
+
+    private final NeisClientProperties.CircuitBreaker config;
+
+    // 최근 호출 결과 (true = 실패) 링 버퍼
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private long halfOpenRound;
+
+    private final Counter successCalls;
+    private final Counter failedCalls;
+    private final Counter rejectedCalls;
+
+    public NeisCircuitBreaker(NeisClientProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getCircuitBreaker();
+        this.window = new boolean[Math.max(1, config.getWindowSize())];
+
+        this.successCalls = Counter.builder("neis.circuit.calls").tag("outcome", "success")
+                .description("회로 차단기를 통과한 NEIS 호출 결과").register(meterRegistry);
+        this.failedCalls = Counter.builder("neis.circuit.calls").tag("outcome", "failure")
+                .description("회로 차단기를 통과한 NEIS 호출 결과").register(meterRegistry);
+        this.rejectedCalls = Counter.builder("neis.circuit.calls").tag("outcome", "rejected")
+                .description("회로 차단기를 통과한 NEIS 호출 결과").register(meterRegistry);
+        Gauge.builder("neis.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 가능 여부를 확인하고, 가능하면 호출 권한을 획득합니다.
+     * @return null 이면 호출하지 말고 NeisUnavailableException으로 처리 (취소 시 onCancel 에 그대로 넘김)
+     */
+    public synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < config.getOpenDuration().toMillis()) {
+                rejectedCalls.increment();
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits <= 0) {
+                rejectedCalls.increment();
+                return null;
+            }
+            halfOpenPermits--;
+            return new Permit(true, halfOpenRound);
+        }
+        return NORMAL_PERMIT;
+    }
+
+    public synchronized void onSuccess() {
+        successCalls.increment();
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        failedCalls.increment();
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && windowCount >= config.getMinimumCalls()
+                && windowFailures * 100 >= config.getFailureRateThreshold() * windowCount) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    // 결과 없이 취소된 호출 - 지금 half-open 회차에서 받은 시험 호출 권한만 돌려줌
+    // (CLOSED 때 받은 권한이나 이전 회차의 권한을 돌려주면 half-open-calls 보다 많이 시험하게 됨)
+    public synchronized void onCancel(Permit permit) {
+        if (permit.trial() && state == State.HALF_OPEN && permit.halfOpenRound() == halfOpenRound) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("[NEIS 회로 차단기] {} -> {}", state, next);
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = System.currentTimeMillis();
+            case HALF_OPEN -> {
+                halfOpenRound++;
+                halfOpenPermits = config.getHalfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+            }
+        }
+    }
+}
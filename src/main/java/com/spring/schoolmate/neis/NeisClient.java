@@ -0,0 +1,276 @@
+package com.spring.schoolmate.neis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * NEIS Open API 호출 전담 클라이언트.
+ * 동일한 요청(정규화된 URL 기준)이 동시에 들어오면 실제 외부 호출은 한 번만 하고,
+ * 응답(디코딩된 페이지)을 기다리던 모든 호출자가 공유한다. (single-flight)
+ *
+ * 정규화된 URL: 경로 + 정렬된 쿼리 파라미터 (API KEY 제외)
+ *
+ * 응답은 NeisResponseDecoder로 row 만 바로 읽으며, 여러 페이지에 걸친 결과는 나머지 페이지를 동시에 받아 합친다.
+ *
+ * 실제 호출 전에는 NeisRateLimiter에서 토큰을 받고(우선순위는 Context의 NeisLane), 호출에는 데이터셋별 타임아웃, 지수 백오프 재시도(5xx/429/연결 오류/타임아웃), 회로 차단기가 적용된다.
+ * 회로가 열려 있으면 호출하지 않고 NeisUnavailableException으로 실패하며, NeisCache가 만료된 값으로 대신 응답한다.
+ */
+@Component
+@Slf4j
+public class NeisClient {
+
+    private final WebClient webClient;
+    private final NeisClientProperties properties;
+    private final NeisCircuitBreaker circuitBreaker;
+    private final NeisRateLimiter rateLimiter;
+    private final NeisResponseDecoder decoder;
+
+    //  NEIS API KEY
+    @Value("${neis.api-key}")
+    private String apiKey;
+
+    // NEIS API URL
+    @Value("${neis.base-url}")
+    private String baseUrl;
+
+    // 진행 중인 요청 목록 (정규화된 URL -> 공유 Mono)
+    private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<NeisDataset, Counter> outboundCalls = new EnumMap<>(NeisDataset.class);
+    private final Map<NeisDataset, Counter> collapsedCalls = new EnumMap<>(NeisDataset.class);
+    private final Map<NeisDataset, Counter> timeouts = new EnumMap<>(NeisDataset.class);
+    private final Map<NeisDataset, Counter> retries = new EnumMap<>(NeisDataset.class);
+
+    public NeisClient(@Qualifier("neisWebClient") WebClient webClient,
+                      NeisClientProperties properties,
+                      NeisCircuitBreaker circuitBreaker,
+                      NeisRateLimiter rateLimiter,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.decoder = new NeisResponseDecoder(objectMapper);
+
+        for (NeisDataset dataset : NeisDataset.values()) {
+            outboundCalls.put(dataset, Counter.builder("neis.client.requests")
+                    .description("NEIS로 실제 전송된 요청 수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+            collapsedCalls.put(dataset, Counter.builder("neis.client.collapsed")
+                    .description("진행 중인 동일 요청에 합류하여 외부 호출을 생략한 횟수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+            timeouts.put(dataset, Counter.builder("neis.client.timeouts")
+                    .description("데이터셋별 응답 타임아웃 횟수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+            retries.put(dataset, Counter.builder("neis.client.retries")
+                    .description("재시도 횟수")
+                    .tag("dataset", dataset.getKey())
+                    .register(meterRegistry));
+        }
+        meterRegistry.gauge("neis.client.in-flight", inFlight, Map::size);
+    }
+
+    /**
+     * NEIS 요청 URL 빌더를 생성합니다. (기본 URL + 경로 + Type=json)
+     * API KEY는 전송 직전에 붙이므로 호출하는 쪽에서는 넣지 않습니다.
+     */
+    public UriComponentsBuilder uri(String path) {
+        return UriComponentsBuilder.fromUriString(baseUrl + path)
+                .queryParam("Type", "json");
+    }
+
+    /**
+     * NEIS 목록 API의 row 전체를 조회합니다. (페이지 크기: neis.client.page-size)
+     * 첫 페이지의 list_total_count 가 페이지 크기를 넘으면 나머지 페이지를 동시에 조회해 순서대로 이어 붙입니다.
+     * pIndex/pSize 는 여기서 붙이므로 호출하는 쪽에서는 넣지 않습니다.
+     */
+    public <R> Mono<List<R>> getRows(NeisDataset dataset, UriComponentsBuilder builder, Class<R> rowType) {
+        return getRows(dataset, builder, rowType, properties.getPageSize());
+    }
+
+    public <R> Mono<List<R>> getRows(NeisDataset dataset, UriComponentsBuilder builder, Class<R> rowType, int pageSize) {
+        return getPage(dataset, builder, rowType, 1, pageSize)
+                .flatMap(first -> {
+                    long pages = Math.min(properties.getMaxPages(), (first.totalCount() + pageSize - 1) / pageSize);
+                    if (pages <= 1) {
+                        return Mono.just(first.rows());
+                    }
+                    if (first.totalCount() > pages * pageSize) {
+                        log.warn("[NEIS] 최대 페이지 수({})를 넘는 응답은 잘립니다: dataset={}, total={}",
+                                properties.getMaxPages(), dataset.getKey(), first.totalCount());
+                    }
+                    return Flux.concat(
+                                    Mono.just(first.rows()),
+                                    Flux.range(2, (int) pages - 1)
+                                            .flatMapSequential(page -> getPage(dataset, builder, rowType, page, pageSize)
+                                                    .map(NeisPage::rows), properties.getPageConcurrency()))
+                            .flatMapIterable(rows -> rows)
+                            .collectList();
+                })
+                .defaultIfEmpty(Collections.emptyList());
+    }
+
+    private <R> Mono<NeisPage<R>> getPage(NeisDataset dataset, UriComponentsBuilder builder, Class<R> rowType, int page, int pageSize) {
+        return get(dataset, builder.cloneBuilder()
+                .queryParam("pIndex", page)
+                .queryParam("pSize", pageSize), rowType);
+    }
+
+    /**
+     * NEIS에 GET 요청을 보내고 응답을 한 페이지로 디코딩합니다.
+     * 같은 정규화 URL의 요청이 이미 진행 중이면 그 결과를 공유합니다.
+     * 공유 호출(Mono.share)은 구독자 수를 세므로, 일부 구독자만 취소하면 호출은 계속되고 남은 구독자가 결과를 받습니다.
+     * 합류한 구독자가 모두 취소하면 그때 진행 중인 단계(토큰 대기, HTTP 호출, 재시도 대기)가 취소되고 inFlight 에서 빠지며,
+     * 이후 같은 요청은 새로 호출합니다. (이미 NEIS에 전달된 요청을 서버 쪽에서 되돌리지는 않음)
+     */
+    @SuppressWarnings("unchecked")
+    private <R> Mono<NeisPage<R>> get(NeisDataset dataset, UriComponentsBuilder builder, Class<R> rowType) {
+        return Mono.defer(() -> {
+            String key = normalize(builder.build());
+            boolean[] leader = {false};
+
+            Mono<NeisPage<R>> call = (Mono<NeisPage<R>>) inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return exchange(dataset, k, builder, rowType);
+            });
+
+            if (leader[0]) {
+                outboundCalls.get(dataset).increment();
+            } else {
+                collapsedCalls.get(dataset).increment();
+                log.debug("[NEIS] 진행 중인 동일 요청에 합류: {}", key);
+            }
+            return call;
+        });
+    }
+
+    private <R> Mono<NeisPage<R>> exchange(NeisDataset dataset, String key, UriComponentsBuilder builder, Class<R> rowType) {
+        URI uri = builder.cloneBuilder()
+                .queryParam("KEY", apiKey)
+                .encode(StandardCharsets.UTF_8)
+                .build()
+                .toUri();
+        log.info("Requesting NEIS API: {}", key);
+
+        NeisClientProperties.Retry retry = properties.getRetry();
+        AtomicReference<Mono<NeisPage<R>>> self = new AtomicReference<>();
+        Mono<NeisPage<R>> shared = Mono.deferContextual(ctx -> rateLimiter
+                        .acquire(ctx.getOrDefault(NeisLane.CONTEXT_KEY, NeisLane.INTERACTIVE))
+                        .then(Mono.defer(() -> attempt(dataset, uri, rowType))))
+                .retryWhen(Retry.backoff(retry.getMaxAttempts(), retry.getMinBackoff())
+                        .maxBackoff(retry.getMaxBackoff())
+                        .jitter(retry.getJitter())
+                        .filter(NeisClient::isRetryable)
+                        .doBeforeRetry(signal -> {
+                            retries.get(dataset).increment();
+                            log.warn("[NEIS] 재시도 {}회: {} - {}", signal.totalRetries() + 1, key, signal.failure().toString());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .share();
+        self.set(shared);
+        return shared;
+    }
+
+    /**
+     * 회로 차단기 확인 후 한 번 호출합니다. (재시도 시마다 토큰을 다시 받고 다시 구독됨)
+     * 재시도 대상이 아닌 오류(4xx 등)는 NEIS가 응답하고 있는 것이므로 회로 차단기에는 성공으로 기록합니다.
+     * 본문은 max-response-size 까지만 모은 뒤 토큰 스트림으로 row 만 디코딩합니다.
+     */
+    private <R> Mono<NeisPage<R>> attempt(NeisDataset dataset, URI uri, Class<R> rowType) {
+        NeisCircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+        if (permit == null) {
+            return Mono.error(new NeisUnavailableException("NEIS 호출이 일시적으로 차단되었습니다. (회로 차단 중)"));
+        }
+        Flux<DataBuffer> body = webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+        return DataBufferUtils.join(body, (int) properties.getMaxResponseSize().toBytes())
+                .timeout(properties.timeout(dataset))
+                .doOnSuccess(value -> circuitBreaker.onSuccess())
+                .doOnError(e -> {
+                    if (e instanceof TimeoutException) {
+                        timeouts.get(dataset).increment();
+                    }
+                    if (isRetryable(e)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                })
+                .doOnCancel(() -> circuitBreaker.onCancel(permit))
+                .map(buffer -> decode(buffer, rowType))
+                .defaultIfEmpty(NeisPage.empty());
+    }
+
+    private <R> NeisPage<R> decode(DataBuffer buffer, Class<R> rowType) {
+        // asInputStream(true) : 스트림을 닫을 때 버퍼도 반환
+        try (InputStream in = buffer.asInputStream(true)) {
+            return decoder.decode(in, rowType);
+        } catch (IOException e) {
+            throw new IllegalStateException("NEIS 응답을 해석하지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // 일시적인 장애로 볼 수 있는 오류만 재시도 (연결 실패, 타임아웃, 5xx, 429)
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof TimeoutException || e instanceof WebClientRequestException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return false;
+    }
+
+    /**
+     * 경로 + 이름순으로 정렬한 쿼리 파라미터로 요청을 식별합니다. (KEY 제외)
+     */
+    private String normalize(UriComponents components) {
+        MultiValueMap<String, String> params = components.getQueryParams();
+        StringBuilder key = new StringBuilder(components.getPath() == null ? "" : components.getPath()).append('?');
+        new TreeMap<>(params).forEach((name, values) -> {
+            if ("KEY".equalsIgnoreCase(name)) {
+                return;
+            }
+            for (String value : values) {
+                key.append(name).append('=').append(value == null ? "" : value).append('&');
+            }
+        });
+        return key.toString();
+    }
+}
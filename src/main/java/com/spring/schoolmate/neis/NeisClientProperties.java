@@ -0,0 +1,84 @@
+package com.spring.schoolmate.neis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * NEIS HTTP 클라이언트 설정 (application.yml 의 neis.client.*)
+ * - pool            : Reactor Netty 커넥션 풀 크기/대기 시간
+ * - connect-timeout : TCP 연결 타임아웃
+ * - timeout         : 기본 응답 타임아웃, timeouts.<dataset> 으로 데이터셋별 지정 가능
+ * - retry           : 멱등 GET 재시도 (지수 백오프 + jitter)
+ * - circuit-breaker : 최근 호출 실패율이 기준을 넘으면 open-duration 동안 NEIS 호출을 막고 캐시로 응답
+ * - rate-limit      : API 키 단위 토큰 버킷 (초당 requests-per-second 개 충전, 최대 burst 개)
+ * - page-size       : 목록 조회 페이지 크기(pSize), 전체 건수가 넘으면 나머지 페이지를 page-concurrency 개씩 동시에 조회
+ * - max-response-size : 응답 본문 최대 크기 (넘으면 실패)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "neis.client")
+public class NeisClientProperties {
+
+    private Pool pool = new Pool();
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration timeout = Duration.ofSeconds(5);
+    // key : NeisDataset.key (meal, timetable, school-info ...)
+    private Map<String, Duration> timeouts = new HashMap<>();
+    private Retry retry = new Retry();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private RateLimit rateLimit = new RateLimit();
+    private int pageSize = 100;
+    private int maxPages = 50;
+    private int pageConcurrency = 4;
+    private DataSize maxResponseSize = DataSize.ofMegabytes(8);
+
+    public Duration timeout(NeisDataset dataset) {
+        return timeouts.getOrDefault(dataset.getKey(), timeout);
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections = 50;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+        private int pendingAcquireMaxCount = 500;
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+        private int maxAttempts = 2; // 최초 호출 이후 추가 시도 횟수
+        private Duration minBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double jitter = 0.5;
+    }
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+        private int windowSize = 20; // 실패율 계산에 사용하는 최근 호출 수
+        private int minimumCalls = 10; // 이 이상 호출이 쌓여야 실패율로 판단
+        private int failureRateThreshold = 50; // %
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3; // half-open 상태에서 허용하는 시험 호출 수
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+        private double requestsPerSecond = 10;
+        private int burst = 20;
+        private int maxInteractiveQueue = 500; // 초과 시 즉시 실패
+        private int maxBackgroundQueue = 10_000;
+    }
+}
@@ -0,0 +1,21 @@
+package com.spring.schoolmate.neis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * NEIS Open API 데이터셋 구분.
+ * 캐시 설정(neis.cache.*)과 메트릭 이름에 사용되는 key를 함께 가진다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum NeisDataset {
+    MEAL("meal"),                 // 급식 식단 (mealServiceDietInfo)
+    SCHEDULE("schedule"),         // 학사일정 (SchoolSchedule)
+    TIMETABLE("timetable"),       // 초/중/고 시간표 (els/mis/hisTimetable)
+    SCHOOL_INFO("school-info"),   // 학교 기본정보 (schoolInfo)
+    SCHOOL_MAJOR("school-major"), // 학과정보 (schoolMajorinfo)
+    CLASS_INFO("class-info");     // 학급정보 (classInfo)
+
+    private final String key;
+}
@@ -0,0 +1,354 @@
+package com.spring.schoolmate.neis;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.spring.schoolmate.dto.neis.MealInfoRow;
+import com.spring.schoolmate.dto.neis.TimetableRes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * NeisCache 뒤의 디스크 캐시 (neis.cache.disk.enabled=true 일 때만 동작).
+ * prod(Cloud Run)는 인스턴스가 새로 뜰 때마다 인메모리 캐시가 비어 NEIS 호출이 몰리므로,
+ * 적재한 급식/시간표 값을 로컬 디스크(또는 마운트한 볼륨)의 세그먼트 파일에 이어 쓰고 기동 직후 다시 읽어 캐시를 채운다.
+ *
+ * - 쓰기 : 적재할 때마다 레코드를 현재 세그먼트 끝에 추가 (append-only), 값은 JSON + gzip
+ * - 읽기 : 기동 시 세그먼트를 메모리 매핑해서 키별 최신 레코드만 고르고, 보관 기간(retention)이 지나지 않은 것만 복원
+ * - 정리 : 복원 후 살아 있는 레코드만 새 세그먼트로 복사(압축 해제 없이 그대로)하고 이전 세그먼트는 삭제,
+ *          실행 중에는 max-segment-size 마다 세그먼트를 바꾸고 max-segments 를 넘으면 가장 오래된 것부터 삭제
+ *
+ * 세그먼트 형식 : MAGIC, VERSION 뒤에 레코드 반복
+ * 레코드 형식   : 길이(int), CRC32(int), 데이터셋명, 캐시 키 (길이(short) + UTF-8), 적재 시각(ms), gzip(JSON)
+ * 마지막 레코드가 중간에 잘렸거나 CRC가 맞지 않으면 그 세그먼트는 거기까지만 읽는다.
+ */
+@Component
+@Slf4j
+public class NeisDiskCache {
+
+    private static final int MAGIC = 0x4E435347; // "NCSG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final NeisCacheProperties properties;
+    private final NeisCacheProperties.Disk config;
+    private final ObjectMapper objectMapper;
+    private final Map<NeisDataset, JavaType> valueTypes = new EnumMap<>(NeisDataset.class);
+
+    private final Counter appended;
+    private final Counter appendFailed;
+
+    // 아래 필드는 synchronized 안에서만 사용
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private FileChannel active;
+    private long activeSize;
+    private long nextSequence;
+    private boolean initialized;
+
+    public NeisDiskCache(NeisCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.config = properties.getDisk();
+        this.objectMapper = objectMapper;
+
+        // 디스크에 보관할 수 있는 데이터셋과 캐시 값 타입 (NeisApiService가 캐시에 넣는 타입과 같아야 함)
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        valueTypes.put(NeisDataset.MEAL, typeFactory.constructCollectionType(List.class, MealInfoRow.class));
+        valueTypes.put(NeisDataset.TIMETABLE, typeFactory.constructCollectionType(List.class, TimetableRes.class));
+
+        this.appended = Counter.builder("neis.cache.disk.writes").tag("result", "success")
+                .description("디스크 캐시에 기록한 레코드 수").register(meterRegistry);
+        this.appendFailed = Counter.builder("neis.cache.disk.writes").tag("result", "failure")
+                .description("디스크 캐시에 기록한 레코드 수").register(meterRegistry);
+    }
+
+    public boolean persists(NeisDataset dataset) {
+        return config.isEnabled() && config.getDatasets().contains(dataset) && valueTypes.containsKey(dataset);
+    }
+
+    /**
+     * 세그먼트 파일을 읽어 복원할 엔트리를 반환합니다. (데이터셋별 최근 적재 순으로 rehydrate-limit 개까지)
+     * 읽은 뒤 살아 있는 레코드만 남기도록 세그먼트를 정리하고, 이후 append 는 정리된 세그먼트에 이어 씁니다.
+     */
+    public synchronized List<Restored> rehydrate() {
+        if (!config.isEnabled() || initialized) {
+            return List.of();
+        }
+        initialized = true;
+        Path dir = Paths.get(config.getDir());
+        try {
+            Files.createDirectories(dir);
+            List<Path> existing = listSegments(dir);
+            nextSequence = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+
+            // 1. 모든 세그먼트를 매핑하고 키별 최신 레코드 위치를 찾음 (뒤 세그먼트, 뒤 레코드가 우선)
+            List<MappedByteBuffer> buffers = new ArrayList<>();
+            Map<String, Location> latest = new HashMap<>();
+            for (Path segment : existing) {
+                MappedByteBuffer buffer = map(segment);
+                if (buffer == null) {
+                    continue;
+                }
+                int index = buffers.size();
+                buffers.add(buffer);
+                scan(buffer, index, latest);
+            }
+
+            long now = System.currentTimeMillis();
+            List<Location> live = latest.values().stream()
+                    .filter(location -> persists(location.dataset()))
+                    .filter(location -> now - location.loadedAt()
+                            < properties.spec(location.dataset()).retention().toMillis())
+                    .sorted(Comparator.comparingLong(Location::loadedAt))
+                    .toList();
+
+            // 2. 살아 있는 레코드만 새 세그먼트로 옮기고 이전 세그먼트 삭제
+            compact(dir, buffers, live, existing);
+
+            // 3. 데이터셋별로 최근 적재된 것부터 복원
+            List<Restored> restored = new ArrayList<>();
+            Map<NeisDataset, List<Location>> byDataset = live.stream()
+                    .collect(Collectors.groupingBy(Location::dataset, () -> new EnumMap<>(NeisDataset.class), Collectors.toList()));
+            byDataset.forEach((dataset, locations) -> {
+                for (int i = locations.size() - 1, count = 0; i >= 0 && count < config.getRehydrateLimit(); i--) {
+                    Location location = locations.get(i);
+                    try {
+                        Object value = decode(buffers.get(location.segment()), location, valueTypes.get(dataset));
+                        restored.add(new Restored(dataset, location.key(), value, location.loadedAt()));
+                        count++;
+                    } catch (IOException e) {
+                        log.warn("[NEIS 디스크 캐시] 레코드 복원 실패: {} {} - {}", dataset.getKey(), location.key(), e.getMessage());
+                    }
+                }
+            });
+            return restored;
+        } catch (IOException e) {
+            log.warn("[NEIS 디스크 캐시] 세그먼트를 읽지 못해 빈 캐시로 시작합니다: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 캐시에 적재된 값을 세그먼트 끝에 추가합니다. 블로킹 파일 쓰기이므로 이벤트 루프 밖에서 호출합니다.
+     * 복원(rehydrate) 전에 들어온 값은 기록하지 않습니다.
+     */
+    public void append(NeisDataset dataset, String key, Object value, long loadedAt) {
+        if (!persists(dataset)) {
+            return;
+        }
+        try {
+            write(encode(dataset, key, value, loadedAt));
+            appended.increment();
+        } catch (IOException e) {
+            appendFailed.increment();
+            log.warn("[NEIS 디스크 캐시] 기록 실패: {} {} - {}", dataset.getKey(), key, e.getMessage());
+        }
+    }
+
+    private synchronized void write(ByteBuffer record) throws IOException {
+        if (!initialized) {
+            return;
+        }
+        if (active == null || activeSize >= config.getMaxSegmentSize().toBytes()) {
+            rotate();
+        }
+        int length = record.remaining();
+        while (record.hasRemaining()) {
+            active.write(record);
+        }
+        activeSize += length;
+    }
+
+    // 새 세그먼트를 열고, 개수가 max-segments 를 넘으면 오래된 세그먼트부터 삭제
+    private void rotate() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+        Path segment = Paths.get(config.getDir()).resolve(segmentName(nextSequence++));
+        active = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        active.write(header());
+        activeSize = HEADER_SIZE;
+        segments.addLast(segment);
+        while (segments.size() > Math.max(1, config.getMaxSegments())) {
+            Files.deleteIfExists(segments.pollFirst());
+        }
+    }
+
+    private void compact(Path dir, List<MappedByteBuffer> buffers, List<Location> live, List<Path> existing) throws IOException {
+        Path segment = dir.resolve(segmentName(nextSequence++));
+        Path temp = dir.resolve(segment.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            out.write(header());
+            for (Location location : live) {
+                ByteBuffer record = buffers.get(location.segment()).slice(location.offset(), location.length());
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+        }
+        Files.move(temp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (Path old : existing) {
+            Files.deleteIfExists(old);
+        }
+        log.info("[NEIS 디스크 캐시] 세그먼트 정리 완료: {}개 -> 1개, 레코드 {}건", existing.size(), live.size());
+
+        active = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = active.size();
+        segments.addLast(segment);
+    }
+
+    // ==================== 레코드 ====================
+
+    private ByteBuffer encode(NeisDataset dataset, String key, Object value, long loadedAt) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(body);
+        writeString(out, dataset.name());
+        writeString(out, key);
+        out.writeLong(loadedAt);
+        try (OutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, value);
+        }
+        byte[] bytes = body.toByteArray();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+        record.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        return record;
+    }
+
+    // 레코드를 순서대로 읽으며 키별 최신 위치를 기록
+    private void scan(MappedByteBuffer buffer, int segment, Map<String, Location> latest) {
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break; // 기록 도중 중단된 레코드
+            }
+            ByteBuffer body = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            NeisDataset dataset;
+            try {
+                dataset = NeisDataset.valueOf(readString(body));
+            } catch (IllegalArgumentException e) {
+                continue; // 없어진 데이터셋
+            }
+            String key = readString(body);
+            long loadedAt = body.getLong();
+            int payloadOffset = offset + HEADER_SIZE + body.position();
+            latest.put(dataset.name() + "|" + key, new Location(dataset, key, loadedAt, segment,
+                    offset, HEADER_SIZE + length, payloadOffset, length - body.position()));
+        }
+    }
+
+    private Object decode(MappedByteBuffer buffer, Location location, JavaType type) throws IOException {
+        byte[] payload = new byte[location.payloadLength()];
+        buffer.get(location.payloadOffset(), payload);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, type);
+        }
+    }
+
+    // ==================== 세그먼트 파일 ====================
+
+    private MappedByteBuffer map(Path segment) {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.warn("[NEIS 디스크 캐시] 형식이 맞지 않는 세그먼트를 건너뜁니다: {}", segment);
+                return null;
+            }
+            return buffer;
+        } catch (IOException e) {
+            log.warn("[NEIS 디스크 캐시] 세그먼트를 열지 못했습니다: {} - {}", segment, e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(NeisDiskCache::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long sequence) {
+        return String.format("segment-%08d%s", sequence, SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(name.indexOf('-') + 1, name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 디스크에서 복원한 캐시 엔트리
+     */
+    public record Restored(NeisDataset dataset, String key, Object value, long loadedAt) {
+    }
+
+    // 레코드 위치 (offset/length 는 길이·CRC 포함 레코드 전체, payload 는 gzip 부분)
+    private record Location(NeisDataset dataset, String key, long loadedAt, int segment,
+                            int offset, int length, int payloadOffset, int payloadLength) {
+    }
+}
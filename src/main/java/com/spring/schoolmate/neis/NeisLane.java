@@ -0,0 +1,24 @@
+package com.spring.schoolmate.neis;
+
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * NEIS 호출 우선순위 구분. Reactor Context 로 전달한다. (기본값 INTERACTIVE)
+ * 토큰이 부족하면 INTERACTIVE 대기열을 먼저 처리하므로, 사용자 요청이 prefetch 같은 백그라운드 작업보다 앞선다.
+ */
+public enum NeisLane {
+    INTERACTIVE, // 사용자 요청
+    BACKGROUND;  // prefetch, 캐시 백그라운드 갱신, 학교 목록 적재
+
+    public static final String CONTEXT_KEY = "neis.lane";
+
+    /**
+     * 구독 체인에 붙여 해당 호출의 우선순위를 지정합니다.
+     * 예) neisApiService.getMealInfoAsync(...).contextWrite(NeisLane.BACKGROUND.context())
+     */
+    public Function<Context, Context> context() {
+        return ctx -> ctx.put(CONTEXT_KEY, this);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spring.schoolmate.neis;
+
+import java.util.List;
+
+/**
+ * NEIS 응답 한 페이지. totalCount 는 head 의 list_total_count (전체 페이지 합계)
+ */
+record NeisPage<R>(long totalCount, List<R> rows) {
+
+    static <R> NeisPage<R> empty() {
+        return new NeisPage<>(0, List.of());
+    }
+}
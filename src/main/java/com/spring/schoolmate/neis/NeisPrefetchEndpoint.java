@@ -0,0 +1,36 @@
+package com.spring.schoolmate.neis;
+
+import com.spring.schoolmate.service.NeisPrefetchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * NEIS prefetch 진행 상황 조회 및 수동 실행용 actuator 엔드포인트.
+ * - GET  /actuator/neisprefetch : 진행 상황
+ * - POST /actuator/neisprefetch : 실행 (오늘 미완료 체크포인트가 있으면 이어서 진행)
+ */
+@Component
+@Endpoint(id = "neisprefetch")
+@RequiredArgsConstructor
+public class NeisPrefetchEndpoint {
+
+    private final NeisPrefetchService neisPrefetchService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return neisPrefetchService.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start() {
+        boolean started = neisPrefetchService.startAsync();
+        Map<String, Object> status = neisPrefetchService.status();
+        status.put("accepted", started);
+        return status;
+    }
+}
@@ -0,0 +1,28 @@
+package com.spring.schoolmate.neis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * NEIS 야간 prefetch 설정 (application.yml 의 neis.prefetch.*)
+ * - enabled             : 스케줄 실행 여부 (actuator 수동 실행은 항상 가능)
+ * - cron / zone         : 실행 주기
+ * - batch-size          : profile 테이블에서 한 번에 읽어오는 학교 수 (이 단위로 체크포인트 저장)
+ * - concurrency         : 동시에 진행하는 NEIS 호출 수 (호출 속도는 neis.client.rate-limit 이 제한)
+ * - checkpoint-file     : 중단된 작업을 이어서 실행하기 위한 체크포인트 파일 경로
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "neis.prefetch")
+public class NeisPrefetchProperties {
+
+    private boolean enabled = true;
+    private String cron = "0 30 3 * * *";
+    private String zone = "Asia/Seoul";
+    private int batchSize = 200;
+    private int concurrency = 4;
+    private String checkpointFile = "data/neis-prefetch.checkpoint";
+}
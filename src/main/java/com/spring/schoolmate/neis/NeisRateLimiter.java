@@ -0,0 +1,174 @@
+package com.spring.schoolmate.neis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NEIS API 키 단위 토큰 버킷.
+ * 모든 NEIS 호출(재시도 포함)은 실제 요청 전에 토큰을 하나 받아야 한다. (NeisClient)
+ *
+ * - 토큰은 초당 requests-per-second 개씩 충전되고 최대 burst 개까지 쌓인다.
+ * - 토큰이 없으면 우선순위(NeisLane)별 대기열에서 기다리며, INTERACTIVE 대기열을 항상 먼저 처리한다.
+ * - 대기열이 가득 차면 기다리지 않고 NeisUnavailableException으로 실패한다. (캐시의 만료 값으로 응답될 수 있음)
+ */
+@Component
+@Slf4j
+public class NeisRateLimiter {
+
+    private final NeisClientProperties.RateLimit config;
+    private final double tokensPerNano;
+
+    private final Map<NeisLane, Deque<Waiter>> queues = new EnumMap<>(NeisLane.class);
+    private final Map<NeisLane, Integer> maxQueue = new EnumMap<>(NeisLane.class);
+    private final Map<NeisLane, Timer> waitTimers = new EnumMap<>(NeisLane.class);
+    private final Map<NeisLane, Counter> rejected = new EnumMap<>(NeisLane.class);
+
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private boolean drainScheduled;
+
+    public NeisRateLimiter(NeisClientProperties properties, MeterRegistry meterRegistry) {
+        this.config = properties.getRateLimit();
+        this.tokensPerNano = config.getRequestsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = config.getBurst();
+        maxQueue.put(NeisLane.INTERACTIVE, config.getMaxInteractiveQueue());
+        maxQueue.put(NeisLane.BACKGROUND, config.getMaxBackgroundQueue());
+
+        for (NeisLane lane : NeisLane.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            String tag = lane.name().toLowerCase();
+            Gauge.builder("neis.ratelimit.queue", this, limiter -> limiter.queueSize(lane))
+                    .description("토큰을 기다리는 NEIS 호출 수")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            waitTimers.put(lane, Timer.builder("neis.ratelimit.wait")
+                    .description("토큰을 받기까지 기다린 시간")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+            rejected.put(lane, Counter.builder("neis.ratelimit.rejected")
+                    .description("대기열이 가득 차서 거절된 NEIS 호출 수")
+                    .tag("lane", tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("neis.ratelimit.tokens", this, NeisRateLimiter::availableTokens)
+                .description("현재 남은 토큰 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰을 하나 받으면 완료되는 Mono. 구독을 취소하면 대기열에서 빠집니다.
+     */
+    public Mono<Void> acquire(NeisLane lane) {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(lane, sink, System.nanoTime());
+            boolean granted;
+            synchronized (this) {
+                refill();
+                granted = canGrantImmediately(lane) && tokens >= 1;
+                if (granted) {
+                    tokens -= 1;
+                } else if (queues.get(lane).size() >= maxQueue.get(lane)) {
+                    rejected.get(lane).increment();
+                    sink.error(new NeisUnavailableException("NEIS 호출 대기열이 가득 찼습니다. (" + lane + ")"));
+                    return;
+                } else {
+                    queues.get(lane).addLast(waiter);
+                    scheduleDrain();
+                }
+            }
+            if (granted) {
+                grant(waiter);
+                return;
+            }
+            sink.onCancel(() -> {
+                synchronized (this) {
+                    queues.get(lane).remove(waiter);
+                }
+            });
+        });
+    }
+
+    // 앞선(같거나 높은 우선순위) 대기자가 없을 때만 바로 토큰을 줌
+    private boolean canGrantImmediately(NeisLane lane) {
+        for (NeisLane other : NeisLane.values()) {
+            if (!queues.get(other).isEmpty()) {
+                return false;
+            }
+            if (other == lane) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            drainScheduled = false;
+            refill();
+            while (tokens >= 1) {
+                Waiter next = queues.get(NeisLane.INTERACTIVE).pollFirst();
+                if (next == null) {
+                    next = queues.get(NeisLane.BACKGROUND).pollFirst();
+                }
+                if (next == null) {
+                    break;
+                }
+                tokens -= 1;
+                granted.add(next);
+            }
+            if (!queues.get(NeisLane.INTERACTIVE).isEmpty() || !queues.get(NeisLane.BACKGROUND).isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        granted.forEach(this::grant);
+    }
+
+    // 다음 토큰이 충전될 시점에 대기열을 처리 (synchronized 안에서 호출)
+    private void scheduleDrain() {
+        if (drainScheduled) {
+            return;
+        }
+        drainScheduled = true;
+        long delay = Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        Schedulers.parallel().schedule(this::drain, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(config.getBurst(), tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+
+    private void grant(Waiter waiter) {
+        waitTimers.get(waiter.lane()).record(System.nanoTime() - waiter.enqueuedAt(), TimeUnit.NANOSECONDS);
+        waiter.sink().success();
+    }
+
+    private synchronized int queueSize(NeisLane lane) {
+        return queues.get(lane).size();
+    }
+
+    private synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private record Waiter(NeisLane lane, MonoSink<Void> sink, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.spring.schoolmate.neis;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NEIS 응답을 Jackson 토큰 스트림으로 읽어 row 만 바로 객체로 만드는 디코더.
+ * 응답 전체를 Res/Wrapper 트리로 역직렬화하지 않으므로 응답당 할당이 row 객체 수준으로 줄어든다.
+ *
+ * 응답 형식
+ * - 정상   : { "<서비스명>": [ { "head": [ { "list_total_count": N }, { "RESULT": {...} } ] }, { "row": [ {...}, ... ] } ] }
+ * - 데이터 없음/오류 : { "RESULT": { "CODE": "INFO-200", "MESSAGE": "..." } }
+ *
+ * head 에서는 list_total_count 만 읽고 나머지는 건너뛴다.
+ */
+final class NeisResponseDecoder {
+
+    private static final String HEAD = "head";
+    private static final String ROW = "row";
+    private static final String RESULT = "RESULT";
+    private static final String TOTAL_COUNT = "list_total_count";
+
+    private final ObjectMapper objectMapper;
+
+    NeisResponseDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 응답 본문을 읽어 한 페이지로 만듭니다. 스트림은 호출하는 쪽에서 닫습니다.
+     */
+    <R> NeisPage<R> decode(InputStream body, Class<R> rowType) throws IOException {
+        long totalCount = 0;
+        List<R> rows = new ArrayList<>();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return NeisPage.empty();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (RESULT.equals(field) || token != JsonToken.START_ARRAY) {
+                    // 데이터 없음(INFO-200) 등 결과 코드만 있는 응답
+                    parser.skipChildren();
+                    continue;
+                }
+                // 서비스명 배열 : [ {"head": [...]}, {"row": [...]} ]
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        JsonToken value = parser.nextToken();
+                        if (HEAD.equals(name) && value == JsonToken.START_ARRAY) {
+                            totalCount = readTotalCount(parser);
+                        } else if (ROW.equals(name) && value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                                rows.add(objectMapper.readValue(parser, rowType));
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+        return new NeisPage<>(Math.max(totalCount, rows.size()), rows);
+    }
+
+    // head 배열 안에서 list_total_count 만 찾고 배열 끝까지 건너뜀 (현재 토큰: START_ARRAY)
+    private long readTotalCount(JsonParser parser) throws IOException {
+        long totalCount = 0;
+        int depth = 1;
+        while (depth > 0) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                break;
+            }
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            } else if (token == JsonToken.FIELD_NAME && TOTAL_COUNT.equals(parser.currentName())) {
+                parser.nextToken();
+                totalCount = parser.getValueAsLong();
+            }
+        }
+        return totalCount;
+    }
+}
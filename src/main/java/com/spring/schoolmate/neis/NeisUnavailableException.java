@@ -0,0 +1,12 @@
+package com.spring.schoolmate.neis;
+
+/**
+ * NEIS 호출을 하지 않고 실패 처리한 경우 (회로 차단 중 등)
+ * NeisCache는 이 예외를 받으면 만료된 캐시 값이라도 있으면 그 값으로 응답한다.
+ */
+public class NeisUnavailableException extends RuntimeException {
+
+    public NeisUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,148 @@
+package com.spring.schoolmate.neis;
+
+import com.spring.schoolmate.dto.neis.SchoolInfoRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 회원가입 학교 검색(자동완성)용 로컬 학교 목록.
+ * NEIS schoolInfo 전체(약 1.2만 개교)를 페이지 단위로 받아 SchoolDirectoryIndex를 만들고,
+ * 스냅샷 파일로 저장해 두었다가 기동 시 메모리 매핑으로 바로 올린다.
+ *
+ * - 기동 시 : 스냅샷이 있으면 로드, 없으면 백그라운드에서 NEIS 전체 조회
+ * - 주기적으로 스냅샷이 refresh-interval 보다 오래되었으면 다시 받아서 교체
+ * - 인덱스가 준비되기 전에는 isReady() 가 false 이며, 이때는 기존처럼 NEIS를 직접 조회한다.
+ */
+@Component
+@Slf4j
+public class SchoolDirectory {
+
+    // NEIS 한 페이지 최대 건수
+    private static final int PAGE_SIZE = 1000;
+
+    private final NeisClient neisClient;
+
+    @Value("${neis.path.school-info}")
+    private String schoolInfoPath;
+
+    @Value("${neis.directory.enabled:true}")
+    private boolean enabled;
+
+    @Value("${neis.directory.snapshot-file:data/neis-school-directory.bin}")
+    private String snapshotFile;
+
+    @Value("${neis.directory.refresh-interval:7d}")
+    private Duration refreshInterval;
+
+    private volatile SchoolDirectoryIndex index;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    public SchoolDirectory(NeisClient neisClient) {
+        this.neisClient = neisClient;
+    }
+
+    public boolean isReady() {
+        return enabled && index != null;
+    }
+
+    /**
+     * 로컬 인덱스에서 학교를 검색합니다. isReady() 가 true 일 때만 호출합니다.
+     */
+    public List<SchoolInfoRow> search(String schoolName, String schoolLevel, int limit) {
+        SchoolDirectoryIndex current = index;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        return current.search(schoolName, schoolLevel, limit);
+    }
+
+    /**
+     * 기동 완료 후 스냅샷을 로드합니다. 스냅샷이 없으면 백그라운드에서 NEIS 전체 조회를 시작합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        Path path = Paths.get(snapshotFile);
+        if (Files.exists(path)) {
+            try {
+                long start = System.nanoTime();
+                index = SchoolDirectoryIndex.readFrom(path);
+                log.info("[학교 목록] 스냅샷 로드 완료: {}개교, {}ms",
+                        index.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+            } catch (IOException e) {
+                log.warn("[학교 목록] 스냅샷 로드 실패, NEIS에서 다시 받습니다: {}", e.getMessage());
+            }
+        }
+        if (isStale()) {
+            Schedulers.boundedElastic().schedule(this::refresh);
+        }
+    }
+
+    /**
+     * 스냅샷이 오래되었으면 NEIS에서 전체 학교 목록을 다시 받아 교체합니다. (6시간마다 확인)
+     */
+    @Scheduled(fixedDelayString = "${neis.directory.check-interval:6h}", initialDelayString = "${neis.directory.check-interval:6h}")
+    public void refreshIfStale() {
+        if (enabled && isStale()) {
+            refresh();
+        }
+    }
+
+    /**
+     * NEIS schoolInfo를 전부 받아 인덱스와 스냅샷 파일을 교체합니다.
+     * 실패하면 기존 인덱스를 그대로 사용합니다.
+     */
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            List<SchoolInfoRow> rows = fetchAll();
+            if (rows.isEmpty()) {
+                log.warn("[학교 목록] NEIS에서 받은 학교가 없어 기존 인덱스를 유지합니다.");
+                return;
+            }
+            SchoolDirectoryIndex fresh = SchoolDirectoryIndex.of(rows, System.currentTimeMillis());
+            index = fresh;
+            fresh.writeTo(Paths.get(snapshotFile));
+            log.info("[학교 목록] 갱신 완료: {}개교, {}ms",
+                    fresh.size(), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (Exception e) {
+            log.warn("[학교 목록] 갱신 실패, 기존 인덱스를 유지합니다: {}", e.getMessage());
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private boolean isStale() {
+        SchoolDirectoryIndex current = index;
+        return current == null
+                || System.currentTimeMillis() - current.getCreatedAt() > refreshInterval.toMillis();
+    }
+
+    /**
+     * 전체 학교 목록을 조회합니다. 첫 페이지의 전체 건수를 보고 나머지 페이지는 NeisClient가 동시에 받아 합칩니다.
+     */
+    private List<SchoolInfoRow> fetchAll() {
+        return neisClient.getRows(NeisDataset.SCHOOL_INFO, neisClient.uri(schoolInfoPath), SchoolInfoRow.class, PAGE_SIZE)
+                .contextWrite(NeisLane.BACKGROUND.context())
+                .block();
+    }
+}
@@ -0,0 +1,305 @@
+package com.spring.schoolmate.neis;
+
+import com.spring.schoolmate.dto.neis.SchoolInfoRow;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전국 학교 목록(NEIS schoolInfo 전체)에 대한 읽기 전용 검색 인덱스.
+ * 한 번 만들어지면 변경되지 않으며, 갱신 시에는 새 인덱스를 만들어 통째로 교체한다.
+ *
+ * - 학교명은 공백을 제거한 뒤 2글자(bigram) 역색인으로 후보를 좁히고, 실제 포함 여부로 확정한다.
+ * - 검색어가 초성(ㄱ~ㅎ)으로만 이루어져 있으면 학교명의 초성 문자열에서 찾는다. (예: "ㅅㅇㄱ" -> 서울고등학교)
+ * - 학교 정보는 컬럼별 배열로 보관하고, 결과로 반환할 때만 SchoolInfoRow를 만든다.
+ *
+ * 스냅샷 파일 형식 : MAGIC, VERSION, 생성 시각(ms), 학교 수, 이후 학교별 7개 문자열 (길이(short) + UTF-8)
+ */
+public final class SchoolDirectoryIndex {
+
+    private static final int MAGIC = 0x53444952; // "SDIR"
+    private static final int VERSION = 1;
+
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final int[] EMPTY = new int[0];
+
+    private final long createdAt;
+
+    // 컬럼별 원본 값
+    private final String[] scCodes;
+    private final String[] schoolCodes;
+    private final String[] names;
+    private final String[] levels;
+    private final String[] locations;
+    private final String[] addresses;
+    private final String[] schoolTypes;
+
+    // 검색용 파생 값
+    private final String[] normalizedNames;
+    private final String[] chosungNames;
+    private final Map<Integer, int[]> bigrams;
+
+    private SchoolDirectoryIndex(long createdAt, String[][] columns) {
+        this.createdAt = createdAt;
+        this.scCodes = columns[0];
+        this.schoolCodes = columns[1];
+        this.names = columns[2];
+        this.levels = columns[3];
+        this.locations = columns[4];
+        this.addresses = columns[5];
+        this.schoolTypes = columns[6];
+
+        int size = names.length;
+        this.normalizedNames = new String[size];
+        this.chosungNames = new String[size];
+        Map<Integer, List<Integer>> postings = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String name = normalize(names[i]);
+            normalizedNames[i] = name;
+            chosungNames[i] = toChosung(name);
+            for (int j = 0; j + 1 < name.length(); j++) {
+                List<Integer> ids = postings.computeIfAbsent(bigram(name, j), key -> new ArrayList<>());
+                // 같은 학교명 안에서 반복되는 bigram은 한 번만 기록
+                if (ids.isEmpty() || ids.get(ids.size() - 1) != i) {
+                    ids.add(i);
+                }
+            }
+        }
+        this.bigrams = new HashMap<>(postings.size() * 2);
+        postings.forEach((key, ids) -> bigrams.put(key, ids.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * NEIS 조회 결과로 인덱스를 만듭니다. (학교코드가 없는 행은 제외)
+     */
+    public static SchoolDirectoryIndex of(List<SchoolInfoRow> rows, long createdAt) {
+        List<SchoolInfoRow> valid = rows.stream()
+                .filter(row -> row.getSchoolCode() != null && row.getSchoolName() != null)
+                .toList();
+        String[][] columns = new String[7][valid.size()];
+        for (int i = 0; i < valid.size(); i++) {
+            SchoolInfoRow row = valid.get(i);
+            columns[0][i] = row.getEducationOfficeCode();
+            columns[1][i] = row.getSchoolCode();
+            columns[2][i] = row.getSchoolName();
+            columns[3][i] = row.getSchoolLevel();
+            columns[4][i] = row.getLocationName();
+            columns[5][i] = row.getLoadName();
+            columns[6][i] = row.getSchoolType();
+        }
+        return new SchoolDirectoryIndex(createdAt, columns);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * 학교명으로 검색합니다.
+     * 정확히 일치 > 앞부분 일치 > 부분 일치 순으로, 같은 순위에서는 짧은 이름이 먼저 옵니다.
+     *
+     * @param query       검색어 (학교명 일부 또는 초성)
+     * @param schoolLevel 학교종류명 필터 (null 이면 전체)
+     * @param limit       최대 결과 수
+     */
+    public List<SchoolInfoRow> search(String query, String schoolLevel, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        boolean chosungOnly = isChosungOnly(q);
+        String[] targets = chosungOnly ? chosungNames : normalizedNames;
+
+        List<Integer> matches = new ArrayList<>();
+        if (!chosungOnly && q.length() >= 2) {
+            // bigram 역색인에서 가장 짧은 목록을 후보로 사용
+            int[] candidates = null;
+            for (int j = 0; j + 1 < q.length(); j++) {
+                int[] ids = bigrams.getOrDefault(bigram(q, j), EMPTY);
+                if (candidates == null || ids.length < candidates.length) {
+                    candidates = ids;
+                }
+            }
+            for (int id : candidates) {
+                if (matchesLevel(id, schoolLevel) && targets[id].contains(q)) {
+                    matches.add(id);
+                }
+            }
+        } else {
+            // 한 글자 또는 초성 검색은 전체 순회 (약 1.2만 건)
+            for (int id = 0; id < targets.length; id++) {
+                if (matchesLevel(id, schoolLevel) && targets[id].contains(q)) {
+                    matches.add(id);
+                }
+            }
+        }
+
+        return matches.stream()
+                .sorted(Comparator.<Integer>comparingInt(id -> rank(targets[id], q))
+                        .thenComparingInt(id -> targets[id].length())
+                        .thenComparing(id -> names[id]))
+                .limit(limit)
+                .map(this::toRow)
+                .toList();
+    }
+
+    private boolean matchesLevel(int id, String schoolLevel) {
+        return schoolLevel == null || schoolLevel.isBlank() || schoolLevel.equals(levels[id]);
+    }
+
+    private int rank(String target, String q) {
+        if (target.equals(q)) {
+            return 0;
+        }
+        return target.startsWith(q) ? 1 : 2;
+    }
+
+    private SchoolInfoRow toRow(int id) {
+        return SchoolInfoRow.builder()
+                .educationOfficeCode(scCodes[id])
+                .schoolCode(schoolCodes[id])
+                .schoolName(names[id])
+                .schoolLevel(levels[id])
+                .locationName(locations[id])
+                .loadName(addresses[id])
+                .schoolType(schoolTypes[id])
+                .build();
+    }
+
+    // ==================== 스냅샷 파일 ====================
+
+    /**
+     * 인덱스 원본 컬럼을 스냅샷 파일로 저장합니다. 임시 파일에 쓴 뒤 교체합니다.
+     */
+    public void writeTo(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(createdAt);
+            out.writeInt(names.length);
+            for (int i = 0; i < names.length; i++) {
+                writeString(out, scCodes[i]);
+                writeString(out, schoolCodes[i]);
+                writeString(out, names[i]);
+                writeString(out, levels[i]);
+                writeString(out, locations[i]);
+                writeString(out, addresses[i]);
+                writeString(out, schoolTypes[i]);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 스냅샷 파일을 메모리 매핑하여 인덱스를 만듭니다.
+     *
+     * @throws IOException 파일이 없거나 형식이 맞지 않는 경우
+     */
+    public static SchoolDirectoryIndex readFrom(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("학교 목록 스냅샷 형식이 올바르지 않습니다: " + path);
+            }
+            long createdAt = buffer.getLong();
+            int size = buffer.getInt();
+            String[][] columns = new String[7][size];
+            for (int i = 0; i < size; i++) {
+                for (String[] column : columns) {
+                    column[i] = readString(buffer);
+                }
+            }
+            return new SchoolDirectoryIndex(createdAt, columns);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("학교 목록 스냅샷이 손상되었습니다: " + path, e);
+        }
+    }
+
+    // null 은 길이 -1 로 기록
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== 문자열 처리 ====================
+
+    // 공백 제거 + 소문자 (영문 학교명 대비)
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 한글 음절은 초성으로, 나머지 문자는 그대로
+    private static String toChosung(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            if (c >= '가' && c <= '힣') {
+                chars[i] = CHOSUNG[(c - '가') / 588];
+            }
+        }
+        return new String(chars);
+    }
+
+    private static boolean isChosungOnly(String value) {
+        return value.chars().allMatch(c -> Arrays.binarySearch(CHOSUNG, (char) c) >= 0);
+    }
+
+    private static int bigram(String value, int index) {
+        return (value.charAt(index) << 16) | value.charAt(index + 1);
+    }
+}
@@ -0,0 +1,13 @@
+package com.spring.schoolmate.neis;
+
+/**
+ * 학교 식별자 (시도교육청코드 + 학교 행정표준코드)
+ * profile 테이블의 (atpt_ofcdc_sc_code, sd_schul_code) 쌍과 같다.
+ */
+public record SchoolKey(String scCode, String schoolCode) {
+
+    @Override
+    public String toString() {
+        return scCode + ":" + schoolCode;
+    }
+}
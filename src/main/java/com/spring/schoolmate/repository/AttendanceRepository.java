@@ -0,0 +1,24 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.Attendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+
+    /**
+     * 기존 포인트 내역의 출석 기록을 (학생 ID, 지급 시각) 으로 조회합니다. (attendance 테이블 최초 적재용)
+     * @return [학생 ID, 지급 시각(Timestamp)]
+     */
+    @Query("SELECT p.student.studentId, p.createdAt FROM PointHistory p WHERE p.refType = '출석 체크' ORDER BY p.phId")
+    List<Object[]> findLegacyAttendances();
+
+    // 회원 탈퇴 시 학생의 출석 기록 삭제
+    @Modifying
+    @Query("DELETE FROM Attendance a WHERE a.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+}
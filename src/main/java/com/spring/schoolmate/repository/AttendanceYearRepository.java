@@ -0,0 +1,22 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.AttendanceYear;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AttendanceYearRepository extends JpaRepository<AttendanceYear, Long> {
+
+    Optional<AttendanceYear> findByStudentIdAndYear(Long studentId, Integer year);
+
+    List<AttendanceYear> findByStudentId(Long studentId);
+
+    // 회원 탈퇴 시 학생의 연간 출석 비트맵 삭제
+    @Modifying
+    @Query("DELETE FROM AttendanceYear y WHERE y.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+}
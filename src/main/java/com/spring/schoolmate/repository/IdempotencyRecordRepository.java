@@ -0,0 +1,39 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByStudentIdAndScopeAndIdemKey(Long studentId, String scope, String idemKey);
+
+    // 상태 전이 (from 상태일 때만 변경) - 변경된 행 수 반환
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :to WHERE r.idempotencyId = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") IdempotencyRecord.Status from,
+                     @Param("to") IdempotencyRecord.Status to);
+
+    // 주어진 상태일 때만 삭제 (업무 변경이 반영된 기록은 지우지 않기 위함)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyId = :id AND r.status = :status")
+    int deleteByIdAndStatus(@Param("id") Long id, @Param("status") IdempotencyRecord.Status status);
+
+    // 회원 탈퇴 시 학생의 기록 삭제
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.studentId = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    // 보관 기간이 지난 기록 삭제
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,43 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.PointHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PointHistory 대량 INSERT 전용 저장소.
+ * JPA save() 는 IDENTITY 키 때문에 행마다 INSERT 를 바로 실행하므로, 일괄 지급처럼 수백~수천 건을 쓰는 경우
+ * JdbcTemplate 배치로 BATCH_SIZE 건씩 묶어서 보낸다. (현재 JPA 트랜잭션의 커넥션을 그대로 사용)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PointHistoryBatchRepository {
+
+  private static final int BATCH_SIZE = 500;
+
+  private static final String INSERT_SQL =
+    "INSERT INTO point_history (student_id, transaction_type, amount, balance_after, ref_type, ref_id, created_at, expires_at, remaining) "
+      + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 거래 내역을 BATCH_SIZE 건씩 배치 INSERT 한다. (student 는 ID 만 사용, phId 는 채워지지 않음)
+   */
+  public void insertAll(List<PointHistory> histories) {
+    jdbcTemplate.batchUpdate(INSERT_SQL, histories, BATCH_SIZE, (ps, history) -> {
+      ps.setLong(1, history.getStudent().getStudentId());
+      ps.setString(2, history.getTsType());
+      ps.setInt(3, history.getAmount());
+      ps.setInt(4, history.getBalanceAfter());
+      ps.setString(5, history.getRefType());
+      ps.setObject(6, history.getRefId());
+      ps.setTimestamp(7, history.getCreatedAt());
+      ps.setTimestamp(8, history.getExpiresAt());
+      ps.setObject(9, history.getRemaining());
+    });
+  }
+}
@@ -4,12 +4,15 @@ package com.spring.schoolmate.repository;
 
 import com.spring.schoolmate.entity.PointHistory;
 import com.spring.schoolmate.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.sql.Timestamp; // 💡 java.sql.Timestamp로 통일
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PointHistoryRepository extends JpaRepository<PointHistory, Long> {
@@ -20,39 +23,55 @@ public interface PointHistoryRepository extends JpaRepository<PointHistory, Long
     // 특정 학생의 포인트 내역을 최신순 정렬해서 가져오기
     List<PointHistory> findByStudentOrderByCreatedAtDesc(Student student);
 
-    // 학생과 트랜잭션 타입(tsType)을 기준으로 개수를 세는 메서드 추가 (기존 로직)
-    Integer countByStudentAndTsType(Student student, String tsType);
+    // -------------------------------------------------------------------------
+    // 💡 커서 페이지네이션 (created_at, ph_id 내림차순, Pageable 은 LIMIT 용도로만 사용 - COUNT 쿼리 없음)
+    // -------------------------------------------------------------------------
+
+    // 첫 페이지
+    @Query("SELECT p FROM PointHistory p WHERE p.student = :student ORDER BY p.createdAt DESC, p.phId DESC")
+    List<PointHistory> findPageByStudent(@Param("student") Student student, Pageable pageable);
 
-    // 특정 학생이 사용(차감)한 포인트의 총합 (amount < 0)
-    // SQL: SELECT SUM(ABS(amount)) FROM point_history WHERE student_id = :student AND amount < 0
-    @Query("SELECT COALESCE(SUM(ABS(p.amount)), 0) FROM PointHistory p WHERE p.student = :student AND p.amount < 0")
-    Integer sumUsedPointsByStudent(@Param("student") Student student);
+    // 커서(createdAt, phId) 이후 페이지
+    @Query("SELECT p FROM PointHistory p WHERE p.student = :student "
+      + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.phId < :phId)) "
+      + "ORDER BY p.createdAt DESC, p.phId DESC")
+    List<PointHistory> findPageByStudentAfter(@Param("student") Student student,
+                                              @Param("createdAt") Timestamp createdAt,
+                                              @Param("phId") Long phId,
+                                              Pageable pageable);
 
-    // 급식 사진 업로드 수 정확히 카운트
-    @Query("SELECT COUNT(p) FROM PointHistory p WHERE p.student = :student AND p.tsType = 'EARN' AND p.refType = '급식 사진 업로드'")
-    Integer countMealPhotoUploads(@Param("student") Student student);
+    // 학생과 트랜잭션 타입(tsType)을 기준으로 개수를 세는 메서드 추가 (기존 로직)
+    Integer countByStudentAndTsType(Student student, String tsType);
 
     // -------------------------------------------------------------------------
-    // 💡 출석 관련 메서드 (AttendController/PointHistoryService에서 사용)
+    // 💡 포인트 만료 (적립 로트: remaining > 0 이고 expires_at 이 있는 적립 건)
     // -------------------------------------------------------------------------
 
     /**
-     * 1. 출석 중복 체크용: 특정 시간 이후의 출석 기록이 존재하는지 확인
+     * 학생의 아직 만료되지 않은 적립 로트를 만료 임박 순으로 조회 (차감 시 FIFO 소진용)
+     */
+    @Query("SELECT p FROM PointHistory p WHERE p.student.studentId = :studentId "
+      + "AND p.expiresAt > :now AND p.remaining > 0 ORDER BY p.expiresAt, p.phId")
+    List<PointHistory> findOpenLots(@Param("studentId") Long studentId, @Param("now") Timestamp now);
+
+    /**
+     * 만료 시각이 지난 로트를 만료 시각 순으로 limit 건 조회 [ph_id, student_id] (expires_at 인덱스 범위 조회)
      */
-    boolean existsByStudentAndRefTypeAndCreatedAtAfter(Student student, String refType, Timestamp timestamp); // 💡 java.sql.Timestamp 사용으로 통일 및 중복 제거
+    @Query(value = "SELECT ph_id, student_id FROM point_history WHERE expires_at <= :now "
+      + "ORDER BY expires_at, ph_id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findExpiredLots(@Param("now") Timestamp now, @Param("limit") int limit);
 
     /**
-     * 2. 누적 출석 일수 조회용: 출석(refType) 기록의 총 횟수 카운트
+     * 학생 행을 잠근 뒤 로트 상태를 다시 확인 [ph_id, student_id, remaining]
      */
-    Integer countByStudentAndRefType(Student student, String refType);
+    @Query(value = "SELECT ph_id, student_id, remaining FROM point_history "
+      + "WHERE ph_id IN (:lotIds) AND expires_at <= :now", nativeQuery = true)
+    List<Object[]> findExpiredLotsByIds(@Param("lotIds") Collection<Long> lotIds, @Param("now") Timestamp now);
 
     /**
-     * 3. 월별 출석 날짜 조회용: 특정 기간(월) 내의 출석 기록 리스트 조회
+     * 만료 처리한 로트를 닫음 (remaining = 0, expires_at = null 이 되어 만료 인덱스에서 빠짐)
      */
-    List<PointHistory> findByStudentAndRefTypeAndCreatedAtBetween(
-      Student student,
-      String refType,
-      Timestamp start,
-      Timestamp end
-    );
-}
\ No newline at end of file
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE point_history SET remaining = 0, expires_at = NULL WHERE ph_id IN (:lotIds)", nativeQuery = true)
+    int closeLots(@Param("lotIds") Collection<Long> lotIds);
+}
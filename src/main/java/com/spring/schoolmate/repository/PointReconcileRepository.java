@@ -0,0 +1,73 @@
+package com.spring.schoolmate.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 포인트 장부 정합성 점검용 집계 쿼리. (잠금 없는 일반 SELECT, student_id 범위 단위)
+ */
+@Repository
+@RequiredArgsConstructor
+public class PointReconcileRepository {
+
+  /**
+   * 학생별 장부 집계
+   * @param sum              amount 합계
+   * @param rows             거래 건수
+   * @param lastBalanceAfter 마지막 거래(ph_id 최대)의 balance_after
+   */
+  public record LedgerTotals(long sum, long rows, Integer lastBalanceAfter) {
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public long minStudentId() {
+    Long id = jdbcTemplate.queryForObject("SELECT MIN(student_id) FROM student", Long.class);
+    return id == null ? 0 : id;
+  }
+
+  public long maxStudentId() {
+    Long id = jdbcTemplate.queryForObject("SELECT MAX(student_id) FROM student", Long.class);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * [fromId, toId] 범위 학생들의 현재 잔액
+   */
+  public Map<Long, Integer> findBalances(long fromId, long toId) {
+    Map<Long, Integer> balances = new HashMap<>();
+    jdbcTemplate.query("SELECT student_id, point_balance FROM student WHERE student_id BETWEEN ? AND ?",
+      rs -> {
+        balances.put(rs.getLong(1), rs.getInt(2));
+      }, fromId, toId);
+    return balances;
+  }
+
+  /**
+   * [fromId, toId] 범위 학생들의 장부 합계와 마지막 balance_after (거래가 없는 학생은 포함되지 않음)
+   * 범위를 한 번 GROUP BY 하면서 학생별 MAX(ph_id) 를 같이 구하고, 그 행만 PK 로 조인해서 balance_after 를 읽는다.
+   */
+  public Map<Long, LedgerTotals> findLedgerTotals(long fromId, long toId) {
+    Map<Long, LedgerTotals> totals = new HashMap<>();
+    jdbcTemplate.query("SELECT g.student_id, g.total, g.cnt, p.balance_after "
+        + "FROM (SELECT student_id, SUM(amount) AS total, COUNT(*) AS cnt, MAX(ph_id) AS last_id "
+        + "      FROM point_history WHERE student_id BETWEEN ? AND ? GROUP BY student_id) g "
+        + "JOIN point_history p ON p.ph_id = g.last_id",
+      rs -> {
+        totals.put(rs.getLong(1), new LedgerTotals(rs.getLong(2), rs.getLong(3), rs.getInt(4)));
+      }, fromId, toId);
+    return totals;
+  }
+
+  /**
+   * 학생 1명의 장부 집계 (잔액 재확인용)
+   */
+  public LedgerTotals findLedgerTotals(long studentId) {
+    LedgerTotals totals = findLedgerTotals(studentId, studentId).get(studentId);
+    return totals == null ? new LedgerTotals(0, 0, null) : totals;
+  }
+}
@@ -4,8 +4,13 @@ import com.spring.schoolmate.entity.ProductExchange;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+
 @Repository
 public interface ProductExchangeRepository extends JpaRepository<ProductExchange, Integer> {
 
@@ -17,4 +22,17 @@ public interface ProductExchangeRepository extends JpaRepository<ProductExchange
   // 🚨 Student ID의 타입 Long으로 변경
   Page<ProductExchange> findByStudent_StudentIdAndExchangeCardStatusOrderByExchangeDateDesc(
     Long studentId, String status, Pageable pageable);
-}
\ No newline at end of file
+
+  // 커서 페이지네이션 (exchange_date, product_exchange_id 내림차순, Pageable 은 LIMIT 용도로만 사용)
+  @Query("SELECT e FROM ProductExchange e WHERE e.student.studentId = :studentId "
+    + "ORDER BY e.exchangeDate DESC, e.productExchangeId DESC")
+  List<ProductExchange> findPageByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+  @Query("SELECT e FROM ProductExchange e WHERE e.student.studentId = :studentId "
+    + "AND (e.exchangeDate < :exchangeDate OR (e.exchangeDate = :exchangeDate AND e.productExchangeId < :exchangeId)) "
+    + "ORDER BY e.exchangeDate DESC, e.productExchangeId DESC")
+  List<ProductExchange> findPageByStudentIdAfter(@Param("studentId") Long studentId,
+                                                 @Param("exchangeDate") Date exchangeDate,
+                                                 @Param("exchangeId") Integer exchangeId,
+                                                 Pageable pageable);
+}
@@ -1,8 +1,15 @@
 package com.spring.schoolmate.repository;
 
 import com.spring.schoolmate.entity.Profile;
+import com.spring.schoolmate.neis.ClassKey;
+import com.spring.schoolmate.neis.SchoolKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
@@ -22,4 +29,35 @@ public interface ProfileRepository extends JpaRepository<Profile, Long> {
     // 휴대전화 번호로 학생 검색 :: Unique
     Optional<Profile> findByPhone(String phone);
 
+    /**
+     * 프로필에 등록된 학교 목록을 (교육청코드, 학교코드) 순으로 keyset 페이징하여 조회합니다.
+     * 첫 페이지는 afterScCode, afterSchoolCode에 빈 문자열을 넘깁니다. (NEIS prefetch용)
+     */
+    @Query("SELECT DISTINCT new com.spring.schoolmate.neis.SchoolKey(p.scCode, p.schoolCode) FROM Profile p " +
+        "WHERE p.scCode IS NOT NULL AND p.schoolCode IS NOT NULL " +
+        "AND (p.scCode > :afterScCode OR (p.scCode = :afterScCode AND p.schoolCode > :afterSchoolCode)) " +
+        "ORDER BY p.scCode, p.schoolCode")
+    List<SchoolKey> findSchoolKeysAfter(@Param("afterScCode") String afterScCode,
+                                        @Param("afterSchoolCode") String afterSchoolCode,
+                                        Pageable pageable);
+
+    /**
+     * 주어진 학교들에 실제로 존재하는 (학교급, 학년, 반, 학과) 조합을 조회합니다. (시간표 prefetch용)
+     */
+    @Query("SELECT DISTINCT new com.spring.schoolmate.neis.ClassKey(p.scCode, p.schoolCode, p.level, p.grade, p.classNo, p.majorName) " +
+        "FROM Profile p WHERE p.schoolCode IN :schoolCodes AND p.grade IS NOT NULL AND p.classNo IS NOT NULL AND p.level IS NOT NULL")
+    List<ClassKey> findClassKeysBySchoolCodes(@Param("schoolCodes") Collection<String> schoolCodes);
+
+    /**
+     * 학교(필수) / 학년 / 반 조건에 해당하는 학생 ID 목록을 조회합니다. (관리자 포인트 일괄 지급 대상 선정용)
+     * grade, classNo 가 null 이면 해당 조건은 적용하지 않습니다.
+     */
+    @Query("SELECT p.studentId FROM Profile p WHERE p.schoolCode = :schoolCode " +
+        "AND (:grade IS NULL OR p.grade = :grade) " +
+        "AND (:classNo IS NULL OR p.classNo = :classNo) " +
+        "ORDER BY p.studentId")
+    List<Long> findStudentIdsBySchoolClass(@Param("schoolCode") String schoolCode,
+                                           @Param("grade") Integer grade,
+                                           @Param("classNo") Integer classNo);
+
 }
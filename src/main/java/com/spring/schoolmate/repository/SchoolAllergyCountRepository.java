@@ -0,0 +1,34 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.SchoolAllergyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SchoolAllergyCountRepository extends JpaRepository<SchoolAllergyCount, Long> {
+
+    // 학교의 알레르기별 학생 수
+    List<SchoolAllergyCount> findByScCodeAndSchoolCode(String scCode, String schoolCode);
+
+    // 학생 수 증감 (행이 없으면 0 반환)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SchoolAllergyCount c SET c.studentCount = c.studentCount + :delta " +
+        "WHERE c.scCode = :scCode AND c.schoolCode = :schoolCode AND c.allergyNo = :allergyNo")
+    int addStudentCount(@Param("scCode") String scCode,
+                        @Param("schoolCode") String schoolCode,
+                        @Param("allergyNo") Integer allergyNo,
+                        @Param("delta") int delta);
+
+    /**
+     * 학생 알레르기 테이블 전체를 학교/알레르기 번호별로 집계합니다. (초기 적재용)
+     * @return [교육청코드, 학교코드, 알레르기 번호, 학생 수]
+     */
+    @Query("SELECT p.scCode, p.schoolCode, a.allergyNo, COUNT(DISTINCT s.studentId) " +
+        "FROM StudentAllergy sa JOIN sa.student s JOIN s.profile p JOIN sa.allergy a " +
+        "WHERE p.scCode IS NOT NULL AND p.schoolCode IS NOT NULL " +
+        "GROUP BY p.scCode, p.schoolCode, a.allergyNo")
+    List<Object[]> aggregateFromStudentAllergies();
+}
@@ -2,6 +2,7 @@ package com.spring.schoolmate.repository;
 
 import com.spring.schoolmate.entity.Role;
 import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.leaderboard.LeaderboardMember;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +43,71 @@ public interface StudentRepository  extends JpaRepository<Student, Long> {
     @Query("UPDATE Student s SET s.password = :newPassword, s.updatedAt = CURRENT_TIMESTAMP WHERE s.studentId = :studentId")
     void updatePassword(@Param("studentId") Long studentId, @Param("newPassword") String newPassword);
 
+    /**
+     * 포인트 잔액을 amount 만큼 원자적으로 변경합니다. (DB에서 더하므로 동시 적립/차감에도 유실 없음)
+     * 변경 후 잔액이 0 미만이 되면 변경하지 않습니다.
+     * @return 변경된 행 수 (0 이면 학생이 없거나 잔액 부족)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE student SET point_balance = point_balance + :amount "
+            + "WHERE student_id = :studentId AND point_balance + :amount >= 0", nativeQuery = true)
+    int addPointBalance(@Param("studentId") Long studentId, @Param("amount") int amount);
+
+    /**
+     * 현재 포인트 잔액을 DB에서 직접 조회합니다. (영속성 컨텍스트의 Student 값과 무관)
+     * addPointBalance 와 같은 트랜잭션에서 호출하면 해당 행의 잠금이 유지되므로 방금 변경한 잔액이 그대로 반환됩니다.
+     */
+    @Query(value = "SELECT point_balance FROM student WHERE student_id = :studentId", nativeQuery = true)
+    Integer findPointBalance(@Param("studentId") Long studentId);
+
+    /**
+     * 여러 학생의 잔액에 같은 양(지급, 양수)을 한 번의 UPDATE 로 더한다. (관리자 일괄 지급용)
+     * @return 변경된 행 수
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE student SET point_balance = point_balance + :amount WHERE student_id IN (:studentIds)",
+            nativeQuery = true)
+    int addPointBalanceAll(@Param("studentIds") Collection<Long> studentIds, @Param("amount") int amount);
+
+    /**
+     * 여러 학생 행을 student_id 순서로 잠그고 현재 잔액을 조회 [student_id, point_balance] (포인트 만료 스위퍼용)
+     * 단건 거래(addPointBalance)와 같은 학생 행 잠금을 먼저 잡으므로, 잠금 이후에는 해당 학생의 로트가 바뀌지 않습니다.
+     */
+    @Query(value = "SELECT student_id, point_balance FROM student WHERE student_id IN (:studentIds) "
+            + "ORDER BY student_id FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPointBalances(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * 주어진 만료 로트들의 잔여 포인트 합계만큼 학생별 잔액을 한 번의 UPDATE 로 차감 (0 미만으로는 내려가지 않음)
+     * lockPointBalances 로 잠근 뒤, 로트를 닫기 전에 호출해야 합니다.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE student s SET point_balance = GREATEST(s.point_balance - ("
+            + "SELECT COALESCE(SUM(p.remaining), 0) FROM point_history p "
+            + "WHERE p.student_id = s.student_id AND p.ph_id IN (:lotIds)), 0) "
+            + "WHERE s.student_id IN (:studentIds)", nativeQuery = true)
+    int debitExpiredLots(@Param("studentIds") Collection<Long> studentIds, @Param("lotIds") Collection<Long> lotIds);
+
+    // 포인트 순위표 적재용 (프로필이 있는 학생만)
+    @Query("SELECT new com.spring.schoolmate.leaderboard.LeaderboardMember(s.studentId, s.pointBalance, p.schoolCode, p.schoolName, p.nickname) "
+            + "FROM Student s JOIN s.profile p")
+    List<LeaderboardMember> findLeaderboardMembers();
+
+    @Query("SELECT new com.spring.schoolmate.leaderboard.LeaderboardMember(s.studentId, s.pointBalance, p.schoolCode, p.schoolName, p.nickname) "
+            + "FROM Student s JOIN s.profile p WHERE s.studentId IN :studentIds")
+    List<LeaderboardMember> findLeaderboardMembersByIds(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * 잔액을 지정한 값으로 설정 (포인트 장부 정합성 보정 전용 - 일반 거래는 addPointBalance 사용)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE student SET point_balance = :balance WHERE student_id = :studentId", nativeQuery = true)
+    int setPointBalance(@Param("studentId") Long studentId, @Param("balance") int balance);
+
+    // 여러 학생의 현재 잔액 조회 [student_id, point_balance]
+    @Query(value = "SELECT student_id, point_balance FROM student WHERE student_id IN (:studentIds)", nativeQuery = true)
+    List<Object[]> findPointBalances(@Param("studentIds") Collection<Long> studentIds);
+
     // 기본 findAll() 메서드를 오버라이드하여 Pageable과 JOIN FETCH 적용
     @Query("SELECT s FROM Student s JOIN FETCH s.profile")
     Page<Student> findAll(Pageable pageable);
@@ -60,4 +127,20 @@ public interface StudentRepository  extends JpaRepository<Student, Long> {
     // schoolName 필드가 Profile 엔티티에 있다고 가정하고 수정
     @Query("SELECT s FROM Student s JOIN FETCH s.profile p WHERE p.schoolName LIKE %:schoolName%")
     Page<Student> findBySchoolNameWithProfile(@Param("schoolName") String schoolName, Pageable pageable);
+
+    // -------------------------------------------------------------------------
+    // 커서 페이지네이션 (student_id 오름차순, afterId 이후부터 - 첫 페이지는 0)
+    // Pageable 은 LIMIT 용도로만 사용하므로 COUNT 쿼리가 나가지 않음
+    // -------------------------------------------------------------------------
+    @Query("SELECT s FROM Student s JOIN FETCH s.profile WHERE s.studentId > :afterId ORDER BY s.studentId")
+    List<Student> findPageWithProfile(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT s FROM Student s JOIN FETCH s.profile WHERE s.studentId > :afterId AND s.name LIKE %:name% ORDER BY s.studentId")
+    List<Student> findPageByNameWithProfile(@Param("afterId") Long afterId, @Param("name") String name, Pageable pageable);
+
+    @Query("SELECT s FROM Student s JOIN FETCH s.profile p WHERE s.studentId > :afterId AND p.phone LIKE %:phone% ORDER BY s.studentId")
+    List<Student> findPageByPhoneWithProfile(@Param("afterId") Long afterId, @Param("phone") String phone, Pageable pageable);
+
+    @Query("SELECT s FROM Student s JOIN FETCH s.profile p WHERE s.studentId > :afterId AND p.schoolName LIKE %:schoolName% ORDER BY s.studentId")
+    List<Student> findPageBySchoolNameWithProfile(@Param("afterId") Long afterId, @Param("schoolName") String schoolName, Pageable pageable);
 }
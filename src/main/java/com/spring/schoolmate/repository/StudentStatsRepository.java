@@ -0,0 +1,44 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.dto.pointhistory.PointSummaryRes;
+import com.spring.schoolmate.entity.StudentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface StudentStatsRepository extends JpaRepository<StudentStats, Long> {
+
+    // 집계 증감 (행이 없으면 0 반환)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE StudentStats s SET s.mealPhotoCount = s.mealPhotoCount + :mealPhotos, " +
+        "s.usedPoints = s.usedPoints + :usedPoints, s.attendanceCount = s.attendanceCount + :attendances " +
+        "WHERE s.studentId = :studentId")
+    int addCounts(@Param("studentId") Long studentId,
+                  @Param("mealPhotos") int mealPhotos,
+                  @Param("usedPoints") int usedPoints,
+                  @Param("attendances") int attendances);
+
+    /**
+     * 이메일로 잔액과 집계를 한 번에 조회합니다. (student.email 유니크 인덱스 + student_stats PK 조인)
+     * 집계 행이 아직 없는 학생은 0 으로 채웁니다.
+     */
+    @Query("SELECT new com.spring.schoolmate.dto.pointhistory.PointSummaryRes(s.studentId, s.pointBalance, " +
+        "COALESCE(st.mealPhotoCount, 0), COALESCE(st.usedPoints, 0), COALESCE(st.attendanceCount, 0)) " +
+        "FROM Student s LEFT JOIN StudentStats st ON st.studentId = s.studentId WHERE s.email = :email")
+    Optional<PointSummaryRes> findSummaryByEmail(@Param("email") String email);
+
+    /**
+     * 포인트 내역 전체를 학생별로 집계합니다. (초기 적재용)
+     * @return [학생 ID, 급식 사진 업로드 횟수, 사용 포인트 합계, 출석 횟수]
+     */
+    @Query("SELECT p.student.studentId, " +
+        "SUM(CASE WHEN p.tsType = 'EARN' AND p.refType = '급식 사진 업로드' THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN p.amount < 0 AND p.tsType <> 'EXPIRE' THEN -p.amount ELSE 0 END), " +
+        "SUM(CASE WHEN p.refType = '출석 체크' THEN 1 ELSE 0 END) " +
+        "FROM PointHistory p GROUP BY p.student.studentId")
+    List<Object[]> aggregateFromPointHistory();
+}
@@ -0,0 +1,59 @@
+package com.spring.schoolmate.repository;
+
+import com.spring.schoolmate.entity.EatphotoVisionScore;
+import com.spring.schoolmate.entity.VisionLabel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 급식 사진 분석 결과(Vision 라벨, 라벨 점수) 배치 INSERT 전용 저장소.
+ * 사진 한 장의 라벨 10~20개를 JPA save() 로 하나씩 쓰면 IDENTITY 키 때문에 행마다 INSERT 가 나가므로,
+ * JdbcTemplate 배치로 한 번에 보낸다. (현재 JPA 트랜잭션의 커넥션을 그대로 사용)
+ */
+@Repository
+@RequiredArgsConstructor
+public class VisionBatchRepository {
+
+  // label_name 유니크 인덱스 기준으로 없는 라벨만 추가 (MySQL / H2 공통 문법)
+  private static final String INSERT_LABEL_SQL =
+    "INSERT INTO vision_labels (label_name, language_code, source_name) "
+      + "SELECT ?, ?, ? FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM vision_labels WHERE label_name = ?)";
+
+  private static final String INSERT_SCORE_SQL =
+    "INSERT INTO eatphoto_vision_scores (eatphoto_id, label_id, score) VALUES (?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * 아직 없는 라벨만 배치 INSERT 한다. (labelId 는 채워지지 않으므로 저장 후 다시 조회해서 사용)
+   * 다른 요청이 같은 라벨을 먼저 넣은 경우 유니크 제약 위반(DuplicateKeyException)이 날 수 있다.
+   */
+  public void insertLabelsIfAbsent(List<VisionLabel> labels) {
+    if (labels.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_LABEL_SQL, labels, labels.size(), (ps, label) -> {
+      ps.setString(1, label.getLabelName());
+      ps.setString(2, label.getLanguageCode());
+      ps.setString(3, label.getSourceName());
+      ps.setString(4, label.getLabelName());
+    });
+  }
+
+  /**
+   * 라벨 점수를 배치 INSERT 한다. (eatphoto, visionLabel 은 ID 만 사용)
+   */
+  public void insertScores(List<EatphotoVisionScore> scores) {
+    if (scores.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(INSERT_SCORE_SQL, scores, scores.size(), (ps, score) -> {
+      ps.setInt(1, score.getEatphoto().getEatphotoId());
+      ps.setInt(2, score.getVisionLabel().getLabelId());
+      ps.setFloat(3, score.getScore());
+    });
+  }
+}
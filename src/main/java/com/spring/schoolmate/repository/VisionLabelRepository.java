@@ -3,6 +3,8 @@ package com.spring.schoolmate.repository;
 import com.spring.schoolmate.entity.VisionLabel;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +18,19 @@ public interface VisionLabelRepository extends JpaRepository<VisionLabel, Intege
    * @return VisionLabel 엔티티를 담고 있는 Optional 객체
    */
   Optional<VisionLabel> findByLabelName(String labelName);
+
+  /**
+   * 여러 라벨명을 한 번에 조회 (사진 한 장의 라벨을 쿼리 하나로 찾기 위함)
+   * @param labelNames 라벨명 목록
+   * @return 존재하는 VisionLabel 목록
+   */
+  List<VisionLabel> findByLabelNameIn(Collection<String> labelNames);
+
+  /**
+   * Vision 원문 라벨명들로 저장된 번역 라벨을 한 번에 조회 (TranslationService 의 DB 단계)
+   * @param sourceNames Vision이 반환한 원문 라벨명 목록 (예: ["Rice", "Kimchi"])
+   * @param languageCode 번역 언어 코드 (예: "ko")
+   * @return 해당하는 VisionLabel 목록 (같은 원문이 여러 행이면 모두 포함)
+   */
+  List<VisionLabel> findBySourceNameInAndLanguageCode(Collection<String> sourceNames, String languageCode);
 }
\ No newline at end of file
@@ -2,12 +2,15 @@ package com.spring.schoolmate.service;
 
 import org.springframework.data.domain.Page;
 import com.spring.schoolmate.dto.admin.AdminProfileUpdateReq;
+import com.spring.schoolmate.dto.common.CursorCodec;
+import com.spring.schoolmate.dto.common.CursorPage;
 import com.spring.schoolmate.dto.profile.ProfileRes;
 import com.spring.schoolmate.entity.Profile;
 import com.spring.schoolmate.entity.Student;
 import com.spring.schoolmate.repository.ProfileRepository;
 import com.spring.schoolmate.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -65,8 +68,8 @@ public class AdminProfileService {
     Student student = studentRepository.findById(studentId)
       .orElseThrow(() -> new NoSuchElementException("학생 정보를 찾을 수 없습니다."));
 
-    // Student.pointBalance 필드에서 현재 잔액 조회
-    int currentBalance = student.getPointBalance();
+    // 현재 잔액은 DB에서 직접 조회 (영속성 컨텍스트의 값은 다른 요청의 적립/차감이 반영되지 않았을 수 있음)
+    int currentBalance = studentRepository.findPointBalance(student.getStudentId());
     int amountDifference = targetBalance - currentBalance; // 변동량 계산
 
     // 변동량이 0이 아니면 거래 기록
@@ -130,6 +133,37 @@ public class AdminProfileService {
     return studentPage.map(this::convertToProfileRes);
   }
 
+  /**
+   * 커서 기반 학생 목록 조회 (studentId 오름차순 keyset, 검색 조건은 getStudentProfiles 와 동일)
+   * 깊은 페이지도 OFFSET 없이 "studentId > 커서" 로 바로 찾아가며 COUNT 쿼리를 내지 않는다.
+   */
+  @Transactional(readOnly = true)
+  public CursorPage<ProfileRes> getStudentProfilesPage(
+    String cursor,
+    Integer size,
+    String name,
+    String phone,
+    String school
+  ) {
+    int pageSize = CursorPage.clampSize(size);
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+    long afterId = (cursor == null || cursor.isBlank()) ? 0L : CursorCodec.decodeId(cursor);
+
+    List<Student> students;
+    if (name != null && !name.isEmpty()) {
+      students = studentRepository.findPageByNameWithProfile(afterId, name, limit);
+    } else if (phone != null && !phone.isEmpty()) {
+      students = studentRepository.findPageByPhoneWithProfile(afterId, phone, limit);
+    } else if (school != null && !school.isEmpty()) {
+      students = studentRepository.findPageBySchoolNameWithProfile(afterId, school, limit);
+    } else {
+      students = studentRepository.findPageWithProfile(afterId, limit);
+    }
+
+    return CursorPage.of(students, pageSize, last -> CursorCodec.encode(last.getStudentId()))
+      .map(this::convertToProfileRes);
+  }
+
   /**
    * 학생 엔티티(Student)를 응답 DTO(ProfileRes)로 변환하는 헬퍼 메서드
    */
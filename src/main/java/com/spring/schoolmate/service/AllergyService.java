@@ -3,8 +3,11 @@ package com.spring.schoolmate.service;
 import com.spring.schoolmate.entity.Allergy;
 import com.spring.schoolmate.entity.Student;
 import com.spring.schoolmate.entity.StudentAllergy;
+import com.spring.schoolmate.neis.AllergyMask;
 import com.spring.schoolmate.repository.AllergyRepository;
+import com.spring.schoolmate.repository.ProfileRepository;
 import com.spring.schoolmate.repository.StudentAllergyRepository;
+import com.spring.schoolmate.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +23,9 @@ public class AllergyService {
 
     private final AllergyRepository allergyRepository;
     private final StudentAllergyRepository studentAllergyRepository;
+    private final StudentRepository studentRepository;
+    private final ProfileRepository profileRepository;
+    private final SchoolAllergyStatsService schoolAllergyStatsService;
 
     /**
      * 학생의 알레르기 정보를 등록
@@ -29,7 +35,9 @@ public class AllergyService {
      */
     @Transactional
     public List<Allergy> registerStudentAllergies(Student student, List<Integer> allergyIds) {
+        long oldMask = student.getAllergyMask() == null ? 0L : student.getAllergyMask();
         if (allergyIds == null || allergyIds.isEmpty()) {
+            changeAllergyMask(student, oldMask, 0L);
             return Collections.emptyList();
         }
 
@@ -38,6 +46,9 @@ public class AllergyService {
                 .map(allergy -> new StudentAllergy(student, allergy))
                 .collect(Collectors.toList());
         studentAllergyRepository.saveAll(studentAllergies);
+
+        // 급식 알레르기 판별용 비트마스크 및 학교별 알레르기 집계 갱신
+        changeAllergyMask(student, oldMask, AllergyMask.of(allergies.stream().map(Allergy::getAllergyNo).toList()));
         return allergies;
     }
 
@@ -48,6 +59,9 @@ public class AllergyService {
      */
     @Transactional
     public void updateStudentAllergies(Student student, List<Integer> allergyIds) {
+        // 0. 집계 증감 계산을 위해 기존 비트마스크를 확정 (삭제 전에 계산해야 함)
+        loadAllergyMask(student);
+
         // 1. 기존 학생의 알레르기 정보를 모두 삭제
         studentAllergyRepository.deleteAllByStudent(student);
         studentAllergyRepository.flush(); // DB에 즉시 반영
@@ -55,4 +69,33 @@ public class AllergyService {
         // 2. 새로운 알레르기 정보를 등록 (기존 등록 메소드 재사용)
         registerStudentAllergies(student, allergyIds);
     }
+
+    /**
+     * 학생의 알레르기 비트마스크를 조회합니다.
+     * 아직 계산되지 않은 기존 학생은 보유 알레르기로 계산하여 저장합니다.
+     * @param studentId 학생 ID
+     * @return 알레르기 비트마스크 (AllergyMask)
+     */
+    @Transactional
+    public long getAllergyMask(Long studentId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("학생 정보를 찾을 수 없습니다."));
+        return loadAllergyMask(student);
+    }
+
+    private long loadAllergyMask(Student student) {
+        if (student.getAllergyMask() == null) {
+            List<Allergy> allergies = studentAllergyRepository.findAllergiesByStudent(student);
+            student.setAllergyMask(AllergyMask.of(allergies.stream().map(Allergy::getAllergyNo).toList()));
+        }
+        return student.getAllergyMask();
+    }
+
+    // 비트마스크를 저장하고, 학생의 학교 알레르기 집계에 변경분을 반영
+    private void changeAllergyMask(Student student, long oldMask, long newMask) {
+        student.setAllergyMask(newMask);
+        profileRepository.findById(student.getStudentId())
+                .ifPresent(profile -> schoolAllergyStatsService.applyChange(
+                        profile.getScCode(), profile.getSchoolCode(), oldMask, newMask));
+    }
 }
@@ -0,0 +1,181 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.entity.Attendance;
+import com.spring.schoolmate.entity.AttendanceYear;
+import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.AttendanceRepository;
+import com.spring.schoolmate.repository.AttendanceYearRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 출석 체크 및 출석 기록 조회.
+ *
+ * - 출석 체크 : attendance 테이블의 (학생, 출석일) 유니크 제약으로 중복을 거절하고, 통과하면 포인트를 지급
+ * - 조회      : 학생별 연간 비트맵(AttendanceYear)으로 누적 출석 일수(popcount)와 월별 출석일(비트 순회)을 계산
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class AttendanceService {
+
+  private static final int ATTENDANCE_POINT = 500;
+  private static final String REF_TYPE = "출석 체크"; // PointHistory 엔티티의 refType 값
+  private static final String TS_TYPE = "ATTENDANCE"; // 트랜잭션 타입
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  private final AttendanceRepository attendanceRepository;
+  private final AttendanceYearRepository attendanceYearRepository;
+  private final StudentRepository studentRepository;
+  private final StudentService studentService;
+  private final PointHistoryService pointHistoryService;
+  private final IdempotencyService idempotencyService;
+
+  /**
+   * 학생의 오늘 출석을 기록하고 출석 포인트를 지급합니다. (AttendController에서 호출됨)
+   *
+   * @param studentId 포인트를 지급받을 학생의 ID
+   * @return 저장된 PointHistory 객체
+   * @throws IllegalStateException 오늘 이미 출석한 경우
+   */
+  @Transactional
+  public PointHistory checkIn(Long studentId) {
+    // 1. 학생 엔티티 조회
+    Student student = studentRepository.findById(studentId)
+      .orElseThrow(() -> new NoSuchElementException("ID " + studentId + "에 해당하는 학생을 찾을 수 없습니다."));
+
+    // 2. 출석 기록 INSERT (같은 날 두 번째 요청은 유니크 제약 위반으로 거절)
+    LocalDate today = LocalDate.now();
+    try {
+      attendanceRepository.saveAndFlush(Attendance.builder()
+        .studentId(studentId)
+        .attendDate(today)
+        .build());
+    } catch (DataIntegrityViolationException e) {
+      throw new IllegalStateException("이미 오늘 출석 체크를 완료했습니다.");
+    }
+
+    // 3. 연간 출석 비트맵 갱신
+    markDays(studentId, today.getYear(), List.of(today));
+
+    // 4. 포인트 지급 및 거래 내역 기록
+    PointHistory history = PointHistory.builder()
+      .student(student)
+      .amount(ATTENDANCE_POINT)
+      .refType(REF_TYPE)
+      .tsType(TS_TYPE)
+      .createdAt(new Timestamp(System.currentTimeMillis()))
+      .build();
+    PointHistory saved = pointHistoryService.recordTransaction(history);
+
+    // 5. Idempotency-Key 예약을 같은 트랜잭션에서 반영 표시 (키 없이 온 요청이면 무시)
+    idempotencyService.markApplied();
+    return saved;
+  }
+
+  /**
+   * 로그인된 학생의 전체 누적 출석 일수를 조회합니다. (연도별 비트맵의 set bit 수 합계)
+   * @param email 학생 이메일
+   * @return 누적 출석 일수
+   */
+  public Integer getAttendanceCountByStudentEmail(String email) {
+    Long studentId = studentService.getStudentIdByEmail(email);
+    return attendanceYearRepository.findByStudentId(studentId).stream()
+      .mapToInt(year -> BitSet.valueOf(year.getDays()).cardinality())
+      .sum();
+  }
+
+  /**
+   * 로그인된 학생의 특정 연/월에 출석한 날짜 리스트를 조회합니다.
+   * @param email 학생 이메일
+   * @param year 조회할 연도
+   * @param month 조회할 월
+   * @return 해당 월에 출석한 날짜 문자열 리스트 (예: ["2025-10-01", "2025-10-02", ...])
+   */
+  public List<String> getAttendanceDatesByStudentEmailAndMonth(String email, int year, int month) {
+    Long studentId = studentService.getStudentIdByEmail(email);
+    YearMonth yearMonth = YearMonth.of(year, month);
+
+    return attendanceYearRepository.findByStudentIdAndYear(studentId, year)
+      .map(row -> {
+        BitSet days = BitSet.valueOf(row.getDays());
+        // 해당 월의 비트 범위 [from, to)
+        int from = yearMonth.atDay(1).getDayOfYear() - 1;
+        int to = yearMonth.atEndOfMonth().getDayOfYear();
+
+        List<String> dates = new ArrayList<>();
+        for (int bit = days.nextSetBit(from); bit >= 0 && bit < to; bit = days.nextSetBit(bit + 1)) {
+          dates.add(LocalDate.ofYearDay(year, bit + 1).format(DATE_FORMAT));
+        }
+        return dates;
+      })
+      .orElseGet(List::of);
+  }
+
+  /**
+   * attendance 테이블이 비어 있으면 (최초 배포 시) 기존 포인트 내역의 '출석 체크' 기록으로 한 번 채워 둡니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void backfillIfEmpty() {
+    if (attendanceRepository.count() > 0) {
+      return;
+    }
+    // 학생별 출석일 (하루에 여러 건이 있었다면 하나로)
+    Map<Long, Set<LocalDate>> daysByStudent = new HashMap<>();
+    for (Object[] row : attendanceRepository.findLegacyAttendances()) {
+      Long studentId = (Long) row[0];
+      LocalDate date = ((Timestamp) row[1]).toLocalDateTime().toLocalDate();
+      daysByStudent.computeIfAbsent(studentId, id -> new TreeSet<>()).add(date);
+    }
+    if (daysByStudent.isEmpty()) {
+      return;
+    }
+
+    List<Attendance> attendances = new ArrayList<>();
+    daysByStudent.forEach((studentId, dates) -> {
+      dates.forEach(date -> attendances.add(Attendance.builder().studentId(studentId).attendDate(date).build()));
+      Map<Integer, List<LocalDate>> byYear = new HashMap<>();
+      dates.forEach(date -> byYear.computeIfAbsent(date.getYear(), y -> new ArrayList<>()).add(date));
+      byYear.forEach((year, yearDates) -> markDays(studentId, year, yearDates));
+    });
+    attendanceRepository.saveAll(attendances);
+    log.info("[출석] 포인트 내역으로부터 출석 기록 {}건 적재 (학생 {}명)", attendances.size(), daysByStudent.size());
+  }
+
+  // 한 해의 출석일들을 비트맵에 표시 (행이 없으면 생성)
+  private void markDays(Long studentId, int year, List<LocalDate> dates) {
+    AttendanceYear row = attendanceYearRepository.findByStudentIdAndYear(studentId, year)
+      .orElseGet(() -> AttendanceYear.builder()
+        .studentId(studentId)
+        .year(year)
+        .days(new byte[0])
+        .build());
+
+    BitSet days = BitSet.valueOf(row.getDays());
+    dates.forEach(date -> days.set(date.getDayOfYear() - 1));
+    row.setDays(days.toByteArray());
+    attendanceYearRepository.save(row);
+  }
+}
@@ -5,144 +5,235 @@ import com.google.protobuf.ByteString;
 import com.spring.schoolmate.dto.eatphoto.EatPhotoRes;
 import com.spring.schoolmate.entity.EatPhoto;
 import com.spring.schoolmate.entity.EatphotoVisionScore;
-import com.spring.schoolmate.entity.Student;
 import com.spring.schoolmate.entity.VisionLabel;
 import com.spring.schoolmate.exception.DMLException;
 import com.spring.schoolmate.repository.EatPhotoRepository;
-import com.spring.schoolmate.repository.EatphotoVisionScoreRepository;
 import com.spring.schoolmate.repository.StudentRepository;
+import com.spring.schoolmate.repository.VisionBatchRepository;
 import com.spring.schoolmate.repository.VisionLabelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Slf4j
 public class EatPhotoService {
 
+  private static final int POINT_AMOUNT = 2000;
+
   private final EatPhotoRepository eatPhotoRepository;
-  private final EatphotoVisionScoreRepository eatphotoVisionScoreRepository;
   private final VisionLabelRepository visionLabelRepository;
   private final StudentRepository studentRepository;
   private final TranslationService translationService;
   private final FirebaseStorageService firebaseStorageService;
   private final PointHistoryService pointHistoryService; // 포인트 지급 서비스
   private final ImageAnnotatorClient visionClient;
+  private final TransactionTemplate transactionTemplate;
+  private final VisionBatchRepository visionBatchRepository;
+  private final IdempotencyService idempotencyService;
 
   public EatPhotoService(
     EatPhotoRepository eatPhotoRepository,
-    EatphotoVisionScoreRepository eatphotoVisionScoreRepository,
     VisionLabelRepository visionLabelRepository,
     StudentRepository studentRepository,
     TranslationService translationService,
     FirebaseStorageService firebaseStorageService,
     PointHistoryService pointHistoryService,
-    ImageAnnotatorClient visionClient) { // 생성자 매개변수와 본문 수정
+    ImageAnnotatorClient visionClient,
+    TransactionTemplate transactionTemplate,
+    VisionBatchRepository visionBatchRepository,
+    IdempotencyService idempotencyService) { // 생성자 매개변수와 본문 수정
     this.eatPhotoRepository = eatPhotoRepository;
-    this.eatphotoVisionScoreRepository = eatphotoVisionScoreRepository;
     this.visionLabelRepository = visionLabelRepository;
     this.studentRepository = studentRepository;
     this.translationService = translationService;
     this.firebaseStorageService = firebaseStorageService;
     this.pointHistoryService = pointHistoryService;
     this.visionClient = visionClient; // 클라이언트 저장
+    this.transactionTemplate = transactionTemplate;
+    this.visionBatchRepository = visionBatchRepository;
+    this.idempotencyService = idempotencyService;
   }
 
   // 업로드된 사진을 분석하고 결과를 저장
   public String uploadAndAnalyzePhoto(MultipartFile file, Long studentId) throws Exception {
+    return uploadAndAnalyzePhoto(file.getBytes(), file.getOriginalFilename(), studentId);
+  }
+
+  // 미리 읽어 둔 사진 내용으로 분석/업로드/저장 (Idempotency-Key 예약 없음)
+  public String uploadAndAnalyzePhoto(byte[] photoData, String originalFilename, Long studentId) throws Exception {
+    return uploadAndAnalyzePhoto(photoData, originalFilename, studentId, null);
+  }
+
+  /**
+   * 미리 읽어 둔 사진 내용으로 분석/업로드/저장 (PhotoAnalysisJobService 작업 스레드에서 호출)
+   *
+   * 원격 호출(Vision, 번역, Firebase)은 트랜잭션 밖에서 먼저 끝내고, DB 저장(사진, 라벨 점수, 포인트)만
+   * 짧은 트랜잭션 하나로 처리합니다. 저장이 실패하면 이미 올린 Firebase 파일을 지웁니다.
+   * 업로드 요청의 Idempotency-Key 예약(reservationId)도 이 트랜잭션 안에서 반영 표시하므로,
+   * 예약이 이미 정리된 경우에는 저장 전체가 롤백되어 포인트가 두 번 지급되지 않습니다.
+   */
+  public String uploadAndAnalyzePhoto(byte[] photoData, String originalFilename, Long studentId,
+                                      Long reservationId) throws Exception {
+
+    // 1. 학생 확인 (원격 호출 전에 실패시키기 위함)
+    if (!studentRepository.existsById(studentId)) {
+      throw new DMLException("학생의 고유 아이디를 찾지 못했습니다.: " + studentId);
+    }
 
-    // 1. 학생 ID로 학생 엔티티를 찾습니다.
-    Student student = studentRepository.findById(studentId)
-      .orElseThrow(() -> new DMLException("학생의 고유 아이디를 찾지 못했습니다.: " + studentId));
+    // 2. Google Cloud Vision AI API로 이미지 분석 후 라벨 번역 (DB 커넥션 없이)
+    List<LabelScore> labels;
+    boolean isSchoolLunch;
+    try {
+      List<EntityAnnotation> annotations = annotate(photoData);
+      isSchoolLunch = annotations.stream().anyMatch(EatPhotoService::isFoodLabel);
+      // 라벨 번역은 사진 한 장당 Translation API 요청 한 번 (사전/캐시에 있는 라벨은 제외)
+      List<String> translated = translationService.translateAll(
+        annotations.stream().map(EntityAnnotation::getDescription).toList(), "ko");
+      labels = new ArrayList<>(annotations.size());
+      for (int i = 0; i < annotations.size(); i++) {
+        EntityAnnotation label = annotations.get(i);
+        labels.add(new LabelScore(label.getDescription(), translated.get(i), label.getScore()));
+      }
+    } catch (Exception e) {
+      // Vision AI 관련 오류 발생 시 처리
+      throw new Exception("Vision AI 분석 중 오류가 발생했습니다: " + e.getMessage());
+    }
 
-    String imageUrl = null;
+    // 3. Firebase Storage에 파일 업로드 및 URL 획득
+    String imageUrl;
     try {
-      // 2. Firebase Storage에 파일 업로드 및 URL 획득 (NULL 오류 해결)
-      imageUrl = firebaseStorageService.uploadFile(file);
+      imageUrl = firebaseStorageService.uploadBytes(photoData, originalFilename, "eatphotos");
     } catch (IOException e) {
       throw new DMLException("이미지 업로드에 실패했습니다. (Storage Error): " + e.getMessage());
     }
 
-    // 3. 새로운 급식 사진(EatPhoto) 엔티티를 생성하고 데이터베이스에 저장
+    // 4. 사진/분석 결과 저장 및 포인트 지급 (하나의 짧은 트랜잭션, 실패 시 업로드한 파일 삭제)
+    try {
+      return transactionTemplate.execute(status -> saveAnalysis(studentId, imageUrl, labels, isSchoolLunch, reservationId));
+    } catch (RuntimeException e) {
+      log.warn("[급식 사진] 분석 결과 저장 실패로 업로드한 파일을 삭제합니다. studentId={}, {}", studentId, e.getMessage());
+      firebaseStorageService.deleteFile(imageUrl);
+      throw new Exception("Vision AI 분석 중 오류가 발생했습니다: " + e.getMessage());
+    }
+  }
+
+  private List<EntityAnnotation> annotate(byte[] photoData) {
+    ByteString imgBytes = ByteString.copyFrom(photoData);
+    Image image = Image.newBuilder().setContent(imgBytes).build();
+    Feature feature = Feature.newBuilder().setType(Feature.Type.LABEL_DETECTION).build();
+    AnnotateImageRequest request = AnnotateImageRequest.newBuilder()
+      .addFeatures(feature)
+      .setImage(image)
+      .build();
+
+    BatchAnnotateImagesResponse response = visionClient.batchAnnotateImages(Collections.singletonList(request));
+    return response.getResponses(0).getLabelAnnotationsList();
+  }
+
+  private static boolean isFoodLabel(EntityAnnotation label) {
+    String englishLabelName = label.getDescription();
+    return (englishLabelName.equalsIgnoreCase("Food") || englishLabelName.equalsIgnoreCase("Meal") || englishLabelName.equalsIgnoreCase("Cuisine"))
+      && label.getScore() > 0.80f;
+  }
+
+  // transactionTemplate 안에서 실행
+  private String saveAnalysis(Long studentId, String imageUrl, List<LabelScore> labels, boolean isSchoolLunch,
+                              Long reservationId) {
     EatPhoto eatPhoto = new EatPhoto();
-    eatPhoto.setStudent(student);
+    eatPhoto.setStudent(studentRepository.getReferenceById(studentId));
     eatPhoto.setEatimageUrl(imageUrl);
     eatPhoto.setEatuploadedAt(LocalDateTime.now());
-    final EatPhoto savedEatPhoto = eatPhotoRepository.save(eatPhoto);
+    EatPhoto savedEatPhoto = eatPhotoRepository.save(eatPhoto);
+
+    // 라벨은 한 번에 찾고 없는 것만 배치로 추가, 점수는 배치 INSERT
+    Map<String, VisionLabel> visionLabels = resolveLabels(labels);
+    List<EatphotoVisionScore> scores = new ArrayList<>(labels.size());
+    for (LabelScore label : labels) {
+      scores.add(EatphotoVisionScore.builder()
+        .eatphoto(savedEatPhoto)
+        .visionLabel(visionLabels.get(label.labelName()))
+        .score(label.score())
+        .build());
+    }
+    visionBatchRepository.insertScores(scores);
 
-    // 4. Google Cloud Vision AI API를 호출하여 이미지 분석을 수행
-    byte[] photoData = file.getBytes();
+    // 업로드 요청의 Idempotency-Key 예약을 같은 트랜잭션에서 반영 표시
+    idempotencyService.markApplied(reservationId);
 
-    try {
-      ByteString imgBytes = ByteString.copyFrom(photoData);
-      Image image = Image.newBuilder().setContent(imgBytes).build();
-      Feature feature = Feature.newBuilder().setType(Feature.Type.LABEL_DETECTION).build();
-      AnnotateImageRequest request = AnnotateImageRequest.newBuilder()
-        .addFeatures(feature)
-        .setImage(image)
-        .build();
-
-      BatchAnnotateImagesResponse response = visionClient.batchAnnotateImages(Collections.singletonList(request));
-      AnnotateImageResponse annotateImageResponse = response.getResponses(0);
-
-
-      // 5. 분석 결과를 처리하고 데이터베이스에 저장
-      boolean isSchoolLunch = false;
-      int recognizedFoodCount = 0;
-
-      for (EntityAnnotation label : annotateImageResponse.getLabelAnnotationsList()) {
-        String englishLabelName = label.getDescription();
-        Float score = label.getScore();
-
-        if ((englishLabelName.equalsIgnoreCase("Food") || englishLabelName.equalsIgnoreCase("Meal") || englishLabelName.equalsIgnoreCase("Cuisine")) && score > 0.80f) {
-          isSchoolLunch = true;
-          recognizedFoodCount++;
-        }
-
-        String koreanLabelName = translationService.translate(englishLabelName, "ko");
-
-        Optional<VisionLabel> existingLabel = visionLabelRepository.findByLabelName(koreanLabelName);
-        VisionLabel visionLabel = existingLabel.orElseGet(() -> {
-          return visionLabelRepository.save(
-            VisionLabel.builder()
-              .labelName(koreanLabelName)
-              .languageCode("ko")
-              .build()
-          );
-        });
-
-        EatphotoVisionScore visionScore = EatphotoVisionScore.builder()
-          .eatphoto(savedEatPhoto)
-          .visionLabel(visionLabel)
-          .score(score)
-          .build();
-        eatphotoVisionScoreRepository.save(visionScore);
-      }
+    // 최종 급식 사진 여부에 따라 포인트 지급 및 결과 반환
+    if (isSchoolLunch) {
+      pointHistoryService.addPointTransaction(studentId, POINT_AMOUNT, "급식 사진 업로드");
+      return "급식 사진이 확인되어 " + POINT_AMOUNT + "포인트가 지급되었습니다.";
+    }
+    return "급식 사진이 아닙니다. 다시 시도해 주세요.";
+  }
 
-      // 6. 최종 급식 사진 여부에 따라 포인트 지급 및 결과 반환
-      if (isSchoolLunch && recognizedFoodCount > 0) {
-        final int POINT_AMOUNT = 2000;
+  // 라벨명 -> VisionLabel (transactionTemplate 안에서 실행)
+  // 조회 1회 + 없는 라벨 배치 INSERT 1회 + 추가한 라벨 재조회 1회
+  private Map<String, VisionLabel> resolveLabels(List<LabelScore> labels) {
+    // 번역 결과가 같은 라벨은 하나로 (원문은 처음 것을 사용)
+    Map<String, String> sourceByName = new LinkedHashMap<>();
+    labels.forEach(label -> sourceByName.putIfAbsent(label.labelName(), label.sourceName()));
+
+    Map<String, VisionLabel> resolved = new HashMap<>();
+    for (VisionLabel visionLabel : visionLabelRepository.findByLabelNameIn(sourceByName.keySet())) {
+      // 원문이 없던 기존 라벨은 이번 원문으로 채워 다음 번역부터 DB에서 찾을 수 있게 함
+      if (visionLabel.getSourceName() == null) {
+        visionLabel.setSourceName(sourceByName.get(visionLabel.getLabelName()));
+      }
+      resolved.put(visionLabel.getLabelName(), visionLabel);
+    }
 
-        // PointHistoryService.addPointTransaction 호출
-        pointHistoryService.addPointTransaction(studentId, POINT_AMOUNT, "급식 사진 업로드");
-        return "급식 사진이 확인되어 " + POINT_AMOUNT + "포인트가 지급되었습니다.";
-      } else {
-        return "급식 사진이 아닙니다. 다시 시도해 주세요.";
+    List<VisionLabel> missing = new ArrayList<>();
+    sourceByName.forEach((labelName, sourceName) -> {
+      if (!resolved.containsKey(labelName)) {
+        missing.add(VisionLabel.builder()
+          .labelName(labelName)
+          .languageCode("ko")
+          .sourceName(sourceName)
+          .build());
       }
-    } catch (Exception e) {
-      // Vision AI 관련 오류 발생 시 처리
-      throw new Exception("Vision AI 분석 중 오류가 발생했습니다: " + e.getMessage());
+    });
+    if (missing.isEmpty()) {
+      return resolved;
+    }
+
+    try {
+      visionBatchRepository.insertLabelsIfAbsent(missing);
+    } catch (DuplicateKeyException e) {
+      // 다른 요청이 같은 라벨을 먼저 추가한 경우 - 아래 재조회에서 그 행을 사용
+      log.debug("[급식 사진] 라벨 동시 추가로 일부 INSERT 생략: {}", e.getMessage());
+    }
+    List<String> missingNames = missing.stream().map(VisionLabel::getLabelName).toList();
+    for (VisionLabel visionLabel : visionLabelRepository.findByLabelNameIn(missingNames)) {
+      resolved.put(visionLabel.getLabelName(), visionLabel);
     }
+    if (resolved.size() < sourceByName.size()) {
+      throw new IllegalStateException("Vision 라벨 저장에 실패했습니다.");
+    }
+    return resolved;
+  }
+
+  // Vision 원문 라벨명, 번역된 라벨명과 Vision 신뢰도 점수
+  private record LabelScore(String sourceName, String labelName, float score) {
   }
 
   // 특정 학생이 업로드한 모든 사진을 조회
+  @Transactional(readOnly = true)
   public List<EatPhoto> getPhotoByStudentId(Integer studentId) {
     return eatPhotoRepository.findByStudent_StudentId(studentId);
   }
@@ -40,12 +40,26 @@ public class FirebaseStorageService {
     if (file.isEmpty()) {
       throw new IOException("파일이 비어 있어 Firebase 업로드가 불가능합니다.");
     }
+    return uploadBytes(file.getBytes(), file.getOriginalFilename(), folderPath);
+  }
+
+  /**
+   * 이미 읽어 둔 파일 내용을 Firebase Storage에 업로드하고 다운로드 가능한 URL을 반환.
+   * (요청이 끝난 뒤 비동기로 업로드하는 경우 MultipartFile 임시 파일이 지워지므로 byte[]로 전달)
+   * @param data 파일 내용
+   * @param originalFilename 원본 파일명
+   * @param folderPath 저장할 스토리지 내부 폴더 경로
+   * @return 다운로드 URL
+   */
+  public String uploadBytes(byte[] data, String originalFilename, String folderPath) throws IOException {
+    if (data == null || data.length == 0) {
+      throw new IOException("파일이 비어 있어 Firebase 업로드가 불가능합니다.");
+    }
 
     // 경로가 '/'로 끝나도록 보장
     String path = folderPath.endsWith("/") ? folderPath : folderPath + "/";
 
     String fullBucketName = getFullBucketName();
-    String originalFilename = file.getOriginalFilename();
 
     // 최종 파일 경로는 "폴더/UUID_파일명" 형식
     String uniqueFileName = path + UUID.randomUUID().toString() + "_" + originalFilename;
@@ -59,7 +73,7 @@ public class FirebaseStorageService {
 
       // 파일 업로드 실행 및 Public Read ACL 설정
       bucket.create(uniqueFileName,
-        file.getBytes(),
+        data,
         BlobTargetOption.predefinedAcl(Storage.PredefinedAcl.PUBLIC_READ));
 
       // 공식 Firebase Storage 접근 URL 반환
@@ -0,0 +1,277 @@
+package com.spring.schoolmate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.schoolmate.config.IdempotencyProperties;
+import com.spring.schoolmate.entity.IdempotencyRecord;
+import com.spring.schoolmate.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 포인트가 바뀌는 요청(출석 체크, 급식 사진 업로드, 상품 교환)의 Idempotency-Key 처리.
+ *
+ * - 키가 없으면 그대로 실행
+ * - 처음 보는 키 : IN_PROGRESS 행을 먼저 INSERT (유니크 제약으로 동시 재시도 차단) 후 실행하고, 응답을 저장
+ * - 처리된 키    : 저장된 응답을 그대로 반환 (메모리 LRU -> idempotency_keys 테이블 순으로 조회)
+ * - 처리 중인 키 : 409 Conflict
+ *
+ * 포인트를 바꾸는 서비스(출석, 교환, 급식 사진 저장)는 자기 트랜잭션 안에서 markApplied 를 호출해
+ * 기록을 APPLIED 로 바꾼다. 그래서 업무 변경이 커밋됐다면 기록도 반드시 APPLIED 이상이고,
+ * 응답 저장 전에 프로세스가 죽거나 저장이 실패해도 같은 키로 다시 실행되지 않는다 (409).
+ * 오래된 IN_PROGRESS 기록(업무 변경이 커밋되지 않은 중단된 요청)만 지우고 다시 처리한다.
+ *
+ * 5xx 응답이나 예외는 저장하지 않고 기록을 지워서, 클라이언트가 같은 키로 다시 시도할 수 있게 한다. (APPLIED 는 지우지 않음)
+ * execute 는 트랜잭션 밖에서 호출되므로 저장소 호출은 각각 바로 커밋된다.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  public static final String SCOPE_ATTEND = "ATTEND";
+  public static final String SCOPE_PHOTO_UPLOAD = "PHOTO_UPLOAD";
+  public static final String SCOPE_EXCHANGE = "EXCHANGE";
+
+  private static final int MAX_KEY_LENGTH = 100;
+
+  private final IdempotencyRecordRepository repository;
+  private final IdempotencyProperties properties;
+  private final ObjectMapper objectMapper;
+
+  // 처리 완료된 기록만 보관 (키: 학생ID:범위:키)
+  private final Cache<String, IdempotencyRecord> completed;
+  private final Counter replayed;
+
+  // execute 가 실행 중인 요청의 예약 ID (같은 스레드의 서비스 트랜잭션에서 markApplied 로 사용)
+  private final ThreadLocal<Long> current = new ThreadLocal<>();
+
+  public IdempotencyService(IdempotencyRecordRepository repository,
+                            IdempotencyProperties properties,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.completed = Caffeine.newBuilder()
+      .maximumSize(properties.getCacheSize())
+      .expireAfterWrite(properties.getTtl())
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, completed, "idempotency");
+    this.replayed = Counter.builder("idempotency.replayed")
+      .description("저장된 응답으로 재시도에 응답한 횟수")
+      .register(meterRegistry);
+  }
+
+  /**
+   * Idempotency-Key 를 적용해 action 을 실행합니다.
+   *
+   * @param studentId   요청한 학생 ID (키는 학생별로 구분)
+   * @param scope       엔드포인트 구분 (SCOPE_*)
+   * @param key         Idempotency-Key 헤더 값 (없으면 그대로 실행)
+   * @param fingerprint 요청 요약 (같은 키로 다른 요청이 오면 422)
+   * @param action      실제 처리
+   */
+  public ResponseEntity<?> execute(Long studentId, String scope, String key, String fingerprint,
+                                   Supplier<ResponseEntity<?>> action) {
+    if (key == null || key.isBlank()) {
+      return action.get();
+    }
+    if (key.length() > MAX_KEY_LENGTH) {
+      return ResponseEntity.badRequest().body(HEADER + " 는 " + MAX_KEY_LENGTH + "자 이하여야 합니다.");
+    }
+
+    String cacheKey = studentId + ":" + scope + ":" + key;
+    IdempotencyRecord cached = completed.getIfPresent(cacheKey);
+    if (cached != null) {
+      return replay(cached, fingerprint);
+    }
+
+    // 1. 처리 중 표시 (이미 있으면 저장된 응답 또는 409)
+    IdempotencyRecord record;
+    try {
+      record = reserve(studentId, scope, key, fingerprint);
+    } catch (DataIntegrityViolationException e) {
+      Optional<IdempotencyRecord> existing = repository.findByStudentIdAndScopeAndIdemKey(studentId, scope, key);
+      if (existing.isEmpty()) {
+        // 그 사이 지워진 경우 (5xx 로 정리됨) - 클라이언트가 다시 시도
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+      }
+      IdempotencyRecord found = existing.get();
+      if (found.getStatus() == IdempotencyRecord.Status.DONE) {
+        completed.put(cacheKey, found);
+        return replay(found, fingerprint);
+      }
+      if (found.getStatus() == IdempotencyRecord.Status.APPLIED) {
+        // 업무 변경은 커밋됐지만 응답을 저장하지 못한 요청 - 다시 실행하지 않음
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 처리된 요청입니다. 처리 결과는 내역에서 확인해 주세요.");
+      }
+      if (found.getCreatedAt().isAfter(LocalDateTime.now().minus(properties.getInProgressTimeout()))) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+      }
+      // 업무 변경 없이 중단된 요청의 표시 - 지우고 다시 처리 (그 사이 APPLIED 가 됐으면 지우지 않음)
+      if (repository.deleteByIdAndStatus(found.getIdempotencyId(), IdempotencyRecord.Status.IN_PROGRESS) == 0) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+      }
+      log.warn("[Idempotency] 오래된 처리 중 기록을 정리했습니다. studentId={}, scope={}, key={}", studentId, scope, key);
+      try {
+        record = reserve(studentId, scope, key, fingerprint);
+      } catch (DataIntegrityViolationException retry) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("같은 요청이 처리 중입니다. 잠시 후 다시 시도해 주세요.");
+      }
+    }
+
+    // 2. 실제 처리
+    ResponseEntity<?> response;
+    current.set(record.getIdempotencyId());
+    try {
+      response = action.get();
+    } catch (RuntimeException e) {
+      release(record);
+      throw e;
+    } finally {
+      current.remove();
+    }
+    if (response.getStatusCode().is5xxServerError()) {
+      release(record);
+      return response;
+    }
+
+    // 3. 응답 저장
+    try {
+      complete(record, response);
+      repository.save(record);
+      completed.put(cacheKey, record);
+    } catch (JsonProcessingException | RuntimeException e) {
+      // 저장 실패 시에도 처리 결과는 그대로 반환
+      // (업무 변경이 있었다면 기록은 APPLIED 로 남아 재시도는 409, 변경이 없었다면 timeout 후 재처리)
+      log.error("[Idempotency] 응답 저장 실패. studentId={}, scope={}, key={}", studentId, scope, key, e);
+    }
+    return response;
+  }
+
+  /**
+   * 현재 스레드에서 execute 가 처리 중인 요청의 예약 ID. (Idempotency-Key 없이 온 요청이면 null)
+   * 다른 스레드에서 업무를 이어서 처리하는 경우(급식 사진 분석 작업) 이 값을 넘겨서 markApplied(Long) 에 사용합니다.
+   */
+  public Long currentReservation() {
+    return current.get();
+  }
+
+  /**
+   * 현재 스레드의 예약을 APPLIED 로 표시합니다. (markApplied(Long) 참고)
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void markApplied() {
+    markApplied(current.get());
+  }
+
+  /**
+   * 예약을 APPLIED 로 표시합니다. 포인트를 바꾸는 서비스가 자기 트랜잭션 안에서 호출해서,
+   * 이 표시가 업무 변경과 함께 커밋되거나 롤백되게 합니다. (예약 ID 가 null 이면 아무것도 하지 않음)
+   *
+   * @throws ConcurrencyFailureException 예약이 이미 오래된 기록으로 정리된 경우 (같은 키의 재시도가 다시 처리 중이므로 업무 변경도 롤백)
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void markApplied(Long reservationId) {
+    if (reservationId == null) {
+      return;
+    }
+    int updated = repository.updateStatus(reservationId,
+      IdempotencyRecord.Status.IN_PROGRESS, IdempotencyRecord.Status.APPLIED);
+    // 0 건이면 이미 APPLIED/DONE 이거나 (응답이 먼저 저장된 비동기 작업) 정리된 기록
+    if (updated == 0 && !repository.existsById(reservationId)) {
+      throw new ConcurrencyFailureException("요청 처리 기록이 정리되어 변경을 취소합니다. reservationId=" + reservationId);
+    }
+  }
+
+  /**
+   * 탈퇴한 학생의 기록을 모두 삭제합니다. (호출한 쪽 트랜잭션에서 실행, 메모리 LRU 에서도 제거)
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleteByStudent(Long studentId) {
+    repository.deleteByStudentId(studentId);
+    String prefix = studentId + ":";
+    completed.asMap().keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+  }
+
+  /**
+   * 보관 기간이 지난 기록을 삭제합니다.
+   */
+  @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:1h}", initialDelayString = "${idempotency.cleanup-interval:1h}")
+  @Transactional
+  public void cleanup() {
+    int deleted = repository.deleteByCreatedAtBefore(LocalDateTime.now().minus(properties.getTtl()));
+    if (deleted > 0) {
+      log.info("[Idempotency] 만료된 기록 {}건 삭제", deleted);
+    }
+  }
+
+  private IdempotencyRecord reserve(Long studentId, String scope, String key, String fingerprint) {
+    return repository.saveAndFlush(IdempotencyRecord.builder()
+      .studentId(studentId)
+      .scope(scope)
+      .idemKey(key)
+      .fingerprint(fingerprint)
+      .status(IdempotencyRecord.Status.IN_PROGRESS)
+      .createdAt(LocalDateTime.now())
+      .build());
+  }
+
+  // 실패한 요청의 예약 해제 - 업무 변경이 커밋된 기록(APPLIED)은 남겨서 재실행을 막는다
+  private void release(IdempotencyRecord record) {
+    repository.deleteByIdAndStatus(record.getIdempotencyId(), IdempotencyRecord.Status.IN_PROGRESS);
+  }
+
+  // 응답 본문을 저장 형태로 변환 (문자열은 그대로, 그 외는 JSON)
+  private void complete(IdempotencyRecord record, ResponseEntity<?> response) throws JsonProcessingException {
+    Object body = response.getBody();
+    record.setStatus(IdempotencyRecord.Status.DONE);
+    record.setHttpStatus(response.getStatusCode().value());
+    if (body == null) {
+      record.setContentType(null);
+      record.setBody(null);
+    } else if (body instanceof String text) {
+      record.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+      record.setBody(text);
+    } else {
+      record.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      record.setBody(objectMapper.writeValueAsString(body));
+    }
+  }
+
+  private ResponseEntity<?> replay(IdempotencyRecord record, String fingerprint) {
+    if (!Objects.equals(record.getFingerprint(), fingerprint)) {
+      return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+        .body("같은 " + HEADER + " 로 다른 요청을 보낼 수 없습니다.");
+    }
+    replayed.increment();
+    ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getHttpStatus())
+      .header(REPLAYED_HEADER, "true");
+    if (record.getBody() == null) {
+      return builder.build();
+    }
+    return builder.contentType(MediaType.parseMediaType(record.getContentType())).body(record.getBody());
+  }
+}
@@ -1,15 +1,24 @@
 package com.spring.schoolmate.service;
 
 import com.spring.schoolmate.dto.neis.*;
+import com.spring.schoolmate.neis.NeisCache;
+import com.spring.schoolmate.neis.MealDishParser;
+import com.spring.schoolmate.neis.NeisClient;
+import com.spring.schoolmate.neis.NeisDataset;
+import com.spring.schoolmate.neis.SchoolDirectory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -20,15 +29,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class NeisApiService {
-    private final WebClient webClient;
+    private final NeisClient neisClient;
+    private final NeisCache neisCache;
+    private final SchoolDirectory schoolDirectory;
 
-    //  NEIS API KEY
-    @Value("${neis.api-key}")
-    private String apiKey;
-
-    // NEIS API URL
-    @Value("${neis.base-url}")
-    private String baseUrl;
+    private static final DateTimeFormatter NEIS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter NEIS_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
 
     // 학교 정보
     @Value("${neis.path.school-info}")
@@ -66,38 +72,50 @@ public class NeisApiService {
      * 학교 구분(일반고/특성화고)에 따라 분기하여 학과 목록을 조회하는 메서드
      */
     public List<String> findMajorsBySchoolType(String educationOfficeCode, String schoolCode) {
-        log.info("학교 종류에 따른 학과 목록 조회 시작: scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
-
-        // 1. 특성화고 학과 정보 조회를 먼저 시도합니다.
-        List<SchoolMajorRow> majorRows = getSchoolMajors(educationOfficeCode, schoolCode);
-
-        // 2. 특성화고 학과 정보가 있으면 해당 정보를 가공하여 반환합니다.
-        if (majorRows != null && !majorRows.isEmpty()) {
-            log.info("schoolMajorInfo API를 통해 학과 목록을 조회합니다. ({}개)", majorRows.size());
-            return majorRows.stream()
-                    .map(SchoolMajorRow::getMajorName)
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
-        }
-
-        // 3. 특성화고 학과 정보가 없으면, 일반고일 가능성을 염두에 두고 기존 로직을 실행합니다.
-        log.warn("[학과 조회] schoolMajorInfo API에서 학과를 찾을 수 없습니다. classInfo API로 재시도합니다. scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
-        List<ClassInfoRow> classInfoRows = getClassInfo(educationOfficeCode, schoolCode, "1", "고등학교", null);
+        return findMajorsBySchoolTypeAsync(educationOfficeCode, schoolCode).block();
+    }
 
-        if (classInfoRows.isEmpty()) {
-            log.warn("[학과 조회] 모든 API에서 학과 정보를 찾지 못했습니다. scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
-            return Collections.emptyList(); // 최종적으로 정보가 없으면 빈 리스트 반환
-        }
+    /**
+     * findMajorsBySchoolType 의 논블로킹 버전.
+     * 특성화고 학과 정보(schoolMajorInfo)와 일반고용 학급 정보(classInfo)를 순차 호출하지 않고 zip으로 동시에 조회한 뒤,
+     * 학과 정보가 있으면 그것을, 없으면 학급 정보의 학과명을 사용합니다.
+     */
+    public Mono<List<String>> findMajorsBySchoolTypeAsync(String educationOfficeCode, String schoolCode) {
+        log.info("학교 종류에 따른 학과 목록 조회 시작: scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
 
-        log.info("[일반고] classInfo API를 통해 학과 목록을 조회합니다.");
-        return classInfoRows.stream()
-                .map(ClassInfoRow::getMajorName)
-                .filter(Objects::nonNull)
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return Mono.zip(
+                        getSchoolMajorsAsync(educationOfficeCode, schoolCode),
+                        getClassInfoAsync(educationOfficeCode, schoolCode, "1", "고등학교", null))
+                .map(tuple -> {
+                    List<SchoolMajorRow> majorRows = tuple.getT1();
+                    List<ClassInfoRow> classInfoRows = tuple.getT2();
+
+                    // 1. 특성화고 학과 정보가 있으면 해당 정보를 가공하여 반환합니다.
+                    if (!majorRows.isEmpty()) {
+                        log.info("schoolMajorInfo API를 통해 학과 목록을 조회합니다. ({}개)", majorRows.size());
+                        return majorRows.stream()
+                                .map(SchoolMajorRow::getMajorName)
+                                .filter(Objects::nonNull)
+                                .distinct()
+                                .sorted()
+                                .collect(Collectors.toList());
+                    }
+
+                    // 2. 특성화고 학과 정보가 없으면, 일반고일 가능성을 염두에 두고 학급 정보의 학과명을 사용합니다.
+                    log.warn("[학과 조회] schoolMajorInfo API에서 학과를 찾을 수 없습니다. classInfo 결과를 사용합니다. scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
+                    if (classInfoRows.isEmpty()) {
+                        log.warn("[학과 조회] 모든 API에서 학과 정보를 찾지 못했습니다. scCode={}, schoolCode={}", educationOfficeCode, schoolCode);
+                        return Collections.<String>emptyList(); // 최종적으로 정보가 없으면 빈 리스트 반환
+                    }
+
+                    log.info("[일반고] classInfo API를 통해 학과 목록을 조회합니다.");
+                    return classInfoRows.stream()
+                            .map(ClassInfoRow::getMajorName)
+                            .filter(Objects::nonNull)
+                            .distinct()
+                            .sorted()
+                            .collect(Collectors.toList());
+                });
     }
 
     /**
@@ -105,27 +123,19 @@ public class NeisApiService {
      * schoolName 파라미터를 schoolCode로 변경하여 더 정확한 조회가 가능하도록 개선
      */
     private SchoolInfoRow getSchoolInfoRow(String educationOfficeCode, String schoolCode) {
-        String url = UriComponentsBuilder.fromUriString(baseUrl + schoolInfoPath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 10) // 단일 학교 조회를 목적으로 하므로 pSize를 줄임
+        UriComponentsBuilder uri = neisClient.uri(schoolInfoPath)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode)
-                .queryParam("SD_SCHUL_CODE", schoolCode)
-                .build(true)
-                .toUriString();
+                .queryParam("SD_SCHUL_CODE", schoolCode);
 
-        SchoolInfoRes response = webClient.get().uri(url).retrieve().bodyToMono(SchoolInfoRes.class).block();
-
-        if (response != null && response.getSchoolInfo() != null && response.getSchoolInfo().size() > 1) {
-            List<SchoolInfoRow> rows = response.getSchoolInfo().get(1).getRow();
-            if (rows != null && !rows.isEmpty()) {
-                return rows.get(0); // 첫 번째 결과를 반환
-            }
+        // 단일 학교 조회를 목적으로 하므로 pSize를 줄임
+        List<SchoolInfoRow> rows = neisClient.getRows(NeisDataset.SCHOOL_INFO, uri, SchoolInfoRow.class, 10).block();
+        if (rows != null && !rows.isEmpty()) {
+            return rows.get(0); // 첫 번째 결과를 반환
         }
         return null;
     }
 
+
     /**
      * 학교 이름과 학교급으로 NEIS에서 학교 목록을 검색합니다.
      *
@@ -134,38 +144,38 @@ public class NeisApiService {
      * @return 검색된 학교 정보 목록
      */
     public List<SchoolInfoRow> searchSchool(String schoolName, String schoolLevel) {
+        return searchSchoolAsync(schoolName, schoolLevel).block();
+    }
 
-        // 2. WebClient를 사용하여 NEIS API에 보낼 최종 URL을 조립
-        String url = UriComponentsBuilder.fromUriString(baseUrl + schoolInfoPath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100)
-                .queryParam("SCHUL_NM", schoolName)
-                .queryParam("SCHUL_KND_SC_NM", schoolLevel)
-                .build()
-                .toUriString();
-        log.info("Requesting to NEIS API with URL: {}", url);
-
-        // 3. WebClient를 사용하여 GET 요청을 보내고, 응답을 NeisSchoolInfoResponse DTO로 받습니다.
-        SchoolInfoRes response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(SchoolInfoRes.class)
-                .block();
-        log.info("Raw response from NEIS API: {}", response);
-
-        if (response != null && response.getSchoolInfo() != null && !response.getSchoolInfo().isEmpty() && response.getSchoolInfo().size() > 1) {
-            return Objects.requireNonNullElse(response
-                            .getSchoolInfo()
-                            .get(1)
-                            .getRow(), Collections.emptyList());
+    /**
+     * searchSchool 의 논블로킹 버전.
+     * 로컬 학교 목록(SchoolDirectory)이 준비되어 있으면 NEIS를 호출하지 않고 바로 검색합니다.
+     */
+    public Mono<List<SchoolInfoRow>> searchSchoolAsync(String schoolName, String schoolLevel) {
+        // 캐시 키: 학교급 + 검색어 (앞뒤 공백 제거)
+        String normalizedName = schoolName == null ? "" : schoolName.trim();
+        if (schoolDirectory.isReady()) {
+            return Mono.just(schoolDirectory.search(normalizedName, schoolLevel, 100));
         }
-        return Collections.emptyList();
+        String cacheKey = schoolLevel + ":" + normalizedName;
+
+        return neisCache.get(NeisDataset.SCHOOL_INFO, cacheKey,
+                () -> fetchSchoolInfo(normalizedName, schoolLevel));
+    }
+
+    private Mono<List<SchoolInfoRow>> fetchSchoolInfo(String schoolName, String schoolLevel) {
+        // 2. NEIS API에 보낼 요청 URL을 조립
+        UriComponentsBuilder uri = neisClient.uri(schoolInfoPath)
+                .queryParam("SCHUL_NM", schoolName)
+                .queryParam("SCHUL_KND_SC_NM", schoolLevel);
+
+        // 3. NeisClient로 GET 요청을 보내고, 응답의 row를 SchoolInfoRow로 받습니다. (동일 요청은 하나로 합쳐짐)
+        return neisClient.getRows(NeisDataset.SCHOOL_INFO, uri, SchoolInfoRow.class);
     }
 
     /**
      * 특정 학교의 '기간' 내 급식 정보를 조회합니다. (메소드명 변경 및 파라미터 수정)
+     * NEIS 호출과 캐시는 '학교 + 월' 단위로 이루어지며, 요청 기간에 해당하는 월들을 합친 뒤 기간으로 잘라 반환합니다.
      * @param educationOfficeCode 시도교육청코드
      * @param schoolCode 학교 행정표준코드
      * @param startDate 조회 시작일 (YYYYMMDD)
@@ -173,41 +183,47 @@ public class NeisApiService {
      * @return 급식 정보 목록
      */
     public List<MealInfoRow> getMealInfo(String educationOfficeCode, String schoolCode, String startDate, String endDate ) {
-        // 1. WebClient를 사용하여 NEIS API에 보낼 최종 URL을 조립합니다.
-        String url = UriComponentsBuilder.fromUriString(baseUrl + mealServicePath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100)
+        return getMealInfoAsync(educationOfficeCode, schoolCode, startDate, endDate).block();
+    }
+
+    /**
+     * getMealInfo 의 논블로킹 버전. 기간에 걸친 월들은 동시에 조회하되 결과 순서는 월 순서대로 유지합니다.
+     */
+    public Mono<List<MealInfoRow>> getMealInfoAsync(String educationOfficeCode, String schoolCode, String startDate, String endDate) {
+        return Flux.fromIterable(monthsBetween(startDate, endDate))
+                .flatMapSequential(month -> getMealInfoOfMonth(educationOfficeCode, schoolCode, month))
+                .flatMapIterable(rows -> rows)
+                .filter(row -> isBetween(row.getMealDate(), startDate, endDate))
+                .collectList();
+    }
+
+    /**
+     * 한 학교의 한 달치 급식 정보를 캐시에서 조회합니다. (캐시 키: 교육청코드:학교코드:yyyyMM)
+     */
+    private Mono<List<MealInfoRow>> getMealInfoOfMonth(String educationOfficeCode, String schoolCode, YearMonth month) {
+        String cacheKey = educationOfficeCode + ":" + schoolCode + ":" + month.format(NEIS_MONTH);
+        return neisCache.get(NeisDataset.MEAL, cacheKey,
+                () -> fetchMealInfo(educationOfficeCode, schoolCode,
+                        month.atDay(1).format(NEIS_DATE), month.atEndOfMonth().format(NEIS_DATE)));
+    }
+
+    private Mono<List<MealInfoRow>> fetchMealInfo(String educationOfficeCode, String schoolCode, String startDate, String endDate) {
+        // 1. NEIS API에 보낼 요청 URL을 조립합니다.
+        UriComponentsBuilder uri = neisClient.uri(mealServicePath)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode)
                 .queryParam("SD_SCHUL_CODE", schoolCode)
                 .queryParam("MLSV_FROM_YMD", startDate)
-                .queryParam("MLSV_TO_YMD", endDate)
-                .build(true) // 인코딩 옵션
-                .toUriString();
-        log.info("Requesting NEIS API URL: {}", url);
-
-        // 2. WebClient를 사용하여 GET 요청을 보내고, 응답을 MealServiceRes DTO로 받습니다.
-        MealInfoRes response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(MealInfoRes.class)
-                .block();
-
-        if (response != null
-                && response.getMealServiceDietInfo() != null
-                && !response.getMealServiceDietInfo().isEmpty()
-                && response.getMealServiceDietInfo().size() > 1) {
-            return Objects.requireNonNullElse(
-                    response.getMealServiceDietInfo()
-                            .get(1).
-                            getRow(), Collections.emptyList());
-        }
-        return Collections.emptyList();
+                .queryParam("MLSV_TO_YMD", endDate);
+
+        // 2. NeisClient로 GET 요청을 보내고, 응답의 row를 MealInfoRow로 받습니다. (한 달치가 페이지를 넘으면 모두 받아 합침)
+        return neisClient.getRows(NeisDataset.MEAL, uri, MealInfoRow.class)
+                // 3. 캐시에 넣기 전에 요리명/알레르기 번호를 한 번만 파싱해 둡니다.
+                .doOnNext(rows -> rows.forEach(row -> row.setDishes(MealDishParser.parse(row.getDishName()))));
     }
 
     /**
      * 시도교육청코드, 학교코드, 기간으로 NEIS에서 학사일정을 검색합니다.
+     * 급식과 마찬가지로 '학교 + 월' 단위로 캐시합니다.
      *
      * @param educationOfficeCode 시도교육청코드 (ATPT_OFCDC_SC_CODE)
      * @param schoolCode          학교 행정표준코드 (SD_SCHUL_CODE)
@@ -219,35 +235,37 @@ public class NeisApiService {
                                                      String schoolCode,
                                                      String startDate,
                                                      String endDate) {
+        return getSchoolScheduleAsync(educationOfficeCode, schoolCode, startDate, endDate).block();
+    }
 
-        // 1. WebClient를 사용하여 NEIS API에 보낼 최종 URL을 조립합니다.
-        String url = UriComponentsBuilder.fromUriString(baseUrl + schoolSchedulePath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100)
+    /**
+     * getSchoolSchedule 의 논블로킹 버전.
+     */
+    public Mono<List<SchoolScheduleRow>> getSchoolScheduleAsync(String educationOfficeCode, String schoolCode, String startDate, String endDate) {
+        return Flux.fromIterable(monthsBetween(startDate, endDate))
+                .flatMapSequential(month -> getSchoolScheduleOfMonth(educationOfficeCode, schoolCode, month))
+                .flatMapIterable(rows -> rows)
+                .filter(row -> isBetween(row.getScheduleDate(), startDate, endDate))
+                .collectList();
+    }
+
+    private Mono<List<SchoolScheduleRow>> getSchoolScheduleOfMonth(String educationOfficeCode, String schoolCode, YearMonth month) {
+        String cacheKey = educationOfficeCode + ":" + schoolCode + ":" + month.format(NEIS_MONTH);
+        return neisCache.get(NeisDataset.SCHEDULE, cacheKey,
+                () -> fetchSchoolSchedule(educationOfficeCode, schoolCode,
+                        month.atDay(1).format(NEIS_DATE), month.atEndOfMonth().format(NEIS_DATE)));
+    }
+
+    private Mono<List<SchoolScheduleRow>> fetchSchoolSchedule(String educationOfficeCode, String schoolCode, String startDate, String endDate) {
+        // 1. NEIS API에 보낼 요청 URL을 조립합니다.
+        UriComponentsBuilder uri = neisClient.uri(schoolSchedulePath)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode) // 시도교육청 코드
                 .queryParam("SD_SCHUL_CODE", schoolCode) // 학교 코드
                 .queryParam("AA_FROM_YMD", startDate) // 시작 일자
-                .queryParam("AA_TO_YMD", endDate) // 종료 일자
-                .build(true) // 인코딩 옵션
-                .toUriString();
-
-        log.info("Requesting NEIS API URL: {}", url);
-
-        // 2. WebClient를 사용하여 GET 요청을 보내고, 응답을 SchoolScheduleRes DTO로 받습니다.
-        SchoolScheduleRes response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(SchoolScheduleRes.class)
-                .block(); // 비동기 응답을 동기적으로 기다립니다.
-
-        // 3. 응답 결과에서 실제 데이터(row)가 있는지 확인하고 반환합니다.
-        if (response == null || response.getSchoolSchedule() == null || response.getSchoolSchedule().size() < 2) {
-            return Collections.emptyList();
-        }
-        List<SchoolScheduleRow> rows = response.getSchoolSchedule().get(1).getRow();
-        return Objects.requireNonNullElse(rows, Collections.emptyList());
+                .queryParam("AA_TO_YMD", endDate); // 종료 일자
+
+        // 2. NeisClient로 GET 요청을 보내고, 응답의 row를 SchoolScheduleRow로 받습니다. (데이터가 없으면 빈 목록)
+        return neisClient.getRows(NeisDataset.SCHEDULE, uri, SchoolScheduleRow.class);
     }
 
     // 학과 정보 조회 메소드
@@ -258,136 +276,145 @@ public class NeisApiService {
      * @return 검색된 학과 정보 목록
      */
     public List<SchoolMajorRow> getSchoolMajors(String educationOfficeCode, String schoolCode) {
-        String url = UriComponentsBuilder.fromUriString(baseUrl + schoolMajorPath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100)
+        return getSchoolMajorsAsync(educationOfficeCode, schoolCode).block();
+    }
+
+    /**
+     * getSchoolMajors 의 논블로킹 버전.
+     */
+    public Mono<List<SchoolMajorRow>> getSchoolMajorsAsync(String educationOfficeCode, String schoolCode) {
+        String cacheKey = educationOfficeCode + ":" + schoolCode;
+        return neisCache.get(NeisDataset.SCHOOL_MAJOR, cacheKey,
+                () -> fetchSchoolMajors(educationOfficeCode, schoolCode));
+    }
+
+    private Mono<List<SchoolMajorRow>> fetchSchoolMajors(String educationOfficeCode, String schoolCode) {
+        UriComponentsBuilder uri = neisClient.uri(schoolMajorPath)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode)
-                .queryParam("SD_SCHUL_CODE", schoolCode)
-                .build(true)
-                .toUriString();
-
-        // SchoolMajorRes DTO를 사용
-        SchoolMajorRes response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(SchoolMajorRes.class)
-                .block();
-
-        if (response == null || response.getSchoolMajorInfo() == null || response.getSchoolMajorInfo().size() < 2) {
-            return Collections.emptyList();
-        }
-        List<SchoolMajorRow> rows = response.getSchoolMajorInfo().get(1).getRow();
-        return Objects.requireNonNullElse(rows, Collections.emptyList());
+                .queryParam("SD_SCHUL_CODE", schoolCode);
+
+        return neisClient.getRows(NeisDataset.SCHOOL_MAJOR, uri, SchoolMajorRow.class);
     }
 
     /**
      * NEIS API로 특정 학교, 특정 학년의 반 목록 정보를 조회합니다.
+     * 캐시는 학과 필터링 전의 '학교 + 학년도 + 학년' 전체 반 목록 단위로 저장합니다.
      * @param educationOfficeCode 시도교육청코드
      * @param schoolCode 학교 행정표준코드
      * @param grade 학년
      * @return 검색된 반 정보 목록 (예: "1", "2", "3"...)
      */
     public List<ClassInfoRow> getClassInfo(String educationOfficeCode, String schoolCode, String grade, String schoolLevel, String majorName) {
+        return getClassInfoAsync(educationOfficeCode, schoolCode, grade, schoolLevel, majorName).block();
+    }
+
+    /**
+     * getClassInfo 의 논블로킹 버전.
+     */
+    public Mono<List<ClassInfoRow>> getClassInfoAsync(String educationOfficeCode, String schoolCode, String grade, String schoolLevel, String majorName) {
         log.info("학급정보 API 호출: scCode={}, schoolCode={}, grade={}, level={}, majorName={}",
                 educationOfficeCode, schoolCode, grade, schoolLevel, majorName);
 
+        String schoolYear = String.valueOf(LocalDate.now().getYear());
+        String cacheKey = educationOfficeCode + ":" + schoolCode + ":" + schoolYear + ":" + grade;
+        return neisCache.get(NeisDataset.CLASS_INFO, cacheKey,
+                        () -> fetchClassInfo(educationOfficeCode, schoolCode, schoolYear, grade))
+                .map(allClassRows -> {
+                    // [핵심 3] 고등학교이고 학과명이 주어진 경우, 백엔드에서 직접 필터링합니다.
+                    if ("고등학교".equals(schoolLevel) && majorName != null && !majorName.isBlank()) {
+                        log.info("... '{}' 학과로 필터링 시작", majorName);
+                        return allClassRows.stream()
+                                .filter(row -> majorName.equals(row.getMajorName()))
+                                .collect(Collectors.toList());
+                    }
+
+                    // 초/중학교이거나, 고등학교지만 학과 필터링이 필요 없는 경우 정렬된 전체 목록 반환
+                    return allClassRows;
+                });
+    }
+
+    private Mono<List<ClassInfoRow>> fetchClassInfo(String educationOfficeCode, String schoolCode, String schoolYear, String grade) {
         // [핵심 1] NEIS API에 요청할 때는 '학과(DDDEP_NM)' 파라미터를 아예 보내지 않습니다.
         // 해당 학년의 모든 반 정보를 일단 전부 다 받아옵니다.
-        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + classInfoPath)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100) // 반 개수가 100개를 넘는 경우는 거의 없으므로 100으로 설정
+        UriComponentsBuilder uri = neisClient.uri(classInfoPath)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode)
                 .queryParam("SD_SCHUL_CODE", schoolCode)
-                .queryParam("AY", String.valueOf(LocalDate.now().getYear()))
+                .queryParam("AY", schoolYear)
                 .queryParam("GRADE", grade);
 
-        String url = builder.build().encode(StandardCharsets.UTF_8).toUriString();
-        log.info("... 최종 요청 URL (학과 필터링 없음): {}", url);
-
-        ClassInfoRes response = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(ClassInfoRes.class)
-                .block();
-
-        // API 응답이 없거나 비어있으면 빈 리스트 반환
-        if (response == null || response.getClassInfo() == null || response.getClassInfo().isEmpty() || response.getClassInfo().size() < 2) {
-            return Collections.emptyList();
-        }
-
-        // 전체 반 목록을 가져옴
-        List<ClassInfoRow> allClassRows = response.getClassInfo().get(1).getRow();
-        if (allClassRows == null || allClassRows.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        // [핵심 2] 반 이름을 숫자  로 변환하여 오름차순으로 정렬합니다. (예: 1, 2, ... 10, 11)
-        allClassRows.sort(Comparator.comparingInt(row -> {
-            try {
-                return Integer.parseInt(row.getClassName());
-            } catch (NumberFormatException e) {
-                return 0; // 숫자로 변환할 수 없는 반 이름은 맨 앞으로 정렬
-            }
-        }));
-        log.info("... 반 목록 정렬 완료. ({}개)", allClassRows.size());
-
-        // [핵심 3] 고등학교이고 학과명이 주어진 경우, 백엔드에서 직접 필터링합니다.
-        if ("고등학교".equals(schoolLevel) && majorName != null && !majorName.isBlank()) {
-            log.info("... '{}' 학과로 필터링 시작", majorName);
-            return allClassRows.stream()
-                    .filter(row -> majorName.equals(row.getMajorName()))
-                    .collect(Collectors.toList());
-        }
-
-        // 초/중학교이거나, 고등학교지만 학과 필터링이 필요 없는 경우 정렬된 전체 목록 반환
-        return allClassRows;
+        return neisClient.getRows(NeisDataset.CLASS_INFO, uri, ClassInfoRow.class)
+                .map(rows -> {
+                    // API 응답이 없거나 비어있으면 빈 리스트 반환
+                    if (rows.isEmpty()) {
+                        return Collections.<ClassInfoRow>emptyList();
+                    }
+
+                    // [핵심 2] 반 이름을 숫자로 변환하여 오름차순으로 정렬합니다. (예: 1, 2, ... 10, 11)
+                    // 캐시에 들어가는 목록이므로 정렬을 마친 뒤 변경 불가 목록으로 저장합니다.
+                    List<ClassInfoRow> allClassRows = new ArrayList<>(rows);
+                    allClassRows.sort(Comparator.comparingInt(row -> {
+                        try {
+                            return Integer.parseInt(row.getClassName());
+                        } catch (NumberFormatException e) {
+                            return 0; // 숫자로 변환할 수 없는 반 이름은 맨 앞으로 정렬
+                        }
+                    }));
+                    log.info("... 반 목록 정렬 완료. ({}개)", allClassRows.size());
+                    return Collections.unmodifiableList(allClassRows);
+                });
     }
 
     /**
      * 학교급에 맞는 시간표 정보를 조회합니다.
+     * NEIS 호출과 캐시는 '학교 + 학년 + 반 + 학과 + 주(월요일)' 단위로 이루어집니다.
      */
     public List<TimetableRes> getTimetable(String schoolLevel, String educationOfficeCode, String schoolCode, String startDate, String endDate, String grade, String classNo, String majorName) {
-        String url = createTimetableUrl(schoolLevel, educationOfficeCode, schoolCode, startDate, endDate, grade, classNo, majorName);
-        log.info(">>>> 시간표 최종 요청 URL: {}", url);
+        return getTimetableAsync(schoolLevel, educationOfficeCode, schoolCode, startDate, endDate, grade, classNo, majorName).block();
+    }
 
-        switch (schoolLevel) {
-            case "초등학교":
-                ElsTimetableRes elsResponse = webClient.get().uri(url).retrieve().bodyToMono(ElsTimetableRes.class).block();
-                if (elsResponse != null && elsResponse.getElsTimetable() != null && elsResponse.getElsTimetable().size() > 1) {
-                    List<ElsTimetableRow> rows = elsResponse.getElsTimetable().get(1).getRow();
-                    return rows.stream()
+    /**
+     * getTimetable 의 논블로킹 버전.
+     */
+    public Mono<List<TimetableRes>> getTimetableAsync(String schoolLevel, String educationOfficeCode, String schoolCode, String startDate, String endDate, String grade, String classNo, String majorName) {
+        return Flux.fromIterable(weeksBetween(startDate, endDate))
+                .flatMapSequential(monday -> getTimetableOfWeek(schoolLevel, educationOfficeCode, schoolCode, monday, grade, classNo, majorName))
+                .flatMapIterable(rows -> rows)
+                .filter(row -> isBetween(row.getTimetableDate(), startDate, endDate))
+                .collectList();
+    }
+
+    private Mono<List<TimetableRes>> getTimetableOfWeek(String schoolLevel, String educationOfficeCode, String schoolCode, LocalDate monday, String grade, String classNo, String majorName) {
+        String major = (majorName == null || majorName.isBlank()) ? "" : majorName.trim();
+        String cacheKey = String.join(":", schoolLevel, educationOfficeCode, schoolCode, grade, classNo, major, monday.format(NEIS_DATE));
+        return neisCache.get(NeisDataset.TIMETABLE, cacheKey,
+                () -> fetchTimetable(schoolLevel, educationOfficeCode, schoolCode,
+                        monday.format(NEIS_DATE), monday.plusDays(6).format(NEIS_DATE), grade, classNo, majorName));
+    }
+
+    private Mono<List<TimetableRes>> fetchTimetable(String schoolLevel, String educationOfficeCode, String schoolCode, String startDate, String endDate, String grade, String classNo, String majorName) {
+        UriComponentsBuilder uri = createTimetableUri(schoolLevel, educationOfficeCode, schoolCode, startDate, endDate, grade, classNo, majorName);
+
+        return switch (schoolLevel) {
+            case "초등학교" -> neisClient.getRows(NeisDataset.TIMETABLE, uri, ElsTimetableRow.class)
+                    .map(rows -> rows.stream()
                             .map(row -> TimetableRes.builder()
                                     .timetableDate(row.getTimetableDate())
                                     .schoolName(row.getSchoolName())
                                     .period(row.getPeriod())
                                     .subjectName(row.getSubjectName())
                                     .build())
-                            .collect(Collectors.toList());
-                }
-                break;
-            case "중학교":
-                MisTimetableRes misResponse = webClient.get().uri(url).retrieve().bodyToMono(MisTimetableRes.class).block();
-                if (misResponse != null && misResponse.getMisTimetable() != null && misResponse.getMisTimetable().size() > 1) {
-                    List<MisTimetableRow> rows = misResponse.getMisTimetable().get(1).getRow();
-                    return rows.stream()
+                            .collect(Collectors.toList()));
+            case "중학교" -> neisClient.getRows(NeisDataset.TIMETABLE, uri, MisTimetableRow.class)
+                    .map(rows -> rows.stream()
                             .map(row -> TimetableRes.builder()
                                     .timetableDate(row.getTimetableDate())
                                     .schoolName(row.getSchoolName())
                                     .period(row.getPeriod())
                                     .subjectName(row.getSubjectName())
                                     .build())
-                            .collect(Collectors.toList());
-                }
-                break;
-            case "고등학교":
-                HisTimetableRes hisResponse = webClient.get().uri(url).retrieve().bodyToMono(HisTimetableRes.class).block();
-                if (hisResponse != null && hisResponse.getHisTimetable() != null && hisResponse.getHisTimetable().size() > 1) {
-                    List<HisTimetableRow> rows = hisResponse.getHisTimetable().get(1).getRow();
-                    return rows.stream()
+                            .collect(Collectors.toList()));
+            case "고등학교" -> neisClient.getRows(NeisDataset.TIMETABLE, uri, HisTimetableRow.class)
+                    .map(rows -> rows.stream()
                             .map(row -> TimetableRes.builder()
                                     .timetableDate(row.getTimetableDate())
                                     .schoolName(row.getSchoolName())
@@ -395,28 +422,16 @@ public class NeisApiService {
                                     .period(row.getPeriod())
                                     .subjectName(row.getSubjectName())
                                     .build())
-                            .collect(Collectors.toList());
-                }
-                break;
-            default:
-                throw new IllegalArgumentException("잘못된 학교급 정보입니다: " + schoolLevel);
-        }
-
-        HisTimetableRes hisResponse = webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(HisTimetableRes.class)
-                .block();
-
-        log.info("NEIS Timetable raw response: {}", hisResponse);
-        return Collections.emptyList();
+                            .collect(Collectors.toList()));
+            default -> Mono.error(new IllegalArgumentException("잘못된 학교급 정보입니다: " + schoolLevel));
+        };
     }
 
     /**
      * 시간표 조회를 위한 NEIS API URL을 생성하는 공통 로직입니다.
-     * (범위 조회를 지원하도록 수정)
+     * (범위 조회를 지원하도록 수정, 인코딩과 API KEY는 NeisClient에서 처리)
      */
-    private String createTimetableUrl(String schoolLevel, String educationOfficeCode, String schoolCode, String startDate, String endDate, String grade, String classNo, String majorName) {
+    private UriComponentsBuilder createTimetableUri(String schoolLevel, String educationOfficeCode, String schoolCode, String startDate, String endDate, String grade, String classNo, String majorName) {
         String path;
         switch (schoolLevel) {
             case "초등학교" -> path = elsTimetablePath;
@@ -424,11 +439,7 @@ public class NeisApiService {
             case "고등학교" -> path = hisTimetablePath;
             default -> throw new IllegalArgumentException("잘못된 학교급 정보입니다: " + schoolLevel);
         }
-        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(baseUrl + path)
-                .queryParam("KEY", apiKey)
-                .queryParam("Type", "json")
-                .queryParam("pIndex", 1)
-                .queryParam("pSize", 100)
+        UriComponentsBuilder builder = neisClient.uri(path)
                 .queryParam("ATPT_OFCDC_SC_CODE", educationOfficeCode)
                 .queryParam("SD_SCHUL_CODE", schoolCode)
                 .queryParam("TI_FROM_YMD", startDate)
@@ -441,6 +452,39 @@ public class NeisApiService {
             builder.queryParam("DDDEP_NM", majorName);
         }
 
-        return builder.encode(StandardCharsets.UTF_8).build().toUriString();
+        return builder;
+    }
+
+    // ==================== 캐시 키 정규화용 날짜 헬퍼 ====================
+
+    /**
+     * 조회 기간(YYYYMMDD)에 걸친 모든 월을 반환합니다. (급식/학사일정 캐시 단위)
+     */
+    private List<YearMonth> monthsBetween(String startDate, String endDate) {
+        YearMonth first = YearMonth.from(LocalDate.parse(startDate, NEIS_DATE));
+        YearMonth last = YearMonth.from(LocalDate.parse(endDate, NEIS_DATE));
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * 조회 기간(YYYYMMDD)에 걸친 모든 주의 월요일을 반환합니다. (시간표 캐시 단위)
+     */
+    private List<LocalDate> weeksBetween(String startDate, String endDate) {
+        LocalDate firstMonday = LocalDate.parse(startDate, NEIS_DATE).with(DayOfWeek.MONDAY);
+        LocalDate end = LocalDate.parse(endDate, NEIS_DATE);
+        List<LocalDate> mondays = new ArrayList<>();
+        for (LocalDate monday = firstMonday; !monday.isAfter(end); monday = monday.plusWeeks(1)) {
+            mondays.add(monday);
+        }
+        return mondays;
+    }
+
+    // YYYYMMDD 문자열은 사전순 비교가 곧 날짜 비교
+    private boolean isBetween(String date, String startDate, String endDate) {
+        return date != null && date.compareTo(startDate) >= 0 && date.compareTo(endDate) <= 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,279 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.neis.ClassKey;
+import com.spring.schoolmate.neis.NeisCache;
+import com.spring.schoolmate.neis.NeisLane;
+import com.spring.schoolmate.neis.NeisPrefetchProperties;
+import com.spring.schoolmate.neis.SchoolKey;
+import com.spring.schoolmate.repository.ProfileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * NEIS 야간 prefetch 작업.
+ * profile 테이블에 등록된 학교(교육청코드 + 학교코드)를 keyset 페이징으로 순회하면서
+ * 이번 달/다음 달 급식, 이번 달 학사일정, 이번 주(주말이면 다음 주) 시간표를 미리 NeisCache에 적재합니다.
+ *
+ * - NEIS 호출은 최대 concurrency 개까지만 동시에 진행하며, NeisRateLimiter의 BACKGROUND 우선순위로 요청합니다.
+ *   (사용자 요청이 있으면 토큰을 먼저 양보)
+ * - 학교 batch 단위로 체크포인트 파일을 저장하므로, 중간에 중단되면 같은 날 다시 실행할 때 이어서 진행합니다.
+ * - 진행 상황은 actuator(/actuator/neisprefetch)로 확인합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NeisPrefetchService {
+
+    private static final DateTimeFormatter NEIS_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Set<String> SCHOOL_LEVELS = Set.of("초등학교", "중학교", "고등학교");
+
+    private final NeisApiService neisApiService;
+    private final ProfileRepository profileRepository;
+    private final NeisPrefetchProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // 진행 상황 (actuator 노출용)
+    private volatile LocalDate runDate;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile boolean resumed;
+    private volatile String lastResult;
+    private volatile SchoolKey checkpoint;
+    private final AtomicLong schoolsDone = new AtomicLong();
+    private final AtomicLong requestsDone = new AtomicLong();
+    private final AtomicLong requestsFailed = new AtomicLong();
+
+    /**
+     * 스케줄 실행. neis.prefetch.enabled=false 이면 건너뜁니다.
+     * 실행 시간이 길기 때문에 별도 스레드에서 진행하여, 스케줄러 스레드를 쓰는 다른 @Scheduled 작업을 막지 않습니다.
+     */
+    @Scheduled(cron = "${neis.prefetch.cron:0 30 3 * * *}", zone = "${neis.prefetch.zone:Asia/Seoul}")
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            log.info("[NEIS prefetch] 비활성화되어 있어 건너뜁니다.");
+            return;
+        }
+        if (!startAsync()) {
+            log.warn("[NEIS prefetch] 이미 실행 중입니다.");
+        }
+    }
+
+    /**
+     * 별도 스레드에서 prefetch를 시작합니다. (actuator 수동 실행용)
+     * @return 이미 실행 중이면 false
+     */
+    public boolean startAsync() {
+        if (running.get()) {
+            return false;
+        }
+        Schedulers.boundedElastic().schedule(this::run);
+        return true;
+    }
+
+    /**
+     * prefetch를 실행합니다. 오늘 날짜의 미완료 체크포인트가 있으면 그 다음 학교부터 이어서 진행합니다.
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("[NEIS prefetch] 이미 실행 중입니다.");
+            return;
+        }
+        try {
+            LocalDate today = LocalDate.now(ZoneId.of(properties.getZone()));
+            SchoolKey after = loadCheckpoint(today);
+
+            runDate = today;
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            resumed = after != null;
+            lastResult = "RUNNING";
+            checkpoint = after;
+            schoolsDone.set(0);
+            requestsDone.set(0);
+            requestsFailed.set(0);
+
+            log.info("[NEIS prefetch] 시작 (date={}, resumeFrom={})", today, after);
+            if (after == null) {
+                after = new SchoolKey("", "");
+            }
+
+            while (true) {
+                List<SchoolKey> schools = profileRepository.findSchoolKeysAfter(
+                        after.scCode(), after.schoolCode(), PageRequest.of(0, properties.getBatchSize()));
+                if (schools.isEmpty()) {
+                    break;
+                }
+
+                prefetchBatch(today, schools);
+
+                after = schools.get(schools.size() - 1);
+                checkpoint = after;
+                schoolsDone.addAndGet(schools.size());
+                saveCheckpoint(today, after, false);
+            }
+
+            saveCheckpoint(today, after, true);
+            lastResult = "COMPLETED";
+            log.info("[NEIS prefetch] 완료 (schools={}, requests={}, failed={})",
+                    schoolsDone.get(), requestsDone.get(), requestsFailed.get());
+        } catch (Exception e) {
+            lastResult = "FAILED: " + e.getMessage();
+            log.error("[NEIS prefetch] 중단됨. 다음 실행 시 체크포인트({})부터 이어서 진행합니다.", checkpoint, e);
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 현재 진행 상황을 반환합니다.
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("running", running.get());
+        status.put("runDate", runDate);
+        status.put("startedAt", startedAt);
+        status.put("finishedAt", finishedAt);
+        status.put("resumed", resumed);
+        status.put("result", lastResult);
+        status.put("checkpoint", checkpoint == null ? null : checkpoint.toString());
+        status.put("schoolsDone", schoolsDone.get());
+        status.put("requestsDone", requestsDone.get());
+        status.put("requestsFailed", requestsFailed.get());
+        return status;
+    }
+
+    private void prefetchBatch(LocalDate today, List<SchoolKey> schools) {
+        Map<String, List<ClassKey>> classesBySchool = profileRepository
+                .findClassKeysBySchoolCodes(schools.stream().map(SchoolKey::schoolCode).toList())
+                .stream()
+                .filter(key -> SCHOOL_LEVELS.contains(key.level()))
+                .collect(Collectors.groupingBy(key -> key.scCode() + ":" + key.schoolCode()));
+
+        Flux.fromIterable(schools)
+                .concatMapIterable(school -> tasksOf(today, school, classesBySchool.getOrDefault(school.toString(), List.of())))
+                .flatMap(task -> task
+                        .contextWrite(NeisCache.forceRefresh())
+                        .contextWrite(NeisLane.BACKGROUND.context())
+                        .doOnSuccess(done -> requestsDone.incrementAndGet())
+                        .onErrorResume(e -> {
+                            requestsFailed.incrementAndGet();
+                            log.warn("[NEIS prefetch] 호출 실패: {}", e.getMessage());
+                            return Mono.empty();
+                        }), properties.getConcurrency())
+                .then()
+                .block();
+    }
+
+    /**
+     * 한 학교에 대해 미리 적재할 NEIS 호출 목록을 만듭니다. (캐시 단위와 같게 월/주 단위로 분리)
+     */
+    private List<Mono<Void>> tasksOf(LocalDate today, SchoolKey school, List<ClassKey> classes) {
+        List<Mono<Void>> tasks = new ArrayList<>();
+        String sc = school.scCode();
+        String code = school.schoolCode();
+
+        // 급식 : 이번 달 + 다음 달
+        YearMonth thisMonth = YearMonth.from(today);
+        for (YearMonth month : List.of(thisMonth, thisMonth.plusMonths(1))) {
+            String from = month.atDay(1).format(NEIS_DATE);
+            String to = month.atEndOfMonth().format(NEIS_DATE);
+            tasks.add(Mono.defer(() -> neisApiService.getMealInfoAsync(sc, code, from, to)).then());
+        }
+
+        // 학사일정 : 이번 달
+        String scheduleFrom = thisMonth.atDay(1).format(NEIS_DATE);
+        String scheduleTo = thisMonth.atEndOfMonth().format(NEIS_DATE);
+        tasks.add(Mono.defer(() -> neisApiService.getSchoolScheduleAsync(sc, code, scheduleFrom, scheduleTo)).then());
+
+        // 시간표 : 이번 주 (토/일요일이면 다음 주), 실제 학생이 있는 학년/반 조합만
+        LocalDate base = today.getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue()
+                ? today.with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                : today;
+        LocalDate monday = base.with(DayOfWeek.MONDAY);
+        String weekFrom = monday.format(NEIS_DATE);
+        String weekTo = monday.plusDays(6).format(NEIS_DATE);
+        for (ClassKey key : classes) {
+            tasks.add(Mono.defer(() -> neisApiService.getTimetableAsync(key.level(), sc, code, weekFrom, weekTo,
+                    String.valueOf(key.grade()), String.valueOf(key.classNo()), key.majorName())).then());
+        }
+        return tasks;
+    }
+
+    // ==================== 체크포인트 ====================
+
+    /**
+     * 오늘 날짜의 미완료 체크포인트가 있으면 마지막으로 끝낸 학교를 반환합니다. 없으면 null.
+     */
+    private SchoolKey loadCheckpoint(LocalDate today) {
+        Path path = Paths.get(properties.getCheckpointFile());
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties saved = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            saved.load(reader);
+        } catch (IOException e) {
+            log.warn("[NEIS prefetch] 체크포인트를 읽지 못해 처음부터 실행합니다: {}", e.getMessage());
+            return null;
+        }
+        if (!today.toString().equals(saved.getProperty("date")) || Boolean.parseBoolean(saved.getProperty("completed"))) {
+            return null;
+        }
+        return new SchoolKey(saved.getProperty("scCode", ""), saved.getProperty("schoolCode", ""));
+    }
+
+    private void saveCheckpoint(LocalDate today, SchoolKey after, boolean completed) {
+        Path path = Paths.get(properties.getCheckpointFile());
+        Properties saved = new Properties();
+        saved.setProperty("date", today.toString());
+        saved.setProperty("scCode", after.scCode());
+        saved.setProperty("schoolCode", after.schoolCode());
+        saved.setProperty("completed", String.valueOf(completed));
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            // 임시 파일에 쓴 뒤 교체하여, 저장 도중 중단되어도 이전 체크포인트가 깨지지 않도록 함
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                saved.store(writer, "NEIS prefetch checkpoint");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[NEIS prefetch] 체크포인트 저장 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.spring.schoolmate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.schoolmate.config.PhotoAnalysisProperties;
+import com.spring.schoolmate.dto.eatphoto.PhotoJobRes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 급식 사진 비동기 분석.
+ *
+ * - 업로드 요청은 파일 내용을 복사해 작업을 대기열에 넣고 바로 작업 ID를 돌려준다 (202)
+ * - 고정 크기 작업 스레드가 Firebase 업로드 -> Vision 분석 -> 라벨 번역/저장 -> 포인트 지급을 처리
+ * - 대기열이 가득 차면 RejectedExecutionException (컨트롤러에서 503 + Retry-After)
+ * - 결과는 작업 조회(폴링) 또는 SSE 스트림의 result 이벤트로 받는다
+ *
+ * 작업 상태는 인스턴스 메모리에만 보관하므로 (job-retention 동안) 업로드를 받은 인스턴스에서만 조회된다.
+ */
+@Service
+@Slf4j
+public class PhotoAnalysisJobService {
+
+  public enum Status { QUEUED, RUNNING, SUCCEEDED, FAILED }
+
+  private static final String STATUS_EVENT = "status";
+  private static final String RESULT_EVENT = "result";
+
+  private final EatPhotoService eatPhotoService;
+  private final IdempotencyService idempotencyService;
+  private final PhotoAnalysisProperties properties;
+  private final ThreadPoolExecutor executor;
+  private final Cache<String, PhotoJob> jobs;
+  private final Counter rejected;
+
+  public PhotoAnalysisJobService(EatPhotoService eatPhotoService,
+                                 IdempotencyService idempotencyService,
+                                 PhotoAnalysisProperties properties,
+                                 MeterRegistry meterRegistry) {
+    this.eatPhotoService = eatPhotoService;
+    this.idempotencyService = idempotencyService;
+    this.properties = properties;
+
+    AtomicInteger threadSeq = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(
+      properties.getWorkers(), properties.getWorkers(),
+      0L, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+      runnable -> {
+        Thread thread = new Thread(runnable, "photo-analysis-" + threadSeq.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      },
+      new ThreadPoolExecutor.AbortPolicy());
+    new ExecutorServiceMetrics(executor, "photo.analysis", Tags.empty()).bindTo(meterRegistry);
+
+    // 끝난 작업은 finish 에서 다시 put 하므로 완료 시점부터 job-retention 동안 보관
+    this.jobs = Caffeine.newBuilder()
+      .expireAfterWrite(properties.getJobRetention())
+      .build();
+    this.rejected = Counter.builder("photo.analysis.rejected")
+      .description("대기열이 가득 차 거절한 사진 분석 요청 수")
+      .register(meterRegistry);
+  }
+
+  /**
+   * 사진 분석 작업을 대기열에 넣습니다.
+   *
+   * @param studentId        업로드한 학생 ID
+   * @param photoData        사진 내용 (요청이 끝나면 MultipartFile 임시 파일이 지워지므로 복사본)
+   * @param originalFilename 원본 파일명
+   * @return 대기 중(QUEUED) 상태의 작업
+   * @throws RejectedExecutionException 대기열이 가득 찬 경우
+   */
+  public PhotoJobRes submit(Long studentId, byte[] photoData, String originalFilename) {
+    PhotoJob job = new PhotoJob(UUID.randomUUID().toString(), studentId);
+    // 업로드 요청의 Idempotency-Key 예약 (작업 스레드의 저장 트랜잭션에서 반영 표시)
+    Long reservationId = idempotencyService.currentReservation();
+    jobs.put(job.id, job);
+    try {
+      executor.execute(() -> run(job, photoData, originalFilename, reservationId));
+    } catch (RejectedExecutionException e) {
+      jobs.invalidate(job.id);
+      rejected.increment();
+      log.warn("[사진 분석] 대기열이 가득 차 요청을 거절합니다. studentId={}, queue={}", studentId, executor.getQueue().size());
+      throw e;
+    }
+    return job.toRes();
+  }
+
+  /**
+   * 작업 상태를 조회합니다. 다른 학생의 작업이거나 보관 기간이 지난 작업은 비어 있는 값.
+   */
+  public Optional<PhotoJobRes> getJob(String jobId, Long studentId) {
+    return findOwned(jobId, studentId).map(PhotoJob::toRes);
+  }
+
+  /**
+   * 작업 완료 이벤트 스트림을 엽니다.
+   * 연결 직후 현재 상태를 status 이벤트로 보내고, 작업이 끝나면 result 이벤트를 보낸 뒤 스트림을 닫습니다.
+   * (이미 끝난 작업이면 result 이벤트만 보내고 바로 닫음)
+   */
+  public Optional<SseEmitter> subscribe(String jobId, Long studentId) {
+    Optional<PhotoJob> found = findOwned(jobId, studentId);
+    if (found.isEmpty()) {
+      return Optional.empty();
+    }
+    PhotoJob job = found.get();
+    SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+    emitter.onCompletion(() -> job.removeEmitter(emitter));
+    emitter.onTimeout(() -> job.removeEmitter(emitter));
+    emitter.onError(e -> job.removeEmitter(emitter));
+
+    // 상태 확인과 구독 등록을 같은 잠금 안에서 처리해야 완료 이벤트를 놓치지 않는다
+    synchronized (job) {
+      if (job.isDone()) {
+        send(emitter, RESULT_EVENT, job.toRes());
+        emitter.complete();
+      } else {
+        send(emitter, STATUS_EVENT, job.toRes());
+        job.emitters.add(emitter);
+      }
+    }
+    return Optional.of(emitter);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("[사진 분석] 종료 대기 시간 초과 - 남은 작업 {}건을 중단합니다.", executor.shutdownNow().size());
+    }
+  }
+
+  private void run(PhotoJob job, byte[] photoData, String originalFilename, Long reservationId) {
+    job.start();
+    try {
+      String result = eatPhotoService.uploadAndAnalyzePhoto(photoData, originalFilename, job.studentId, reservationId);
+      finish(job, Status.SUCCEEDED, result);
+    } catch (Exception e) {
+      log.warn("[사진 분석] 작업 실패. jobId={}, studentId={}, {}", job.id, job.studentId, e.getMessage());
+      finish(job, Status.FAILED, e.getMessage());
+    }
+  }
+
+  private void finish(PhotoJob job, Status status, String message) {
+    List<SseEmitter> subscribers;
+    PhotoJobRes res;
+    synchronized (job) {
+      job.status = status;
+      job.message = message;
+      job.finishedAt = LocalDateTime.now();
+      subscribers = new ArrayList<>(job.emitters);
+      job.emitters.clear();
+      res = job.toRes();
+    }
+    jobs.put(job.id, job);
+
+    for (SseEmitter emitter : subscribers) {
+      send(emitter, RESULT_EVENT, res);
+      emitter.complete();
+    }
+  }
+
+  private Optional<PhotoJob> findOwned(String jobId, Long studentId) {
+    PhotoJob job = jobs.getIfPresent(jobId);
+    if (job == null || !job.studentId.equals(studentId)) {
+      return Optional.empty();
+    }
+    return Optional.of(job);
+  }
+
+  private static void send(SseEmitter emitter, String event, PhotoJobRes res) {
+    try {
+      emitter.send(SseEmitter.event().name(event).id(res.getJobId()).data(res));
+    } catch (IOException | IllegalStateException e) {
+      // 클라이언트가 이미 연결을 끊은 경우 - 폴링으로 결과를 확인할 수 있으므로 무시
+      log.debug("[사진 분석] 이벤트 전송 실패. jobId={}, {}", res.getJobId(), e.getMessage());
+    }
+  }
+
+  // 작업 상태 (필드 변경은 this 잠금 안에서)
+  private static final class PhotoJob {
+    private final String id;
+    private final Long studentId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private Status status = Status.QUEUED;
+    private String message;
+    private LocalDateTime finishedAt;
+
+    private PhotoJob(String id, Long studentId) {
+      this.id = id;
+      this.studentId = studentId;
+    }
+
+    synchronized void start() {
+      status = Status.RUNNING;
+    }
+
+    synchronized boolean isDone() {
+      return status == Status.SUCCEEDED || status == Status.FAILED;
+    }
+
+    synchronized void removeEmitter(SseEmitter emitter) {
+      emitters.remove(emitter);
+    }
+
+    synchronized PhotoJobRes toRes() {
+      return PhotoJobRes.builder()
+        .jobId(id)
+        .status(status.name())
+        .message(message)
+        .createdAt(createdAt)
+        .finishedAt(finishedAt)
+        .build();
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.config.PointExpiryProperties;
+import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.leaderboard.PointBalanceChangedEvent;
+import com.spring.schoolmate.repository.PointHistoryBatchRepository;
+import com.spring.schoolmate.repository.PointHistoryRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 포인트 만료 스위퍼.
+ * 만료 시각이 지난 적립 로트를 expires_at 인덱스로 batch-size 건씩 찾아서, batch 하나를 한 트랜잭션으로 처리합니다.
+ *
+ * batch 처리 순서
+ * 1. 만료 로트 후보 조회 (잠금 없음)
+ * 2. 해당 학생 행을 student_id 순서로 잠금 (단건 거래와 같은 잠금 순서)
+ * 3. 잠금 이후 로트 상태 재확인 (그 사이 차감으로 소진/변경된 로트 반영)
+ * 4. 학생별 만료 포인트만큼 잔액을 UPDATE 한 번으로 차감
+ * 5. 로트 닫기 (UPDATE 한 번) 후 학생별 만료 거래 내역을 JDBC 배치로 INSERT
+ *
+ * 학생 행 잠금은 batch 하나의 트랜잭션 동안만 유지됩니다.
+ */
+@Service
+@Slf4j
+public class PointExpiryService {
+
+  private static final String EXPIRE_REF_TYPE = "포인트 만료";
+
+  private final PointHistoryRepository pointHistoryRepository;
+  private final PointHistoryBatchRepository pointHistoryBatchRepository;
+  private final StudentRepository studentRepository;
+  private final PointExpiryProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  private final Counter expiredLots;
+  private final Counter expiredPoints;
+  private final Counter debitedStudents;
+  private final Timer batchTimer;
+
+  public PointExpiryService(PointHistoryRepository pointHistoryRepository,
+                            PointHistoryBatchRepository pointHistoryBatchRepository,
+                            StudentRepository studentRepository,
+                            PointExpiryProperties properties,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry) {
+    this.pointHistoryRepository = pointHistoryRepository;
+    this.pointHistoryBatchRepository = pointHistoryBatchRepository;
+    this.studentRepository = studentRepository;
+    this.properties = properties;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+
+    this.expiredLots = Counter.builder("point.expiry.lots")
+      .description("만료 처리한 적립 로트 수").register(meterRegistry);
+    this.expiredPoints = Counter.builder("point.expiry.points")
+      .description("만료로 차감한 포인트 합계").register(meterRegistry);
+    this.debitedStudents = Counter.builder("point.expiry.students")
+      .description("만료 차감 거래를 기록한 학생 수 (batch 단위 누적)").register(meterRegistry);
+    this.batchTimer = Timer.builder("point.expiry.batch")
+      .description("만료 batch 1건 처리 시간").register(meterRegistry);
+  }
+
+  /**
+   * 스케줄 실행. point.expiry.enabled=false 이면 건너뜁니다.
+   */
+  @Scheduled(fixedDelayString = "${point.expiry.sweep-interval:10m}", initialDelayString = "${point.expiry.sweep-interval:10m}")
+  public void scheduledSweep() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    sweep();
+  }
+
+  /**
+   * 만료 로트가 없거나 max-batches 에 도달할 때까지 batch 를 반복합니다.
+   * @return 이번 실행에서 만료 처리한 로트 수
+   */
+  public long sweep() {
+    if (!running.compareAndSet(false, true)) {
+      log.warn("[포인트 만료] 이미 실행 중입니다.");
+      return 0;
+    }
+    try {
+      long total = 0;
+      for (int batch = 0; batch < properties.getMaxBatches(); batch++) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Integer processed = batchTimer.record(() -> transactionTemplate.execute(status -> expireBatch(now)));
+        if (processed == null || processed == 0) {
+          break;
+        }
+        total += processed;
+      }
+      if (total > 0) {
+        log.info("[포인트 만료] 로트 {}건 만료 처리", total);
+      }
+      return total;
+    } catch (RuntimeException e) {
+      log.error("[포인트 만료] 만료 처리 중 오류 발생", e);
+      throw e;
+    } finally {
+      running.set(false);
+    }
+  }
+
+  // batch 하나 처리 (트랜잭션 안에서 호출) - 후보 로트 수를 반환 (0 이면 더 이상 만료 대상 없음)
+  private int expireBatch(Timestamp now) {
+    // 1. 만료 로트 후보
+    List<Object[]> candidates = pointHistoryRepository.findExpiredLots(now, properties.getBatchSize());
+    if (candidates.isEmpty()) {
+      return 0;
+    }
+    Set<Long> candidateIds = new LinkedHashSet<>();
+    Set<Long> studentIds = new LinkedHashSet<>();
+    for (Object[] row : candidates) {
+      candidateIds.add(((Number) row[0]).longValue());
+      studentIds.add(((Number) row[1]).longValue());
+    }
+
+    // 2. 학생 행 잠금 및 현재 잔액
+    Map<Long, Integer> balances = new HashMap<>();
+    for (Object[] row : studentRepository.lockPointBalances(studentIds)) {
+      balances.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+    }
+
+    // 3. 잠금 이후 로트 재확인 (학생별 만료 포인트 합계)
+    List<Long> lotIds = new ArrayList<>();
+    Map<Long, Integer> expiringByStudent = new TreeMap<>();
+    for (Object[] row : pointHistoryRepository.findExpiredLotsByIds(candidateIds, now)) {
+      lotIds.add(((Number) row[0]).longValue());
+      int remaining = row[2] == null ? 0 : ((Number) row[2]).intValue();
+      expiringByStudent.merge(((Number) row[1]).longValue(), remaining, Integer::sum);
+    }
+    if (lotIds.isEmpty()) {
+      // 후보가 모두 그 사이 소진됨 - 다음 batch 에서 이어서 확인
+      return candidates.size();
+    }
+
+    // 4. 잔액 차감 (UPDATE 한 번) - 잔액보다 많이 만료되지는 않음
+    studentRepository.debitExpiredLots(expiringByStudent.keySet(), lotIds);
+
+    // 5. 로트 닫기 + 학생별 만료 거래 내역
+    pointHistoryRepository.closeLots(lotIds);
+
+    List<PointHistory> debits = new ArrayList<>();
+    Map<Long, Integer> newBalances = new HashMap<>();
+    int debitedPoints = 0;
+    for (Map.Entry<Long, Integer> entry : expiringByStudent.entrySet()) {
+      Integer balance = balances.get(entry.getKey());
+      if (balance == null) {
+        continue; // 삭제된 학생
+      }
+      int debit = Math.min(entry.getValue(), balance);
+      if (debit <= 0) {
+        continue;
+      }
+      debits.add(PointHistory.builder()
+        .student(Student.builder().studentId(entry.getKey()).build())
+        .tsType(PointHistoryService.EXPIRE_TS_TYPE)
+        .amount(-debit)
+        .balanceAfter(balance - debit)
+        .refType(EXPIRE_REF_TYPE)
+        .createdAt(now)
+        .build());
+      debitedPoints += debit;
+      newBalances.put(entry.getKey(), balance - debit);
+    }
+    pointHistoryBatchRepository.insertAll(debits);
+    eventPublisher.publishEvent(PointBalanceChangedEvent.of(newBalances));
+
+    expiredLots.increment(lotIds.size());
+    expiredPoints.increment(debitedPoints);
+    debitedStudents.increment(debits.size());
+    return candidates.size();
+  }
+}
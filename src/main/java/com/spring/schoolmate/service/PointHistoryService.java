@@ -2,33 +2,62 @@
 
 package com.spring.schoolmate.service;
 
+import com.spring.schoolmate.config.PointExpiryProperties;
+import com.spring.schoolmate.dto.admin.BulkPointGrantReq;
+import com.spring.schoolmate.dto.admin.BulkPointGrantRes;
+import com.spring.schoolmate.dto.common.CursorCodec;
+import com.spring.schoolmate.dto.common.CursorPage;
 import com.spring.schoolmate.dto.pointhistory.PointHistoryReq;
+import com.spring.schoolmate.dto.pointhistory.PointHistoryRes;
+import com.spring.schoolmate.dto.pointhistory.PointSummaryRes;
 import com.spring.schoolmate.entity.PointHistory;
 import com.spring.schoolmate.entity.Student;
 import com.spring.schoolmate.entity.Role;
-import com.spring.schoolmate.exception.NotFoundException;
+import com.spring.schoolmate.entity.StudentStats;
+import com.spring.schoolmate.leaderboard.PointBalanceChangedEvent;
+import com.spring.schoolmate.repository.PointHistoryBatchRepository;
 import com.spring.schoolmate.repository.PointHistoryRepository;
+import com.spring.schoolmate.repository.ProfileRepository;
 import com.spring.schoolmate.repository.StudentRepository;
+import com.spring.schoolmate.repository.StudentStatsRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp; // 올바른 SQL Timestamp 사용
-import java.time.LocalDate;
-import java.time.LocalDateTime; // LocalDateTime 추가
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Slf4j
 public class PointHistoryService {
 
   private final PointHistoryRepository pointHistoryRepository;
   private final StudentService studentService;
   private final StudentRepository studentRepository;
+  private final StudentStatsRepository studentStatsRepository;
+  private final ProfileRepository profileRepository;
+  private final PointHistoryBatchRepository pointHistoryBatchRepository;
+  private final PointExpiryProperties expiryProperties;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private static final String MEAL_PHOTO_REF_TYPE = "급식 사진 업로드";
+  private static final String ATTENDANCE_REF_TYPE = "출석 체크";
+  static final String EXPIRE_TS_TYPE = "EXPIRE"; // 만료 차감 (사용 포인트 집계에서 제외)
+  private static final String BULK_GRANT_REF_TYPE = "관리자 일괄 지급";
+  private static final String BULK_GRANT_TS_TYPE = "ADMIN_GIVE";
+  private static final int BULK_GRANT_MAX_AMOUNT = 1_000_000;
+  private static final int BULK_UPDATE_CHUNK = 1_000; // UPDATE ... IN (...) 한 번에 넣는 학생 수
 
   /**
    * 특정 학생의 현재 보유 포인트를 이메일로 조회.
@@ -50,6 +79,29 @@ public class PointHistoryService {
     return pointHistoryRepository.findByStudentOrderByCreatedAtDesc(student);
   }
 
+  /**
+   * 특정 학생의 포인트 거래 내역을 커서 기반으로 조회. (최신순, (createdAt, phId) keyset)
+   * @param email  학생 이메일
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+   * @param size   페이지 크기
+   */
+  public CursorPage<PointHistoryRes> getHistoryPageByStudentEmail(String email, String cursor, Integer size) {
+    Student student = studentService.findByEmail(email)
+      .orElseThrow(() -> new NoSuchElementException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
+
+    int pageSize = CursorPage.clampSize(size);
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+    List<PointHistory> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = pointHistoryRepository.findPageByStudent(student, limit);
+    } else {
+      CursorCodec.TimeKey key = CursorCodec.decodeTimeKey(cursor);
+      rows = pointHistoryRepository.findPageByStudentAfter(student, key.at(), key.id(), limit);
+    }
+    return CursorPage.of(rows, pageSize, last -> CursorCodec.encode(last.getCreatedAt(), last.getPhId()))
+      .map(PointHistoryRes::fromEntity);
+  }
+
   /**
    * 새로운 포인트 거래 내역을 기록하고, 학생의 총 포인트 잔액을 업데이트.
    * 모든 트랜잭션 기록의 핵심 로직.
@@ -58,22 +110,16 @@ public class PointHistoryService {
   public PointHistory recordTransaction(PointHistory history) {
     Student student = history.getStudent();
 
-    Integer currentBalance = student.getPointBalance();
-    Integer newBalance = currentBalance + history.getAmount();
-
-    if (newBalance < 0) {
-      // 잔액 부족 오류 발생 시 메시지를 포함하여 throw
-      throw new IllegalArgumentException("포인트 잔액이 부족하여 거래를 기록할 수 없습니다. 필요한 포인트: " + (-history.getAmount()));
-    }
-
-    // history 엔티티에 최종 잔액을 기록
+    // 잔액은 DB에서 원자적으로 변경하고, 변경된 잔액을 history 엔티티에 최종 잔액으로 기록
+    int newBalance = applyBalanceChange(student, history.getAmount(),
+      "포인트 잔액이 부족하여 거래를 기록할 수 없습니다. 필요한 포인트: " + (-history.getAmount()));
     history.setBalanceAfter(newBalance);
 
-    // Student 엔티티의 잔액을 업데이트하고 저장 (잔액 변경 사항 커밋)
-    student.setPointBalance(newBalance);
-    studentRepository.save(student);
+    // 적립이면 만료 로트로 열고, 차감이면 만료가 가까운 로트부터 소진
+    applyLots(student.getStudentId(), history);
 
-    // PointHistory 엔티티 저장
+    // 학생별 집계 갱신 후 PointHistory 엔티티 저장
+    applyStats(student.getStudentId(), history);
     return pointHistoryRepository.save(history);
   }
 
@@ -92,14 +138,8 @@ public class PointHistoryService {
     Student student = studentRepository.findById(studentId)
       .orElseThrow(() -> new NoSuchElementException("학생을 찾을 수 없습니다."));
 
-    // 2. 잔액 업데이트
-    int newBalance = student.getPointBalance() + amount;
-    if (newBalance < 0) {
-      // 이 오류는 ProductExchangeService에서 이미 걸러졌지만, 안전을 위해 유지
-      throw new IllegalArgumentException("잔액 부족");
-    }
-    student.setPointBalance(newBalance);
-    studentRepository.save(student);
+    // 2. 잔액 업데이트 (ProductExchangeService에서 이미 걸렀더라도 동시 차감은 여기서 최종 차단)
+    int newBalance = applyBalanceChange(student, amount, "잔액 부족");
 
     // 3. PointHistory 엔티티 생성 및 저장
     PointHistory history = new PointHistory();
@@ -112,9 +152,193 @@ public class PointHistoryService {
 
     history.setCreatedAt(new Timestamp(System.currentTimeMillis()));
 
+    applyLots(studentId, history);
+    applyStats(studentId, history);
     pointHistoryRepository.save(history);
   }
 
+  /**
+   * 학교 / 학년 / 반 단위로 포인트를 일괄 지급. (관리자 이벤트 지급용)
+   * 대상 학생 ID 를 한 번에 조회한 뒤, 잔액은 UPDATE ... IN 한 번(최대 BULK_UPDATE_CHUNK 명씩)으로 더하고
+   * 거래 내역은 JDBC 배치 INSERT 로 기록하므로 학생 수와 관계없이 한 트랜잭션 안에서 몇 번의 왕복으로 끝납니다.
+   * 지급(양수)이고 refType 이 집계 대상이 아니므로 학생별 집계(StudentStats)는 변하지 않습니다.
+   * 지급분은 각각 만료 로트로 기록됩니다.
+   *
+   * @return 지급 결과 (지급된 학생 수, 1명당 포인트, 사유)
+   */
+  @Transactional
+  public BulkPointGrantRes grantPointsBulk(BulkPointGrantReq req) {
+    if (req.getSchoolCode() == null || req.getSchoolCode().isBlank()) {
+      throw new IllegalArgumentException("학교 코드는 필수입니다.");
+    }
+    if (req.getClassNo() != null && req.getGrade() == null) {
+      throw new IllegalArgumentException("반을 지정하려면 학년도 함께 지정해야 합니다.");
+    }
+    Integer amount = req.getAmount();
+    if (amount == null || amount <= 0 || amount > BULK_GRANT_MAX_AMOUNT) {
+      throw new IllegalArgumentException("지급 포인트는 1 이상 " + BULK_GRANT_MAX_AMOUNT + " 이하여야 합니다.");
+    }
+    String reason = (req.getReason() == null || req.getReason().isBlank()) ? BULK_GRANT_REF_TYPE : req.getReason().trim();
+    if (reason.length() > 50) {
+      throw new IllegalArgumentException("지급 사유는 50자 이하여야 합니다.");
+    }
+    if (MEAL_PHOTO_REF_TYPE.equals(reason) || ATTENDANCE_REF_TYPE.equals(reason)) {
+      throw new IllegalArgumentException("시스템에서 사용하는 사유(" + reason + ")로는 지급할 수 없습니다.");
+    }
+
+    // 1. 대상 학생 선정
+    List<Long> studentIds = profileRepository.findStudentIdsBySchoolClass(
+      req.getSchoolCode(), req.getGrade(), req.getClassNo());
+
+    // 2. 잔액 일괄 증가 후 (행 잠금이 유지된 상태에서) 변경된 잔액으로 거래 내역 생성
+    Timestamp now = new Timestamp(System.currentTimeMillis());
+    List<PointHistory> histories = new ArrayList<>(studentIds.size());
+    Map<Long, Integer> balances = new HashMap<>();
+    for (int from = 0; from < studentIds.size(); from += BULK_UPDATE_CHUNK) {
+      List<Long> chunk = studentIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK, studentIds.size()));
+      studentRepository.addPointBalanceAll(chunk, amount);
+      for (Object[] row : studentRepository.findPointBalances(chunk)) {
+        balances.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        histories.add(PointHistory.builder()
+          .student(Student.builder().studentId(((Number) row[0]).longValue()).build())
+          .tsType(BULK_GRANT_TS_TYPE)
+          .amount(amount)
+          .balanceAfter(((Number) row[1]).intValue())
+          .refType(reason)
+          .createdAt(now)
+          .remaining(expiryProperties.isEnabled() ? amount : null)
+          .expiresAt(lotExpiry(now))
+          .build());
+      }
+    }
+
+    // 3. 거래 내역 배치 INSERT
+    pointHistoryBatchRepository.insertAll(histories);
+    eventPublisher.publishEvent(PointBalanceChangedEvent.of(balances));
+    log.info("[포인트 일괄 지급] 학교={} 학년={} 반={} 사유={} : {}명 x {}P",
+      req.getSchoolCode(), req.getGrade(), req.getClassNo(), reason, histories.size(), amount);
+
+    return BulkPointGrantRes.builder()
+      .grantedCount(histories.size())
+      .amount(amount)
+      .reason(reason)
+      .build();
+  }
+
+  /**
+   * 학생의 포인트 잔액을 amount 만큼 변경하고 변경된 잔액을 반환.
+   * 조회 후 더해서 저장하지 않고 조건부 UPDATE 한 번으로 처리하므로, 같은 학생에 대한 동시 거래에도 잔액이 어긋나지 않습니다.
+   * 영속성 컨텍스트의 Student 값도 변경된 잔액으로 맞춰 둡니다. (응답 DTO 변환용, DB에는 다시 쓰지 않음)
+   */
+  private int applyBalanceChange(Student student, int amount, String insufficientMessage) {
+    Long studentId = student.getStudentId();
+    if (studentRepository.addPointBalance(studentId, amount) == 0) {
+      if (!studentRepository.existsById(studentId)) {
+        throw new NoSuchElementException("ID " + studentId + "에 해당하는 학생을 찾을 수 없습니다.");
+      }
+      throw new IllegalArgumentException(insufficientMessage);
+    }
+    int newBalance = studentRepository.findPointBalance(studentId);
+    student.setPointBalance(newBalance);
+    // 커밋 후 순위표 반영
+    eventPublisher.publishEvent(PointBalanceChangedEvent.of(Map.of(studentId, newBalance)));
+    return newBalance;
+  }
+
+  /**
+   * 포인트 만료 로트 처리. (잔액 UPDATE 로 학생 행이 잠긴 뒤에 호출)
+   * - 적립 : 적립액 전체를 remaining 으로 두고 validity 뒤의 만료 시각을 기록
+   * - 차감 : 아직 만료되지 않은 로트를 만료 임박 순으로 소진 (다 쓴 로트는 만료 인덱스에서 빠지도록 expiresAt 을 비움)
+   *          로트로 추적되지 않는 기존 적립분은 만료되지 않는 잔액으로 보고, 로트가 모자라면 그만큼에서 차감된 것으로 봄
+   */
+  private void applyLots(Long studentId, PointHistory history) {
+    int amount = history.getAmount();
+    if (amount > 0 && expiryProperties.isEnabled()) {
+      Timestamp createdAt = history.getCreatedAt() != null
+        ? history.getCreatedAt() : new Timestamp(System.currentTimeMillis());
+      history.setRemaining(amount);
+      history.setExpiresAt(lotExpiry(createdAt));
+      return;
+    }
+    // 요청 본문으로 넘어온 값은 사용하지 않음
+    history.setRemaining(null);
+    history.setExpiresAt(null);
+    if (amount >= 0) {
+      return;
+    }
+
+    int toConsume = -amount;
+    for (PointHistory lot : pointHistoryRepository.findOpenLots(studentId, new Timestamp(System.currentTimeMillis()))) {
+      int used = Math.min(toConsume, lot.getRemaining());
+      lot.setRemaining(lot.getRemaining() - used);
+      if (lot.getRemaining() == 0) {
+        lot.setExpiresAt(null);
+      }
+      toConsume -= used;
+      if (toConsume == 0) {
+        break;
+      }
+    }
+  }
+
+  // 적립 시각 기준 로트 만료 시각 (만료 비활성화 시 null)
+  private Timestamp lotExpiry(Timestamp createdAt) {
+    if (!expiryProperties.isEnabled()) {
+      return null;
+    }
+    return Timestamp.from(createdAt.toInstant().plus(expiryProperties.getValidity()));
+  }
+
+  /**
+   * 거래 1건만큼 학생별 집계(StudentStats)를 증감.
+   * 잔액 UPDATE 로 학생 행이 잠긴 뒤에 호출되므로, 같은 학생의 집계 행이 동시에 두 번 만들어지지 않습니다.
+   */
+  private void applyStats(Long studentId, PointHistory history) {
+    int mealPhotos = "EARN".equals(history.getTsType()) && MEAL_PHOTO_REF_TYPE.equals(history.getRefType()) ? 1 : 0;
+    int usedPoints = history.getAmount() < 0 && !EXPIRE_TS_TYPE.equals(history.getTsType()) ? -history.getAmount() : 0;
+    int attendances = ATTENDANCE_REF_TYPE.equals(history.getRefType()) ? 1 : 0;
+
+    if (studentStatsRepository.addCounts(studentId, mealPhotos, usedPoints, attendances) == 0) {
+      studentStatsRepository.save(StudentStats.builder()
+        .studentId(studentId)
+        .mealPhotoCount(mealPhotos)
+        .usedPoints(usedPoints)
+        .attendanceCount(attendances)
+        .build());
+    }
+  }
+
+  /**
+   * 학생별 집계 테이블이 비어 있으면 (최초 배포 시) 포인트 내역 전체로부터 한 번 만들어 둡니다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void rebuildStatsIfEmpty() {
+    if (studentStatsRepository.count() > 0) {
+      return;
+    }
+    List<StudentStats> stats = studentStatsRepository.aggregateFromPointHistory().stream()
+      .map(row -> StudentStats.builder()
+        .studentId((Long) row[0])
+        .mealPhotoCount(((Number) row[1]).intValue())
+        .usedPoints(((Number) row[2]).intValue())
+        .attendanceCount(((Number) row[3]).intValue())
+        .build())
+      .toList();
+    if (!stats.isEmpty()) {
+      studentStatsRepository.saveAll(stats);
+      log.info("[포인트 집계] 포인트 내역으로부터 학생 {}명의 집계 적재", stats.size());
+    }
+  }
+
+  /**
+   * 로그인된 학생의 마이페이지 포인트 요약(잔액, 급식 사진 업로드 횟수, 사용 포인트, 출석 횟수)을 한 번에 조회.
+   */
+  public PointSummaryRes getSummaryByStudentEmail(String email) {
+    return studentStatsRepository.findSummaryByEmail(email)
+      .orElseThrow(() -> new NoSuchElementException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
+  }
+
   /**
    * 학생 ID를 기반으로 포인트를 지급하고 거래 내역을 기록.
    * (EatPhotoService와 같은 다른 서비스에서 호출하는 용도)
@@ -167,12 +391,8 @@ public class PointHistoryService {
    * (Controller의 GET /api/point-history/student/me/meal-count 에서 호출됩니다.)
    */
   public Integer getMealPhotoUploadCountByStudentEmail(String email) {
-    // 1. 이메일로 학생 찾기
-    Student student = studentService.findByEmail(email)
-      .orElseThrow(() -> new NoSuchElementException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
-
-    // 2. 💡 수정된 로직: refType='급식 사진 업로드' and tsType='EARN' 인 내역 횟수 조회
-    return pointHistoryRepository.countMealPhotoUploads(student);
+    // refType='급식 사진 업로드' and tsType='EARN' 인 내역 횟수 (학생별 집계에서 조회)
+    return getSummaryByStudentEmail(email).getMealPhotoCount();
   }
 
   /**
@@ -182,112 +402,7 @@ public class PointHistoryService {
    * @return 사용한 포인트 총합 (amount < 0 인 내역의 절댓값 합산)
    */
   public Integer getSumOfUsedPointsByStudentEmail(String email) {
-    // 1. 이메일로 학생 찾기
-    Student student = studentService.findByEmail(email)
-      .orElseThrow(() -> new NoSuchElementException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
-
-    // 2. Repository를 통해 사용된 포인트 총합 조회
-    return pointHistoryRepository.sumUsedPointsByStudent(student);
-  }
-
-  // =========================================================================
-  // 💡 출석 체크 포인트 지급 및 조회 로직 (중복 제거 및 최종 로직)
-  // =========================================================================
-
-  /**
-   * 학생 ID를 기반으로 출석 체크 포인트를 지급하고 거래 내역을 기록.
-   * (AttendController에서 호출됨)
-   *
-   * @param studentId 포인트를 지급받을 학생의 ID
-   * @return 저장된 PointHistory 객체
-   */
-  @Transactional
-  public PointHistory addAttendancePoint(Long studentId) {
-    final int ATTENDANCE_POINT = 500;
-    final String REF_TYPE = "출석 체크"; // PointHistory 엔티티의 refType 값
-    final String TS_TYPE = "ATTENDANCE"; // 트랜잭션 타입
-
-    // 1. 학생 엔티티 조회
-    Student student = studentRepository.findById(studentId)
-      .orElseThrow(() -> new NoSuchElementException("ID " + studentId + "에 해당하는 학생을 찾을 수 없습니다."));
-
-    // 2. 출석 중복 체크 (핵심 비즈니스 로직)
-    // 오늘 0시 0분 0초 (Local) 이후의 기록을 확인하여 중복 체크
-    boolean alreadyAttended = pointHistoryRepository.existsByStudentAndRefTypeAndCreatedAtAfter(
-      student,
-      REF_TYPE,
-      Timestamp.valueOf(LocalDate.now().atStartOfDay())
-    );
-
-    if (alreadyAttended) {
-      throw new IllegalStateException("이미 오늘 출석 체크를 완료했습니다.");
-    }
-
-    // 3. 새로운 PointHistory 엔티티 생성
-    PointHistory history = PointHistory.builder()
-      .student(student)
-      .amount(ATTENDANCE_POINT)
-      .refType(REF_TYPE)
-      .tsType(TS_TYPE)
-      .createdAt(new Timestamp(System.currentTimeMillis()))
-      .build();
-
-    // 4. 핵심 로직 호출 (잔액 업데이트 및 DB 기록)
-    return recordTransaction(history);
-  }
-
-  /**
-   * 로그인된 학생의 전체 누적 출석 일수를 조회합니다. (AttendController에서 호출됨)
-   * @param email 학생 이메일
-   * @return 누적 출석 일수 (Integer)
-   */
-  public Integer getAttendanceCountByStudentEmail(String email) {
-    Student student = studentService.findByEmail(email)
-      .orElseThrow(() -> new NotFoundException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
-
-    final String REF_TYPE = "출석 체크"; // PointHistory 엔티티의 refType 값
-
-    // PointHistoryRepository에 해당 학생의 출석 기록 횟수를 조회하는 메서드 필요
-    return pointHistoryRepository.countByStudentAndRefType(student, REF_TYPE);
-  }
-
-  /**
-   * 로그인된 학생의 특정 연/월에 출석한 날짜 리스트를 조회합니다. (AttendController에서 호출됨)
-   * @param email 학생 이메일
-   * @param year 조회할 연도
-   * @param month 조회할 월
-   * @return 해당 월에 출석한 날짜 문자열 리스트 (예: ["2025-10-01", "2025-10-02", ...])
-   */
-  public List<String> getAttendanceDatesByStudentEmailAndMonth(String email, int year, int month) {
-    Student student = studentService.findByEmail(email)
-      .orElseThrow(() -> new NotFoundException("이메일 " + email + "에 해당하는 학생을 찾을 수 없습니다."));
-
-    final String REF_TYPE = "출석 체크";
-
-    // 1. 해당 월의 시작일과 마지막일 계산
-    LocalDate startOfMonth = LocalDate.of(year, month, 1);
-    LocalDate endOfMonth = startOfMonth.withDayOfMonth(startOfMonth.lengthOfMonth());
-
-    // 해당 월의 시작 시간 (00:00:00)
-    Timestamp startTimestamp = Timestamp.valueOf(startOfMonth.atStartOfDay());
-    // 해당 월의 마지막 시간 (23:59:59.999...)
-    // 또는 다음 달 1일 00:00:00 미만으로 설정하는 것이 DB 쿼리에서 더 명확할 수 있습니다.
-    LocalDateTime nextMonthStart = startOfMonth.plusMonths(1).atStartOfDay();
-    Timestamp endTimestamp = Timestamp.valueOf(nextMonthStart);
-
-    // 2. PointHistoryRepository에 해당 학생의 특정 기간 출석 기록을 조회하는 메서드 필요
-    List<PointHistory> historyList = pointHistoryRepository.findByStudentAndRefTypeAndCreatedAtBetween(
-      student,
-      REF_TYPE,
-      startTimestamp,
-      endTimestamp
-    );
-
-    // 3. PointHistory 리스트에서 생성 날짜(CreatedAt)만 추출하여 "YYYY-MM-DD" 형식의 문자열로 변환
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    return historyList.stream()
-      .map(history -> history.getCreatedAt().toLocalDateTime().toLocalDate().format(formatter))
-      .distinct() // 중복된 날짜 제거 (하루에 여러 번 출석 기록이 있다면)
-      .collect(Collectors.toList());
+    // 학생별 집계에서 조회 (point_history 를 합산하지 않음)
+    return getSummaryByStudentEmail(email).getUsedPoints();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.config.PointReconcileProperties;
+import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.leaderboard.PointBalanceChangedEvent;
+import com.spring.schoolmate.repository.PointHistoryRepository;
+import com.spring.schoolmate.repository.PointReconcileRepository;
+import com.spring.schoolmate.repository.PointReconcileRepository.LedgerTotals;
+import com.spring.schoolmate.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 장부 정합성 점검.
+ * 학생별로 Student.pointBalance, point_history 의 amount 합계, 마지막 거래의 balance_after 가 모두 같은지 확인합니다.
+ *
+ * - student_id 범위를 chunk-size 단위로 나누어 ForkJoinPool(parallelism) 에서 병렬로 집계 (범위별 GROUP BY, 잠금 없음)
+ * - 집계 도중 바뀐 학생 때문에 생긴 오탐을 거르기 위해, 불일치 학생만 학생 행을 잠그고 다시 확인 (학생 1명 단위의 짧은 트랜잭션)
+ * - repair 모드 : 장부(amount 합계)를 기준으로 잔액을 맞추고, amount 0 의 보정 거래(balance_after = 합계)를 남김
+ * - 결과는 actuator(/actuator/pointreconcile)로 확인합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PointReconcileService {
+
+  private static final String RECONCILE_TS_TYPE = "RECONCILE";
+  private static final String RECONCILE_REF_TYPE = "잔액 정합성 보정";
+
+  private final PointReconcileRepository reconcileRepository;
+  private final StudentRepository studentRepository;
+  private final PointHistoryRepository pointHistoryRepository;
+  private final PointReconcileProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final AtomicBoolean running = new AtomicBoolean(false);
+
+  /**
+   * 불일치 학생
+   */
+  public record Mismatch(long studentId, int pointBalance, long ledgerSum, Integer lastBalanceAfter, boolean repaired) {
+  }
+
+  // 진행 상황 및 마지막 리포트 (actuator 노출용)
+  private volatile boolean repairMode;
+  private volatile LocalDateTime startedAt;
+  private volatile LocalDateTime finishedAt;
+  private volatile String lastResult;
+  private volatile List<Mismatch> mismatches = List.of();
+  private final AtomicLong studentsChecked = new AtomicLong();
+  private final AtomicLong ledgerRows = new AtomicLong();
+  private final AtomicLong mismatchCount = new AtomicLong();
+  private final AtomicLong repairedCount = new AtomicLong();
+
+  /**
+   * 별도 스레드에서 점검을 시작합니다. (actuator 수동 실행용)
+   * @return 이미 실행 중이면 false
+   */
+  public boolean startAsync(boolean repair) {
+    if (running.get()) {
+      return false;
+    }
+    Schedulers.boundedElastic().schedule(() -> run(repair));
+    return true;
+  }
+
+  /**
+   * 전체 학생을 점검합니다.
+   * @param repair true 이면 확인된 불일치를 장부 기준으로 보정
+   */
+  public void run(boolean repair) {
+    if (!running.compareAndSet(false, true)) {
+      log.warn("[포인트 정합성] 이미 실행 중입니다.");
+      return;
+    }
+    ForkJoinPool pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+    try {
+      repairMode = repair;
+      startedAt = LocalDateTime.now();
+      finishedAt = null;
+      lastResult = "RUNNING";
+      studentsChecked.set(0);
+      ledgerRows.set(0);
+      mismatchCount.set(0);
+      repairedCount.set(0);
+
+      long from = reconcileRepository.minStudentId();
+      long to = reconcileRepository.maxStudentId();
+      List<Mismatch> found = from > to ? List.of() : pool.invoke(new RangeTask(from, to, repair));
+
+      mismatches = found;
+      lastResult = "COMPLETED";
+      log.info("[포인트 정합성] 학생 {}명, 거래 {}건 점검 - 불일치 {}명, 보정 {}명 ({})",
+        studentsChecked.get(), ledgerRows.get(), mismatchCount.get(), repairedCount.get(), repair ? "repair" : "report");
+    } catch (RuntimeException e) {
+      lastResult = "FAILED: " + e.getMessage();
+      log.error("[포인트 정합성] 점검 중 오류 발생", e);
+    } finally {
+      finishedAt = LocalDateTime.now();
+      pool.shutdown();
+      running.set(false);
+    }
+  }
+
+  public Map<String, Object> status() {
+    Map<String, Object> status = new LinkedHashMap<>();
+    status.put("running", running.get());
+    status.put("repairMode", repairMode);
+    status.put("startedAt", startedAt);
+    status.put("finishedAt", finishedAt);
+    status.put("result", lastResult);
+    status.put("studentsChecked", studentsChecked.get());
+    status.put("ledgerRows", ledgerRows.get());
+    status.put("mismatchCount", mismatchCount.get());
+    status.put("repairedCount", repairedCount.get());
+    status.put("mismatches", mismatches);
+    return status;
+  }
+
+  // student_id 범위를 chunk-size 이하가 될 때까지 나누어 병렬 집계
+  private class RangeTask extends RecursiveTask<List<Mismatch>> {
+
+    private final long fromId;
+    private final long toId;
+    private final boolean repair;
+
+    RangeTask(long fromId, long toId, boolean repair) {
+      this.fromId = fromId;
+      this.toId = toId;
+      this.repair = repair;
+    }
+
+    @Override
+    protected List<Mismatch> compute() {
+      if (toId - fromId + 1 <= properties.getChunkSize()) {
+        return checkRange(fromId, toId, repair);
+      }
+      long mid = fromId + (toId - fromId) / 2;
+      RangeTask left = new RangeTask(fromId, mid, repair);
+      RangeTask right = new RangeTask(mid + 1, toId, repair);
+      left.fork();
+      List<Mismatch> result = new ArrayList<>(right.compute());
+      result.addAll(0, left.join());
+      return result.size() > properties.getMaxReported() ? result.subList(0, properties.getMaxReported()) : result;
+    }
+  }
+
+  // 범위 하나 집계 후 불일치 학생만 잠금 재확인
+  private List<Mismatch> checkRange(long fromId, long toId, boolean repair) {
+    Map<Long, Integer> balances = reconcileRepository.findBalances(fromId, toId);
+    Map<Long, LedgerTotals> ledger = reconcileRepository.findLedgerTotals(fromId, toId);
+    studentsChecked.addAndGet(balances.size());
+    ledger.values().forEach(totals -> ledgerRows.addAndGet(totals.rows()));
+
+    List<Mismatch> result = new ArrayList<>();
+    balances.forEach((studentId, balance) -> {
+      LedgerTotals totals = ledger.getOrDefault(studentId, new LedgerTotals(0, 0, null));
+      if (!isConsistent(balance, totals)) {
+        Mismatch confirmed = recheck(studentId, repair);
+        if (confirmed != null) {
+          mismatchCount.incrementAndGet();
+          if (confirmed.repaired()) {
+            repairedCount.incrementAndGet();
+          }
+          result.add(confirmed);
+        }
+      }
+    });
+    return result;
+  }
+
+  // 학생 행을 잠근 짧은 트랜잭션에서 다시 확인 (일치하면 null), repair 이면 보정
+  private Mismatch recheck(long studentId, boolean repair) {
+    return transactionTemplate.execute(status -> {
+      List<Object[]> locked = studentRepository.lockPointBalances(List.of(studentId));
+      if (locked.isEmpty()) {
+        return null; // 그 사이 삭제된 학생
+      }
+      int balance = ((Number) locked.get(0)[1]).intValue();
+      LedgerTotals totals = reconcileRepository.findLedgerTotals(studentId);
+      if (isConsistent(balance, totals)) {
+        return null;
+      }
+      if (!repair || totals.sum() < 0 || totals.sum() > Integer.MAX_VALUE) {
+        return new Mismatch(studentId, balance, totals.sum(), totals.lastBalanceAfter(), false);
+      }
+
+      int corrected = (int) totals.sum();
+      studentRepository.setPointBalance(studentId, corrected);
+      pointHistoryRepository.save(PointHistory.builder()
+        .student(studentRepository.getReferenceById(studentId))
+        .tsType(RECONCILE_TS_TYPE)
+        .amount(0)
+        .balanceAfter(corrected)
+        .refType(RECONCILE_REF_TYPE)
+        .createdAt(new Timestamp(System.currentTimeMillis()))
+        .build());
+      eventPublisher.publishEvent(PointBalanceChangedEvent.of(Map.of(studentId, corrected)));
+      log.warn("[포인트 정합성] 학생 {} 잔액 보정: {} -> {} (마지막 balance_after: {})",
+        studentId, balance, corrected, totals.lastBalanceAfter());
+      return new Mismatch(studentId, balance, totals.sum(), totals.lastBalanceAfter(), true);
+    });
+  }
+
+  // 잔액 = 장부 합계 = 마지막 balance_after (거래가 없으면 잔액 0)
+  private static boolean isConsistent(int balance, LedgerTotals totals) {
+    if (balance != totals.sum()) {
+      return false;
+    }
+    return totals.lastBalanceAfter() == null ? totals.rows() == 0 : totals.lastBalanceAfter() == balance;
+  }
+}
@@ -1,5 +1,7 @@
 package com.spring.schoolmate.service;
 
+import com.spring.schoolmate.dto.common.CursorCodec;
+import com.spring.schoolmate.dto.common.CursorPage;
 import com.spring.schoolmate.entity.Product;
 import com.spring.schoolmate.entity.ProductExchange;
 import com.spring.schoolmate.entity.Student;
@@ -9,11 +11,13 @@ import com.spring.schoolmate.repository.ProductRepository;
 import com.spring.schoolmate.repository.StudentRepository;
 import lombok.RequiredArgsConstructor; // 생성자 주입을 위해 추가
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // jakarta.transaction.Transactional 대신 Spring의 트랜잭션 사용
 
 import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException; // NoSuchElementException 추가
 import java.util.Optional;
 import com.spring.schoolmate.service.PointHistoryService;
@@ -27,6 +31,7 @@ public class ProductExchangeService {
   private final StudentRepository studentRepository;
   private final ProductRepository productRepository;
   private final PointHistoryService pointHistoryService;
+  private final IdempotencyService idempotencyService;
 
   /**
    * 상품 교환 기능 (포인트 차감, 재고 감소, 교환 내역 기록)
@@ -83,6 +88,9 @@ public class ProductExchangeService {
     newExchange.setExchangeDate(new Date());
     newExchange.setExchangeCardStatus("미사용");
 
+    // 4.4. Idempotency-Key 예약을 같은 트랜잭션에서 반영 표시 (키 없이 온 요청이면 무시)
+    idempotencyService.markApplied();
+
     return productExchangeRepository.save(newExchange);
   }
 
@@ -114,4 +122,25 @@ public class ProductExchangeService {
     // 💡 repository 메서드의 첫 번째 인자가 Long 타입이어야 하므로, Integer 대신 Long으로 변경
     return productExchangeRepository.findByStudent_StudentIdOrderByExchangeDateDesc(studentId, pageable);
   }
-}
\ No newline at end of file
+
+  /**
+   * 학생 ID로 교환 상품 목록을 커서 기반으로 조회 (최신순, (exchangeDate, productExchangeId) keyset)
+   * @param studentId 학생 ID
+   * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
+   * @param size 페이지 크기
+   * @return 교환 상품 목록과 다음 커서
+   */
+  public CursorPage<ProductExchange> getExchangedProductsPageByStudentId(Long studentId, String cursor, Integer size) {
+    int pageSize = CursorPage.clampSize(size);
+    PageRequest limit = PageRequest.of(0, pageSize + 1);
+    List<ProductExchange> rows;
+    if (cursor == null || cursor.isBlank()) {
+      rows = productExchangeRepository.findPageByStudentId(studentId, limit);
+    } else {
+      CursorCodec.TimeKey key = CursorCodec.decodeTimeKey(cursor);
+      rows = productExchangeRepository.findPageByStudentIdAfter(studentId, key.at(), key.intId(), limit);
+    }
+    return CursorPage.of(rows, pageSize,
+      last -> CursorCodec.encode(last.getExchangeDate(), last.getProductExchangeId()));
+  }
+}
@@ -4,8 +4,10 @@ import com.spring.schoolmate.entity.Product;
 import com.spring.schoolmate.exception.NotFoundException;
 import com.spring.schoolmate.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -15,10 +17,12 @@ import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ProductService {
 
   private final ProductRepository productRepository;
   private final FirebaseStorageService firebaseStorageService;
+  private final TransactionTemplate transactionTemplate;
 
   // 상품명에 따라 상품 코드 접두사 및 카테고리 설정 로직 구현
   private String[] determineCategoryAndPrefix(String productName) {
@@ -50,86 +54,107 @@ public class ProductService {
   /**
    * 상품 등록 (이미지 파일 포함)
    * 프론트에서 교환 로직에 의해 DB에 등록되는 경우, 이 메서드는 관리자 수동 등록에만 사용됨
+   * Firebase 업로드는 트랜잭션 밖에서 먼저 하고, 저장이 실패하면 올린 파일을 지웁니다.
    * @return 등록된 상품 객체
    */
-  @Transactional
   public Product registerProduct(Product product, MultipartFile file) {
-    // 상품 코드 및 카테고리 설정 로직
-    String productName = product.getProductName();
-    String[] categoryInfo = determineCategoryAndPrefix(productName);
-    String prefix = categoryInfo[0];
-    String category = categoryInfo[1];
-    product.setProductCategory(category);
-
-    String newProductCode;
-    Random random = new Random();
-    do {
-      int randomNumber = random.nextInt(900) + 100;
-      newProductCode = prefix + randomNumber;
-    } while (productRepository.findByProductCode(newProductCode) != null);
-    product.setProductCode(newProductCode);
-
-    // 이미지 처리 로직: Firebase Storage에 파일 업로드
-    if (file != null && !file.isEmpty()) {
-      try {
-        String imageUrl = firebaseStorageService.uploadFile(file);
-        product.setImageUrl(imageUrl);
-      } catch (IOException e) {
-        System.err.println("Firebase 파일 업로드 중 오류 발생: " + e.getMessage());
-      }
+    // 1. 이미지 처리 로직: Firebase Storage에 파일 업로드 (DB 커넥션 없이)
+    String uploadedUrl = upload(file);
+    if (uploadedUrl != null) {
+      product.setImageUrl(uploadedUrl);
     }
 
-    return productRepository.save(product);
+    // 2. 상품 코드 및 카테고리 설정 후 저장 (짧은 트랜잭션)
+    try {
+      return transactionTemplate.execute(status -> {
+        String productName = product.getProductName();
+        String[] categoryInfo = determineCategoryAndPrefix(productName);
+        String prefix = categoryInfo[0];
+        String category = categoryInfo[1];
+        product.setProductCategory(category);
+
+        String newProductCode;
+        Random random = new Random();
+        do {
+          int randomNumber = random.nextInt(900) + 100;
+          newProductCode = prefix + randomNumber;
+        } while (productRepository.findByProductCode(newProductCode) != null);
+        product.setProductCode(newProductCode);
+
+        return productRepository.save(product);
+      });
+    } catch (RuntimeException e) {
+      firebaseStorageService.deleteFile(uploadedUrl);
+      throw e;
+    }
   }
 
   /**
    * 상품 정보 수정 (이미지 파일 포함)
+   * 새 이미지는 트랜잭션 밖에서 먼저 올리고, 기존 이미지는 수정이 커밋된 뒤에 지웁니다.
+   * (수정이 실패하면 새로 올린 파일을 지움)
    * @return 수정된 상품 객체
    */
-  @Transactional
   public Product updateProduct(Integer productId, Product updatedProduct, MultipartFile file) {
-    Optional<Product> optionalProduct = productRepository.findById(productId);
-    if (optionalProduct.isPresent()) {
-      Product existingProduct = optionalProduct.get();
-
-      // 1. 상품명 변경 시 카테고리 재설정 및 기본 필드 업데이트 (유지)
-      String newProductName = updatedProduct.getProductName();
-      existingProduct.setProductName(newProductName);
-      String[] categoryInfo = determineCategoryAndPrefix(newProductName);
-      existingProduct.setProductCategory(categoryInfo[1]);
-      existingProduct.setProductPoints(updatedProduct.getProductPoints());
-
-      // 클라이언트에서 유효기간 필드를 보낸 경우에만 업데이트
-      if (updatedProduct.getExpirationDate() != null) {
-        existingProduct.setExpirationDate(updatedProduct.getExpirationDate());
-      }
-      if (updatedProduct.getStock() != null) {
-        existingProduct.setStock(updatedProduct.getStock());
-      }
-      if (updatedProduct.getTotalQuantity() != null) {
-        existingProduct.setTotalQuantity(updatedProduct.getTotalQuantity());
-      }
-
-      // 2. 이미지 수정 처리 로직 (유지)
-      if (file != null && !file.isEmpty()) {
-        try {
-          // 2-1. 기존 파일 삭제
-          if (existingProduct.getImageUrl() != null) {
-            firebaseStorageService.deleteFile(existingProduct.getImageUrl());
-          }
-
-          // 2-2. 새 파일 업로드 및 URL 업데이트
-          String imageUrl = firebaseStorageService.uploadFile(file);
-          existingProduct.setImageUrl(imageUrl);
-
-        } catch (IOException e) {
-          System.err.println("Firebase 파일 수정 처리 중 오류 발생: " + e.getMessage());
+    // 1. 새 이미지 업로드 (DB 커넥션 없이)
+    String uploadedUrl = upload(file);
+
+    // 2. 상품 정보 수정 (짧은 트랜잭션)
+    String[] previousImageUrl = new String[1];
+    Product saved;
+    try {
+      saved = transactionTemplate.execute(status -> {
+        Product existingProduct = productRepository.findById(productId)
+          .orElseThrow(() -> new NotFoundException("상품을 찾을 수 없습니다: " + productId));
+
+        // 상품명 변경 시 카테고리 재설정 및 기본 필드 업데이트
+        String newProductName = updatedProduct.getProductName();
+        existingProduct.setProductName(newProductName);
+        String[] categoryInfo = determineCategoryAndPrefix(newProductName);
+        existingProduct.setProductCategory(categoryInfo[1]);
+        existingProduct.setProductPoints(updatedProduct.getProductPoints());
+
+        // 클라이언트에서 유효기간 필드를 보낸 경우에만 업데이트
+        if (updatedProduct.getExpirationDate() != null) {
+          existingProduct.setExpirationDate(updatedProduct.getExpirationDate());
+        }
+        if (updatedProduct.getStock() != null) {
+          existingProduct.setStock(updatedProduct.getStock());
+        }
+        if (updatedProduct.getTotalQuantity() != null) {
+          existingProduct.setTotalQuantity(updatedProduct.getTotalQuantity());
+        }
+
+        // 이미지 URL 교체
+        if (uploadedUrl != null) {
+          previousImageUrl[0] = existingProduct.getImageUrl();
+          existingProduct.setImageUrl(uploadedUrl);
         }
-      }
 
-      return productRepository.save(existingProduct);
-    } else {
-      throw new NotFoundException("상품을 찾을 수 없습니다: " + productId);
+        return productRepository.save(existingProduct);
+      });
+    } catch (RuntimeException e) {
+      firebaseStorageService.deleteFile(uploadedUrl);
+      throw e;
+    }
+
+    // 3. 커밋 후 기존 파일 삭제
+    if (previousImageUrl[0] != null) {
+      firebaseStorageService.deleteFile(previousImageUrl[0]);
+    }
+    return saved;
+  }
+
+  // 파일이 있으면 Firebase Storage에 업로드하고 URL 반환 (없거나 실패하면 null)
+  private String upload(MultipartFile file) {
+    if (file == null || file.isEmpty()) {
+      return null;
+    }
+    try {
+      return firebaseStorageService.uploadFile(file);
+    } catch (IOException e) {
+      log.warn("[상품] Firebase 파일 업로드 실패 - 이미지 없이 저장합니다. file={}, {}", file.getOriginalFilename(), e.getMessage());
+      return null;
     }
   }
 
@@ -181,18 +206,16 @@ public class ProductService {
   /**
    * 특정 상품 ID의 상품 삭제
    */
-  @Transactional
   public void deleteProduct(Integer productId) {
-    Optional<Product> optionalProduct = productRepository.findById(productId);
-    if (optionalProduct.isPresent()) {
-      Product product = optionalProduct.get();
-      // 추가: DB에서 삭제하기 전에 Firebase Storage 파일도 삭제
-      if (product.getImageUrl() != null) {
-        firebaseStorageService.deleteFile(product.getImageUrl());
-      }
+    String imageUrl = transactionTemplate.execute(status -> {
+      Product product = productRepository.findById(productId)
+        .orElseThrow(() -> new NotFoundException("삭제할 상품을 찾을 수 없습니다: " + productId));
       productRepository.deleteById(productId);
-    } else {
-      throw new NotFoundException("삭제할 상품을 찾을 수 없습니다: " + productId);
+      return product.getImageUrl();
+    });
+    // DB 삭제가 커밋된 뒤 Firebase Storage 파일도 삭제
+    if (imageUrl != null) {
+      firebaseStorageService.deleteFile(imageUrl);
     }
   }
 
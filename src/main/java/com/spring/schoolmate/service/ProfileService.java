@@ -13,6 +13,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -21,6 +23,7 @@ public class ProfileService {
     private final ProfileRepository profileRepository;
     private final StudentRepository studentRepository;
     private final AllergyService allergyService;
+    private final SchoolAllergyStatsService schoolAllergyStatsService;
     private final FirebaseStorageService storageService;
 
     /**
@@ -122,8 +125,16 @@ public class ProfileService {
         }
 
         // Profile 엔티티에 만들어 둔 update 메소드를 호출하여 정보 변경
+        String oldScCode = profile.getScCode();
+        String oldSchoolCode = profile.getSchoolCode();
         profile.update(req);
 
+        // 학교가 바뀌었으면 학교별 알레르기 집계를 새 학교로 옮김
+        if (!Objects.equals(oldScCode, profile.getScCode()) || !Objects.equals(oldSchoolCode, profile.getSchoolCode())) {
+            schoolAllergyStatsService.moveSchool(oldScCode, oldSchoolCode,
+                    profile.getScCode(), profile.getSchoolCode(), allergyService.getAllergyMask(studentId));
+        }
+
         // 알레르기 정보 업데이트
         if (req.getAllergyId() != null) {
             Student student = studentRepository.findById(studentId)
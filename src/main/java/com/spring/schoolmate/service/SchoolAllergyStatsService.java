@@ -0,0 +1,178 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.dto.allergy.SchoolAllergyReportRes;
+import com.spring.schoolmate.dto.neis.MealDish;
+import com.spring.schoolmate.dto.neis.MealInfoRow;
+import com.spring.schoolmate.entity.Allergy;
+import com.spring.schoolmate.entity.SchoolAllergyCount;
+import com.spring.schoolmate.neis.AllergyMask;
+import com.spring.schoolmate.repository.AllergyRepository;
+import com.spring.schoolmate.repository.SchoolAllergyCountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 학교별 알레르기 보유 학생 수(SchoolAllergyCount) 관리 및 급식 알레르기 리포트.
+ * 학생 전체를 읽지 않도록 알레르기 등록/수정, 학교 변경, 탈퇴 시점에 증감으로만 갱신한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class SchoolAllergyStatsService {
+
+    private static final String INSERT_COUNT_SQL =
+            "INSERT INTO school_allergy_counts (atpt_ofcdc_sc_code, sd_schul_code, allergy_no, student_count) VALUES (?, ?, ?, 1)";
+
+    private final SchoolAllergyCountRepository schoolAllergyCountRepository;
+    private final AllergyRepository allergyRepository;
+    private final NeisApiService neisApiService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 한 학생의 알레르기 비트마스크가 oldMask -> newMask 로 바뀐 만큼 학교 집계를 증감합니다.
+     */
+    public void applyChange(String scCode, String schoolCode, long oldMask, long newMask) {
+        if (scCode == null || schoolCode == null || oldMask == newMask) {
+            return;
+        }
+        for (Integer allergyNo : AllergyMask.toList(oldMask & ~newMask)) {
+            schoolAllergyCountRepository.addStudentCount(scCode, schoolCode, allergyNo, -1);
+        }
+        for (Integer allergyNo : AllergyMask.toList(newMask & ~oldMask)) {
+            if (schoolAllergyCountRepository.addStudentCount(scCode, schoolCode, allergyNo, 1) == 0) {
+                insertOrIncrement(scCode, schoolCode, allergyNo);
+            }
+        }
+    }
+
+    /**
+     * 집계 행이 없을 때 1로 추가합니다. 같은 학교의 다른 학생이 먼저 추가했다면 (유니크 제약 위반) UPDATE 로 다시 증가.
+     * JPA save() 는 제약 위반 시 트랜잭션 전체를 rollback-only 로 만들기 때문에 JdbcTemplate 으로 INSERT 한다.
+     * (실패한 문장만 취소되고 학생 가입/알레르기 수정 트랜잭션은 계속 진행)
+     */
+    private void insertOrIncrement(String scCode, String schoolCode, int allergyNo) {
+        try {
+            jdbcTemplate.update(INSERT_COUNT_SQL, scCode, schoolCode, allergyNo);
+        } catch (DuplicateKeyException e) {
+            schoolAllergyCountRepository.addStudentCount(scCode, schoolCode, allergyNo, 1);
+        }
+    }
+
+    /**
+     * 학생의 학교가 바뀐 경우, 보유 알레르기를 이전 학교에서 빼고 새 학교에 더합니다.
+     */
+    public void moveSchool(String oldScCode, String oldSchoolCode, String newScCode, String newSchoolCode, long mask) {
+        if (Objects.equals(oldScCode, newScCode) && Objects.equals(oldSchoolCode, newSchoolCode)) {
+            return;
+        }
+        applyChange(oldScCode, oldSchoolCode, mask, 0L);
+        applyChange(newScCode, newSchoolCode, 0L, mask);
+    }
+
+    /**
+     * 집계 테이블이 비어 있으면 (최초 배포 시) 학생 알레르기 테이블로부터 한 번 만들어 둡니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (schoolAllergyCountRepository.count() > 0) {
+            return;
+        }
+        List<SchoolAllergyCount> counts = schoolAllergyCountRepository.aggregateFromStudentAllergies().stream()
+                .map(row -> SchoolAllergyCount.builder()
+                        .scCode((String) row[0])
+                        .schoolCode((String) row[1])
+                        .allergyNo((Integer) row[2])
+                        .studentCount(((Number) row[3]).intValue())
+                        .build())
+                .toList();
+        schoolAllergyCountRepository.saveAll(counts);
+        log.info("[알레르기 집계] 초기 집계 완료: {}건", counts.size());
+    }
+
+    /**
+     * 특정 학교, 특정 일자의 급식에 대한 알레르기 노출 리포트를 만듭니다.
+     * 학생 수는 집계 테이블(학교당 최대 19행)에서만 읽습니다.
+     *
+     * NEIS 호출(재시도, 요청 제한 대기 포함)이 DB 커넥션을 잡고 있지 않도록 트랜잭션 없이 실행하고,
+     * 급식을 먼저 받아 온 뒤 집계는 저장소 호출(각각 짧은 읽기 전용 트랜잭션)로 읽습니다.
+     *
+     * @param date 급식일자 (YYYYMMDD)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SchoolAllergyReportRes getReport(String scCode, String schoolCode, String date) {
+        List<MealInfoRow> rows = neisApiService.getMealInfo(scCode, schoolCode, date, date);
+
+        Map<Integer, String> allergyNames = allergyRepository.findAll().stream()
+                .collect(Collectors.toMap(Allergy::getAllergyNo, Allergy::getAllergyName));
+
+        // 알레르기 번호 -> 학생 수
+        int[] countByNo = new int[AllergyMask.MAX_NO + 1];
+        List<SchoolAllergyReportRes.AllergenCount> allergenCounts = new ArrayList<>();
+        for (SchoolAllergyCount count : schoolAllergyCountRepository.findByScCodeAndSchoolCode(scCode, schoolCode)) {
+            if (AllergyMask.isValid(count.getAllergyNo()) && count.getStudentCount() > 0) {
+                countByNo[count.getAllergyNo()] = count.getStudentCount();
+                allergenCounts.add(toAllergenCount(count.getAllergyNo(), allergyNames, countByNo));
+            }
+        }
+        allergenCounts.sort((a, b) -> Integer.compare(a.getAllergyNo(), b.getAllergyNo()));
+
+        List<SchoolAllergyReportRes.Meal> meals = rows.stream()
+                .map(row -> SchoolAllergyReportRes.Meal.builder()
+                        .mealName(row.getMealName())
+                        .dishes(toDishes(row.getDishes(), allergyNames, countByNo))
+                        .build())
+                .toList();
+
+        return SchoolAllergyReportRes.builder()
+                .scCode(scCode)
+                .schoolCode(schoolCode)
+                .date(date)
+                .allergenCounts(allergenCounts)
+                .meals(meals)
+                .build();
+    }
+
+    private List<SchoolAllergyReportRes.Dish> toDishes(List<MealDish> dishes, Map<Integer, String> allergyNames, int[] countByNo) {
+        if (dishes == null) {
+            return Collections.emptyList();
+        }
+        return dishes.stream()
+                .map(dish -> {
+                    List<SchoolAllergyReportRes.AllergenCount> allergens = AllergyMask.toList(dish.getAllergyMask()).stream()
+                            .map(allergyNo -> toAllergenCount(allergyNo, allergyNames, countByNo))
+                            .toList();
+                    int atLeast = allergens.stream().mapToInt(SchoolAllergyReportRes.AllergenCount::getStudentCount).max().orElse(0);
+                    int atMost = allergens.stream().mapToInt(SchoolAllergyReportRes.AllergenCount::getStudentCount).sum();
+                    return SchoolAllergyReportRes.Dish.builder()
+                            .name(dish.getName())
+                            .allergens(allergens)
+                            .affectedAtLeast(atLeast)
+                            .affectedAtMost(atMost)
+                            .build();
+                })
+                .toList();
+    }
+
+    private SchoolAllergyReportRes.AllergenCount toAllergenCount(int allergyNo, Map<Integer, String> allergyNames, int[] countByNo) {
+        return SchoolAllergyReportRes.AllergenCount.builder()
+                .allergyNo(allergyNo)
+                .allergyName(allergyNames.get(allergyNo))
+                .studentCount(countByNo[allergyNo])
+                .build();
+    }
+}
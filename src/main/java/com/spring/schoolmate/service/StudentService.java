@@ -4,12 +4,17 @@ import com.spring.schoolmate.dto.student.PasswordUpdateReq;
 import com.spring.schoolmate.dto.student.StudentReq;
 import com.spring.schoolmate.entity.Role;
 import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.leaderboard.StudentDeletedEvent;
+import com.spring.schoolmate.repository.AttendanceRepository;
+import com.spring.schoolmate.repository.AttendanceYearRepository;
 import com.spring.schoolmate.repository.ProfileRepository;
 import com.spring.schoolmate.repository.RoleRepository;
 import com.spring.schoolmate.repository.StudentAllergyRepository;
 import com.spring.schoolmate.repository.StudentRepository;
+import com.spring.schoolmate.repository.StudentStatsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +33,13 @@ public class StudentService {
     private final PasswordEncoder passwordEncoder;
     private final ProfileRepository profileRepository;
     private final StudentAllergyRepository studentAllergyRepository;
+    private final StudentStatsRepository studentStatsRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceYearRepository attendanceYearRepository;
+    private final AllergyService allergyService;
+    private final SchoolAllergyStatsService schoolAllergyStatsService;
+    private final IdempotencyService idempotencyService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 학생(Student) 정보를 저장
@@ -154,6 +166,12 @@ public class StudentService {
                     return new NoSuchElementException("학생 정보를 찾을 수 없습니다.");
                 });
 
+        // 0. 학교별 알레르기 집계에서 제외
+        long allergyMask = allergyService.getAllergyMask(studentId);
+        profileRepository.findById(studentId)
+                .ifPresent(profile -> schoolAllergyStatsService.applyChange(
+                        profile.getScCode(), profile.getSchoolCode(), allergyMask, 0L));
+
         // 1. 연관된 알레르기 정보 삭제
         log.info("... StudentAllergy 정보 삭제 Student ID: {}", studentId);
         studentAllergyRepository.deleteAllByStudent(student);
@@ -164,11 +182,24 @@ public class StudentService {
         profileRepository.deleteById(studentId);
         log.info("... Profile 정보 삭제 완료. Student ID: {}", studentId);
 
+        // 2-1. 포인트 집계 삭제
+        studentStatsRepository.deleteById(studentId);
+
+        // 2-2. 출석 기록(일별 행, 연간 비트맵) 삭제
+        attendanceRepository.deleteByStudentId(studentId);
+        attendanceYearRepository.deleteByStudentId(studentId);
+
+        // 2-3. Idempotency-Key 기록 삭제
+        idempotencyService.deleteByStudent(studentId);
+
         // 3. 학생(계정) 정보 최종 삭제
         log.info("... Student 계정 정보 삭제 중... Student ID: {}", studentId);
         studentRepository.delete(student);
         log.info("... Student 계정 정보 삭제 완료. Student ID: {}", studentId);
 
+        // 4. 커밋 이후 순위표에서 제외
+        eventPublisher.publishEvent(new StudentDeletedEvent(studentId));
+
         log.info("<<<<< 회원 탈퇴 서비스 성공 - Student ID: {}", studentId);
     }
 
@@ -1,42 +1,224 @@
 package com.spring.schoolmate.service;
 
-import com.google.api.client.util.Value;
-import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.cloud.translate.v3.LocationName;
 import com.google.cloud.translate.v3.TranslateTextRequest;
 import com.google.cloud.translate.v3.TranslateTextResponse;
-import com.google.cloud.translate.v3.LocationName;
+import com.google.cloud.translate.v3.TranslationServiceClient;
+import com.spring.schoolmate.config.TranslationProperties;
+import com.spring.schoolmate.entity.VisionLabel;
+import com.spring.schoolmate.repository.VisionLabelRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vision 라벨 번역.
+ *
+ * 아래 순서로 찾고, 앞 단계에서 찾으면 바로 반환한다.
+ * 1. 라벨 사전 : 시작 시 classpath 사전을 읽어 만든 불변 Map (한국어만, 대소문자 구분 없음)
+ * 2. 메모리 LRU : 최근 번역 결과 (translation.cache-size)
+ * 3. vision_labels 테이블 : 이전에 저장된 (원문 라벨, 언어) 번역
+ * 4. Translation API : 애플리케이션 전체에서 하나의 TranslationServiceClient 를 재사용
+ *                      (translateAll 은 남은 라벨을 요청 하나로 묶어 보냄)
+ *
+ * API 호출이 실패하면 원문을 그대로 반환하고 캐시에 넣지 않는다.
+ */
 @Service
+@Slf4j
 public class TranslationService {
 
-  @Value("${gcp.project-id}")
-  private String projectId;
+  private static final String DICTIONARY_LANGUAGE = "ko";
+  // TranslateTextRequest 한 번에 보낼 수 있는 contents 수 (API 제한 1024)
+  private static final int MAX_CONTENTS = 1024;
+
+  private final TranslationServiceClient client;
+  private final VisionLabelRepository visionLabelRepository;
+  private final String projectId;
+
+  // 소문자 원문 -> 한국어 (불변)
+  private final Map<String, String> dictionary;
+  // 키: 언어:원문
+  private final Cache<String, String> cache;
+  private final Counter dictionaryHits;
+  private final Counter cacheHits;
+  private final Counter storedHits;
+  private final Counter apiCalls;
+
+  public TranslationService(TranslationServiceClient client,
+                            VisionLabelRepository visionLabelRepository,
+                            TranslationProperties properties,
+                            @Value("${gcp.project-id:${firebase.project-id}}") String projectId,
+                            MeterRegistry meterRegistry) {
+    this.client = client;
+    this.visionLabelRepository = visionLabelRepository;
+    this.projectId = projectId;
+    this.dictionary = loadDictionary(properties.getDictionary());
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(properties.getCacheSize())
+      .recordStats()
+      .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "translation");
+    this.dictionaryHits = lookupCounter(meterRegistry, "dictionary");
+    this.cacheHits = lookupCounter(meterRegistry, "cache");
+    this.storedHits = lookupCounter(meterRegistry, "db");
+    this.apiCalls = lookupCounter(meterRegistry, "api");
+  }
 
   public String translate(String text, String targetLanguage) {
-    if (text == null || text.isBlank()) {
-      return "";
+    return translateAll(List.of(text == null ? "" : text), targetLanguage).get(0);
+  }
+
+  /**
+   * 여러 라벨을 한 번에 번역합니다. 결과는 입력과 같은 순서이며, 빈 값은 "" 로 반환합니다.
+   * 사전/메모리/DB 에 없는 라벨만 모아 Translation API 요청 하나(contents 여러 개)로 번역하고 캐시에 넣습니다.
+   *
+   * @param texts          번역할 원문 목록 (중복 가능)
+   * @param targetLanguage 번역 언어 코드 (예: "ko")
+   * @return 번역 결과 목록 (API 호출이 실패한 라벨은 원문)
+   */
+  public List<String> translateAll(List<String> texts, String targetLanguage) {
+    // 원문 -> 번역 (중복 라벨은 한 번만 찾음)
+    Map<String, String> resolved = new HashMap<>();
+    Set<String> missing = new LinkedHashSet<>();
+    for (String text : texts) {
+      if (text == null || text.isBlank() || resolved.containsKey(text)) {
+        continue;
+      }
+      String local = findLocal(text, targetLanguage);
+      if (local != null) {
+        resolved.put(text, local);
+      } else {
+        missing.add(text);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      for (VisionLabel stored : visionLabelRepository.findBySourceNameInAndLanguageCode(missing, targetLanguage)) {
+        if (missing.remove(stored.getSourceName())) {
+          storedHits.increment();
+          resolved.put(stored.getSourceName(), stored.getLabelName());
+          cache.put(cacheKey(stored.getSourceName(), targetLanguage), stored.getLabelName());
+        }
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      resolved.putAll(translateRemote(new ArrayList<>(missing), targetLanguage));
     }
 
-    try (TranslationServiceClient client = TranslationServiceClient.create()) {
-      LocationName parent = LocationName.of(projectId, "global");
+    List<String> results = new ArrayList<>(texts.size());
+    for (String text : texts) {
+      results.add(text == null || text.isBlank() ? "" : resolved.getOrDefault(text, text));
+    }
+    return results;
+  }
 
-      TranslateTextRequest request = TranslateTextRequest.newBuilder()
-        .setParent(parent.toString())
-        .setMimeType("text/plain") // text/html도 가능
-        .setTargetLanguageCode(targetLanguage)
-        .addContents(text)
-        .build();
+  // Translation API 로 번역 (요청당 최대 MAX_CONTENTS 개), 실패한 요청의 라벨은 결과에서 빠짐
+  private Map<String, String> translateRemote(List<String> texts, String targetLanguage) {
+    Map<String, String> translated = new HashMap<>();
+    for (int from = 0; from < texts.size(); from += MAX_CONTENTS) {
+      List<String> chunk = texts.subList(from, Math.min(from + MAX_CONTENTS, texts.size()));
+      try {
+        apiCalls.increment();
+        TranslateTextResponse response = client.translateText(request(chunk, targetLanguage));
 
-      TranslateTextResponse response = client.translateText(request);
+        // 응답의 translations 는 요청 contents 와 같은 순서
+        for (int i = 0; i < chunk.size() && i < response.getTranslationsCount(); i++) {
+          String result = response.getTranslations(i).getTranslatedText();
+          translated.put(chunk.get(i), result);
+          cache.put(cacheKey(chunk.get(i), targetLanguage), result);
+        }
 
-      if (!response.getTranslationsList().isEmpty()) {
-        return response.getTranslationsList().get(0).getTranslatedText();
+      } catch (Exception e) {
+        log.warn("[번역] Translation API 호출 실패로 원문을 사용합니다. texts={}, {}", chunk, e.getMessage());
       }
+    }
+    return translated;
+  }
+
+  // 사전 -> 메모리 LRU 순으로 조회 (없으면 null)
+  private String findLocal(String text, String targetLanguage) {
+    if (DICTIONARY_LANGUAGE.equals(targetLanguage)) {
+      String known = dictionary.get(text.toLowerCase(Locale.ROOT));
+      if (known != null) {
+        dictionaryHits.increment();
+        return known;
+      }
+    }
+    String cached = cache.getIfPresent(cacheKey(text, targetLanguage));
+    if (cached != null) {
+      cacheHits.increment();
+    }
+    return cached;
+  }
 
-    } catch (Exception e) {
-      e.printStackTrace();
+  private TranslateTextRequest request(List<String> texts, String targetLanguage) {
+    LocationName parent = LocationName.of(projectId, "global");
+    return TranslateTextRequest.newBuilder()
+      .setParent(parent.toString())
+      .setMimeType("text/plain") // text/html도 가능
+      .setTargetLanguageCode(targetLanguage)
+      .addAllContents(texts)
+      .build();
+  }
+
+  private static String cacheKey(String text, String targetLanguage) {
+    return targetLanguage + ":" + text;
+  }
+
+  private static Counter lookupCounter(MeterRegistry meterRegistry, String source) {
+    return Counter.builder("translation.lookups")
+      .description("라벨 번역을 찾은 단계별 횟수")
+      .tag("source", source)
+      .register(meterRegistry);
+  }
+
+  // "영문=번역" 형식의 사전 파일을 불변 Map 으로 읽음 (# 주석, 빈 줄 무시, 중복 키는 앞의 것 사용)
+  private static Map<String, String> loadDictionary(String location) {
+    ClassPathResource resource = new ClassPathResource(location);
+    if (!resource.exists()) {
+      log.warn("[번역] 라벨 사전을 찾을 수 없습니다. location={}", location);
+      return Map.of();
+    }
+
+    Map<String, String> entries = new HashMap<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        int separator = line.indexOf('=');
+        if (line.isEmpty() || line.startsWith("#") || separator <= 0) {
+          continue;
+        }
+        String source = line.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+        String translated = line.substring(separator + 1).trim();
+        if (!translated.isEmpty()) {
+          entries.putIfAbsent(source, translated);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("[번역] 라벨 사전을 읽지 못했습니다. location={}, {}", location, e.getMessage());
+      return Map.of();
     }
-    return text;
+    log.info("[번역] 라벨 사전 {}건 적재", entries.size());
+    return Map.copyOf(entries);
   }
 }
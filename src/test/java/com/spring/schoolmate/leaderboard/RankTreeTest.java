@@ -0,0 +1,92 @@
+package com.spring.schoolmate.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RankTree 를 정렬된 리스트 모델과 비교합니다. (무작위 삽입/삭제, 같은 잔액은 학생 ID 오름차순)
+ */
+class RankTreeTest {
+
+	// 잔액 내림차순, 학생 ID 오름차순
+	private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(entry -> -entry[1])
+			.thenComparingLong(entry -> entry[0]);
+
+	@Test
+	void tiesAreOrderedByStudentId() {
+		RankTree tree = new RankTree();
+		tree.insert(30, 100);
+		tree.insert(10, 100);
+		tree.insert(20, 100);
+		tree.insert(40, 200);
+
+		assertThat(tree.top(10)).containsExactly(
+				new RankTree.Ranked(1, 40, 200),
+				new RankTree.Ranked(2, 10, 100),
+				new RankTree.Ranked(3, 20, 100),
+				new RankTree.Ranked(4, 30, 100));
+		assertThat(tree.rankOf(20, 100)).isEqualTo(3);
+	}
+
+	@Test
+	void matchesSortedListModelUnderRandomInsertsAndRemoves() {
+		Random random = new Random(42);
+		RankTree tree = new RankTree();
+		Map<Long, Integer> balances = new HashMap<>();
+
+		for (int step = 0; step < 5_000; step++) {
+			long studentId = random.nextInt(500);
+			Integer current = balances.get(studentId);
+			if (current != null && random.nextInt(3) == 0) {
+				tree.remove(studentId, current);
+				balances.remove(studentId);
+			} else {
+				// 잔액 범위를 좁혀 동점이 자주 생기게 함 (잔액 변경 = 삭제 후 삽입)
+				int balance = random.nextInt(50);
+				if (current != null) {
+					tree.remove(studentId, current);
+				}
+				tree.insert(studentId, balance);
+				balances.put(studentId, balance);
+			}
+
+			if (step % 100 == 0) {
+				assertMatchesModel(tree, balances, random);
+			}
+		}
+		assertMatchesModel(tree, balances, random);
+
+		// 전부 삭제하면 비어 있어야 함
+		balances.forEach((studentId, balance) -> tree.remove(studentId, balance));
+		assertThat(tree.size()).isZero();
+		assertThat(tree.top(10)).isEmpty();
+	}
+
+	private static void assertMatchesModel(RankTree tree, Map<Long, Integer> balances, Random random) {
+		List<long[]> model = new ArrayList<>();
+		balances.forEach((studentId, balance) -> model.add(new long[]{studentId, balance}));
+		model.sort(ORDER);
+
+		assertThat(tree.size()).isEqualTo(model.size());
+		for (int i = 0; i < model.size(); i++) {
+			long[] entry = model.get(i);
+			assertThat(tree.rankOf(entry[0], (int) entry[1])).isEqualTo(i + 1);
+		}
+
+		int limit = random.nextInt(model.size() + 2);
+		List<RankTree.Ranked> expected = new ArrayList<>();
+		for (int i = 0; i < Math.min(limit, model.size()); i++) {
+			expected.add(new RankTree.Ranked(i + 1, model.get(i)[0], (int) model.get(i)[1]));
+		}
+		assertThat(tree.top(limit)).containsExactlyElementsOf(expected);
+		assertThat(tree.top(model.size() + 5)).hasSize(model.size());
+	}
+}
@@ -0,0 +1,87 @@
+package com.spring.schoolmate.neis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.schoolmate.dto.neis.MealInfoRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 요청에 합류한 구독자들이 모두 취소하면 공유된 외부 호출도 취소되는지 확인합니다.
+ * (응답하지 않는 ExchangeFunction 으로 NEIS 호출을 대신함)
+ */
+class NeisClientCancellationTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger exchanges = new AtomicInteger();
+	private final CountDownLatch subscribed = new CountDownLatch(1);
+	private final CountDownLatch cancelled = new CountDownLatch(1);
+
+	@Test
+	void sharedCallIsCancelledOnlyWhenEverySubscriberCancels() throws Exception {
+		NeisClient client = newClient();
+
+		Disposable first = mealRows(client).subscribe();
+		Disposable second = mealRows(client).subscribe();
+		assertThat(subscribed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// 두 구독자가 하나의 외부 호출을 공유
+		assertThat(exchanges).hasValue(1);
+		assertThat(inFlight()).isEqualTo(1);
+
+		// 한 구독자만 취소하면 호출은 계속됨
+		first.dispose();
+		assertThat(cancelled.getCount()).isEqualTo(1);
+		assertThat(inFlight()).isEqualTo(1);
+
+		// 마지막 구독자가 취소하면 외부 호출도 취소되고 진행 중 목록에서 빠짐
+		second.dispose();
+		assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(inFlight()).isZero();
+
+		// 이후 같은 요청은 새로 호출
+		Disposable third = mealRows(client).subscribe();
+		assertThat(exchanges).hasValue(2);
+		third.dispose();
+	}
+
+	private Mono<?> mealRows(NeisClient client) {
+		return client.getRows(NeisDataset.MEAL, client.uri("/mealServiceDietInfo")
+				.queryParam("ATPT_OFCDC_SC_CODE", "B10")
+				.queryParam("SD_SCHUL_CODE", "7010057"), MealInfoRow.class);
+	}
+
+	private NeisClient newClient() {
+		WebClient webClient = WebClient.builder()
+				.exchangeFunction(request -> Mono.<ClientResponse>never()
+						.doOnSubscribe(subscription -> {
+							exchanges.incrementAndGet();
+							subscribed.countDown();
+						})
+						.doOnCancel(cancelled::countDown))
+				.build();
+		NeisClientProperties properties = new NeisClientProperties();
+		NeisClient client = new NeisClient(webClient, properties,
+				new NeisCircuitBreaker(properties, meterRegistry),
+				new NeisRateLimiter(properties, meterRegistry),
+				new ObjectMapper(), meterRegistry);
+		ReflectionTestUtils.setField(client, "apiKey", "test-key");
+		ReflectionTestUtils.setField(client, "baseUrl", "https://open.neis.go.kr/hub");
+		return client;
+	}
+
+	private double inFlight() {
+		return meterRegistry.get("neis.client.in-flight").gauge().value();
+	}
+}
@@ -0,0 +1,138 @@
+package com.spring.schoolmate.service;
+
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.google.cloud.vision.v1.EntityAnnotation;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.EatPhotoRepository;
+import com.spring.schoolmate.repository.RoleRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 급식 사진 업로드 한 건이 원격 호출(Vision, 번역, Firebase) 동안 DB 커넥션을 잡고 있지 않은지 확인합니다.
+ * 원격 호출은 지연을 준 mock 으로 대체하고, 테스트 스레드가 빌린 커넥션의 반납까지 걸린 시간을 잰다. (H2 인메모리 DB)
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+@Import(RecordingDataSource.Config.class)
+class EatPhotoServiceConnectionHoldTest {
+
+	private static final long REMOTE_LATENCY_MS = 500;
+	private static final long TRANSLATE_LATENCY_MS = 100;
+	// 원격 호출 한 번보다 충분히 짧아야 함
+	private static final Duration MAX_HOLD = Duration.ofMillis(250);
+	private static final String IMAGE_URL = "https://firebasestorage.googleapis.com/v0/b/test/o/eatphotos%2Flunch.jpg?alt=media";
+	private static final byte[] PHOTO = {1, 2, 3};
+
+	@MockitoBean
+	private ImageAnnotatorClient visionClient;
+
+	@MockitoBean
+	private TranslationService translationService;
+
+	@MockitoBean
+	private FirebaseStorageService firebaseStorageService;
+
+	@Autowired
+	private EatPhotoService eatPhotoService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EatPhotoRepository eatPhotoRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeEach
+	void stubRemoteCalls() throws Exception {
+		given(visionClient.batchAnnotateImages(anyList())).willAnswer(invocation -> {
+			Thread.sleep(REMOTE_LATENCY_MS);
+			return BatchAnnotateImagesResponse.newBuilder()
+					.addResponses(AnnotateImageResponse.newBuilder()
+							.addLabelAnnotations(label("Food", 0.95f))
+							.addLabelAnnotations(label("Rice", 0.90f))
+							.addLabelAnnotations(label("Kimchi", 0.85f)))
+					.build();
+		});
+		given(firebaseStorageService.uploadBytes(any(), anyString(), anyString())).willAnswer(invocation -> {
+			Thread.sleep(REMOTE_LATENCY_MS);
+			return IMAGE_URL;
+		});
+	}
+
+	@Test
+	void connectionIsNotHeldAcrossRemoteCalls() throws Exception {
+		given(translationService.translateAll(anyList(), eq("ko"))).willAnswer(invocation -> {
+			Thread.sleep(TRANSLATE_LATENCY_MS);
+			List<String> labels = invocation.getArgument(0);
+			return labels.stream().map(label -> "번역-" + label).toList();
+		});
+		Student student = createStudent();
+
+		RecordingDataSource recorder = (RecordingDataSource) dataSource;
+		RecordingDataSource.Recording recording = recorder.start();
+		String result;
+		try {
+			result = eatPhotoService.uploadAndAnalyzePhoto(PHOTO, "lunch.jpg", student.getStudentId());
+		} finally {
+			recorder.stop();
+		}
+
+		assertThat(result).contains("포인트가 지급되었습니다");
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isEqualTo(2000);
+		assertThat(recording.holds()).isNotEmpty()
+				.allSatisfy(hold -> assertThat(hold).isLessThan(MAX_HOLD));
+	}
+
+	@Test
+	void uploadedFileIsDeletedWhenSavingFails() {
+		// 라벨명 컬럼(100자)을 넘겨 저장 단계에서 실패시킴
+		given(translationService.translateAll(anyList(), eq("ko"))).willAnswer(invocation -> {
+			List<String> labels = invocation.getArgument(0);
+			return labels.stream().map(label -> "가".repeat(150)).toList();
+		});
+		Student student = createStudent();
+		long photos = eatPhotoRepository.count();
+
+		assertThatThrownBy(() -> eatPhotoService.uploadAndAnalyzePhoto(PHOTO, "lunch.jpg", student.getStudentId()))
+				.isInstanceOf(Exception.class);
+
+		verify(firebaseStorageService).deleteFile(IMAGE_URL);
+		assertThat(eatPhotoRepository.count()).isEqualTo(photos);
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isZero();
+	}
+
+	private static EntityAnnotation label(String description, float score) {
+		return EntityAnnotation.newBuilder().setDescription(description).setScore(score).build();
+	}
+
+	private Student createStudent() {
+		return StudentFixture.create(roleRepository, studentRepository, "급식", 0);
+	}
+}
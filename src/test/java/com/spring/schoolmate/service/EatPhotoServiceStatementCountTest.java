@@ -0,0 +1,129 @@
+package com.spring.schoolmate.service;
+
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.google.cloud.vision.v1.EntityAnnotation;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.EatphotoVisionScoreRepository;
+import com.spring.schoolmate.repository.RoleRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * 급식 사진 한 장을 저장할 때 실행되는 SQL Statement 수가 라벨 수와 관계없이 일정한지 확인합니다.
+ * (라벨 일괄 조회 + 없는 라벨 배치 INSERT + 점수 배치 INSERT, H2 인메모리 DB)
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+@Import(RecordingDataSource.Config.class)
+class EatPhotoServiceStatementCountTest {
+
+	// 학생 확인 1 + 사진 INSERT 1 + 라벨 조회 1 + 라벨 배치 INSERT 1 + 추가 라벨 재조회 1 + 점수 배치 INSERT 1 (+ 여유)
+	private static final int MAX_STATEMENTS_PER_PHOTO = 8;
+	private static final byte[] PHOTO = {1, 2, 3};
+
+	@MockitoBean
+	private ImageAnnotatorClient visionClient;
+
+	@MockitoBean
+	private TranslationService translationService;
+
+	@MockitoBean
+	private FirebaseStorageService firebaseStorageService;
+
+	@Autowired
+	private EatPhotoService eatPhotoService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EatphotoVisionScoreRepository eatphotoVisionScoreRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@BeforeEach
+	void stubRemoteCalls() throws Exception {
+		given(translationService.translateAll(anyList(), eq("ko"))).willAnswer(invocation -> {
+			List<String> labels = invocation.getArgument(0);
+			return labels.stream().map(label -> "번역-" + label).toList();
+		});
+		given(firebaseStorageService.uploadBytes(any(), anyString(), anyString()))
+				.willReturn("https://firebasestorage.googleapis.com/v0/b/test/o/eatphotos%2Flunch.jpg?alt=media");
+	}
+
+	@Test
+	void statementCountDoesNotGrowWithLabelCount() throws Exception {
+		Student student = createStudent();
+
+		int fewLabels = statementsForPhoto(student, newLabels(3));
+		int manyLabels = statementsForPhoto(student, newLabels(12));
+
+		assertThat(manyLabels).isEqualTo(fewLabels);
+		assertThat(manyLabels).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PHOTO);
+	}
+
+	@Test
+	void existingLabelsAreReusedWithoutInsert() throws Exception {
+		Student student = createStudent();
+		List<String> labels = newLabels(10);
+
+		int first = statementsForPhoto(student, labels);
+		long scores = eatphotoVisionScoreRepository.count();
+		int second = statementsForPhoto(student, labels);
+
+		assertThat(second).isLessThan(first);
+		assertThat(eatphotoVisionScoreRepository.count()).isEqualTo(scores + labels.size());
+	}
+
+	// 급식이 아닌 라벨로 사진 한 장을 저장하고 (포인트 지급 제외) 그동안 만든 Statement 수를 반환
+	private int statementsForPhoto(Student student, List<String> labels) throws Exception {
+		AnnotateImageResponse.Builder annotations = AnnotateImageResponse.newBuilder();
+		labels.forEach(label -> annotations.addLabelAnnotations(
+				EntityAnnotation.newBuilder().setDescription(label).setScore(0.7f).build()));
+		given(visionClient.batchAnnotateImages(anyList()))
+				.willReturn(BatchAnnotateImagesResponse.newBuilder().addResponses(annotations).build());
+
+		RecordingDataSource recorder = (RecordingDataSource) dataSource;
+		RecordingDataSource.Recording recording = recorder.start();
+		try {
+			String result = eatPhotoService.uploadAndAnalyzePhoto(PHOTO, "lunch.jpg", student.getStudentId());
+			assertThat(result).contains("급식 사진이 아닙니다");
+		} finally {
+			recorder.stop();
+		}
+		return recording.statements();
+	}
+
+	private static List<String> newLabels(int count) {
+		String prefix = UUID.randomUUID().toString().substring(0, 8);
+		return IntStream.range(0, count).mapToObj(i -> prefix + "-label-" + i).toList();
+	}
+
+	private Student createStudent() {
+		return StudentFixture.create(roleRepository, studentRepository, "급식", 0);
+	}
+}
@@ -0,0 +1,183 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.PointHistoryRepository;
+import com.spring.schoolmate.repository.RoleRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 적립 로트의 FIFO 소진과 만료 스위퍼 동작을 확인합니다. (H2 인메모리 DB)
+ * 만료 시각은 적립 후 JDBC 로 직접 당겨서 만료 상태를 만든다.
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class PointExpiryServiceTest {
+
+	@Autowired
+	private PointHistoryService pointHistoryService;
+
+	@Autowired
+	private PointExpiryService pointExpiryService;
+
+	@Autowired
+	private PointHistoryRepository pointHistoryRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// 학생 행 잠금 직전에 끼워 넣을 동작 (후보 조회 ~ 잠금 사이의 동시 차감 재현용)
+	@MockitoSpyBean
+	private StudentRepository studentRepository;
+
+	private volatile Runnable beforeLock;
+	private final AtomicInteger lockCalls = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		doAnswer(invocation -> {
+			lockCalls.incrementAndGet();
+			Runnable hook = beforeLock;
+			beforeLock = null;
+			if (hook != null) {
+				// 스위퍼 트랜잭션과 별개의 커넥션에서 커밋
+				CompletableFuture.runAsync(hook).join();
+			}
+			return invocation.callRealMethod();
+		}).when(studentRepository).lockPointBalances(anyCollection());
+	}
+
+	@AfterEach
+	void tearDown() {
+		beforeLock = null;
+		lockCalls.set(0);
+	}
+
+	@Test
+	void spendsConsumeSoonestExpiringLotsFirst() {
+		Student student = createStudent(0);
+		PointHistory late = earn(student, 100);
+		PointHistory soonest = earn(student, 50);
+		PointHistory middle = earn(student, 30);
+		setExpiresAt(late, Duration.ofDays(3));
+		setExpiresAt(soonest, Duration.ofDays(1));
+		setExpiresAt(middle, Duration.ofDays(2));
+
+		pointHistoryService.recordTransaction(student.getStudentId(), -70, null, "PRODUCT", "EXCHANGE");
+
+		PointHistory soonestAfter = reload(soonest);
+		assertThat(soonestAfter.getRemaining()).isZero();
+		assertThat(soonestAfter.getExpiresAt()).isNull();
+		assertThat(reload(middle).getRemaining()).isEqualTo(10);
+		assertThat(reload(late).getRemaining()).isEqualTo(100);
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isEqualTo(110);
+	}
+
+	@Test
+	void sweepDebitsRemainingOncePerStudentAndNeverBelowZero() {
+		// 로트 두 개 중 일부를 쓴 학생 - 남은 70 + 50 만 만료
+		Student partlySpent = createStudent(0);
+		PointHistory first = earn(partlySpent, 100);
+		PointHistory second = earn(partlySpent, 50);
+		setExpiresAt(first, Duration.ofHours(1));
+		setExpiresAt(second, Duration.ofHours(2));
+		pointHistoryService.recordTransaction(partlySpent.getStudentId(), -30, null, "PRODUCT", "EXCHANGE");
+
+		// 로트로 추적되지 않는 보정으로 잔액이 로트 합계보다 작아진 학생 - 잔액까지만 만료
+		Student corrected = createStudent(0);
+		PointHistory lot = earn(corrected, 80);
+		jdbcTemplate.update("UPDATE student SET point_balance = 20 WHERE student_id = ?", corrected.getStudentId());
+
+		setExpiresAt(first, Duration.ofDays(-2));
+		setExpiresAt(second, Duration.ofDays(-1));
+		setExpiresAt(lot, Duration.ofDays(-1));
+
+		assertThat(pointExpiryService.sweep()).isEqualTo(3);
+
+		assertThat(studentRepository.findPointBalance(partlySpent.getStudentId())).isZero();
+		assertThat(expireAmounts(partlySpent)).containsExactly(-120);
+		assertThat(studentRepository.findPointBalance(corrected.getStudentId())).isZero();
+		assertThat(expireAmounts(corrected)).containsExactly(-20);
+
+		for (PointHistory closed : List.of(first, second, lot)) {
+			assertThat(reload(closed).getRemaining()).isZero();
+			assertThat(reload(closed).getExpiresAt()).isNull();
+		}
+
+		// 다시 돌려도 이미 닫힌 로트는 건드리지 않음
+		assertThat(pointExpiryService.sweep()).isZero();
+		assertThat(expireAmounts(partlySpent)).hasSize(1);
+	}
+
+	@Test
+	void sweepSkipsLotSpentBetweenSelectionAndLock() {
+		Student student = createStudent(20);
+		PointHistory spent = earn(student, 100);
+		PointHistory kept = earn(student, 30);
+		setExpiresAt(spent, Duration.ofDays(-1));
+		setExpiresAt(kept, Duration.ofDays(-1));
+
+		// 만료 직전에 로트를 읽은 차감 거래가, 스위퍼가 후보를 고른 뒤 잠금을 잡기 전에 커밋된 상황
+		beforeLock = () -> {
+			jdbcTemplate.update("UPDATE student SET point_balance = point_balance - 100 WHERE student_id = ?",
+					student.getStudentId());
+			jdbcTemplate.update("UPDATE point_history SET remaining = 0, expires_at = NULL WHERE ph_id = ?",
+					spent.getPhId());
+		};
+
+		pointExpiryService.sweep();
+
+		assertThat(lockCalls.get()).isEqualTo(1);
+		assertThat(beforeLock).isNull();
+		// 150 - 100(동시 차감) - 30(남은 로트 만료) = 20 (로트 밖의 기존 잔액은 그대로)
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isEqualTo(20);
+		assertThat(expireAmounts(student)).containsExactly(-30);
+		assertThat(reload(kept).getRemaining()).isZero();
+	}
+
+	private PointHistory earn(Student student, int amount) {
+		return pointHistoryService.addPointTransaction(student.getStudentId(), amount, "만료 테스트");
+	}
+
+	// 로트 만료 시각을 현재 기준으로 옮김 (음수면 이미 만료)
+	private void setExpiresAt(PointHistory lot, Duration fromNow) {
+		jdbcTemplate.update("UPDATE point_history SET expires_at = ? WHERE ph_id = ?",
+				Timestamp.from(Instant.now().plus(fromNow)), lot.getPhId());
+	}
+
+	private PointHistory reload(PointHistory lot) {
+		return pointHistoryRepository.findById(lot.getPhId()).orElseThrow();
+	}
+
+	private List<Integer> expireAmounts(Student student) {
+		return jdbcTemplate.queryForList(
+				"SELECT amount FROM point_history WHERE student_id = ? AND transaction_type = ?",
+				Integer.class, student.getStudentId(), PointHistoryService.EXPIRE_TS_TYPE);
+	}
+
+	private Student createStudent(int balance) {
+		return StudentFixture.create(roleRepository, studentRepository, "만료", balance);
+	}
+}
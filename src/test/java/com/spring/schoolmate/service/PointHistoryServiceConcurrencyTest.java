@@ -0,0 +1,120 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.entity.PointHistory;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.PointHistoryRepository;
+import com.spring.schoolmate.repository.RoleRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 학생에 대한 동시 적립/차감 시 잔액이 어긋나지 않는지 확인합니다. (H2 인메모리 DB)
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class PointHistoryServiceConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int CALLS_PER_THREAD = 25;
+
+	@Autowired
+	private PointHistoryService pointHistoryService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private PointHistoryRepository pointHistoryRepository;
+
+	@Test
+	void concurrentEarnsDoNotLoseUpdates() throws Exception {
+		Student student = createStudent(0);
+		int amount = 10;
+
+		List<Integer> failures = runConcurrently(THREADS * CALLS_PER_THREAD,
+				() -> pointHistoryService.addPointTransaction(student.getStudentId(), amount, "동시성 테스트"));
+
+		int expected = THREADS * CALLS_PER_THREAD * amount;
+		assertThat(failures).isEmpty();
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isEqualTo(expected);
+
+		// 각 거래의 balanceAfter 는 10, 20, ... expected 가 한 번씩만 나와야 함
+		List<Integer> balances = pointHistoryRepository.findByStudent(student).stream()
+				.map(PointHistory::getBalanceAfter)
+				.sorted()
+				.toList();
+		assertThat(balances).hasSize(THREADS * CALLS_PER_THREAD);
+		for (int i = 0; i < balances.size(); i++) {
+			assertThat(balances.get(i)).isEqualTo((i + 1) * amount);
+		}
+	}
+
+	@Test
+	void concurrentSpendsNeverOverdraw() throws Exception {
+		int initial = 1_000;
+		int cost = 30;
+		Student student = createStudent(initial);
+
+		List<Integer> failures = runConcurrently(THREADS * CALLS_PER_THREAD,
+				() -> pointHistoryService.recordTransaction(student.getStudentId(), -cost, null, "PRODUCT", "EXCHANGE"));
+
+		int succeeded = THREADS * CALLS_PER_THREAD - failures.size();
+		assertThat(succeeded).isEqualTo(initial / cost);
+		assertThat(studentRepository.findPointBalance(student.getStudentId())).isEqualTo(initial - succeeded * cost);
+		assertThat(pointHistoryRepository.findByStudent(student))
+				.allSatisfy(history -> assertThat(history.getBalanceAfter()).isGreaterThanOrEqualTo(0));
+	}
+
+	private Student createStudent(int balance) {
+		return StudentFixture.create(roleRepository, studentRepository, "동시성", balance);
+	}
+
+	// 모든 스레드가 동시에 시작하도록 맞춘 뒤 실행하고, 잔액 부족으로 실패한 호출 번호를 반환
+	private List<Integer> runConcurrently(int calls, Runnable task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < calls; i++) {
+				Callable<Boolean> call = () -> {
+					start.await();
+					try {
+						task.run();
+						return true;
+					} catch (IllegalArgumentException e) {
+						return false;
+					}
+				};
+				results.add(executor.submit(call));
+			}
+			start.countDown();
+
+			List<Integer> failures = new ArrayList<>();
+			for (int i = 0; i < results.size(); i++) {
+				if (!results.get(i).get(60, TimeUnit.SECONDS)) {
+					failures.add(i);
+				}
+			}
+			return failures;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.spring.schoolmate.service;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * start() 를 호출한 스레드가 빌린 커넥션마다 대여~반납 시간과 만든 Statement 수를 기록하는 DataSource.
+ * (배치는 addBatch 횟수와 관계없이 Statement 하나로 센다)
+ * 테스트에서 @Import(RecordingDataSource.Config.class) 로 애플리케이션 DataSource 를 감싼다.
+ */
+class RecordingDataSource extends DelegatingDataSource {
+
+	private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+	private final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
+	RecordingDataSource(DataSource target) {
+		super(target);
+	}
+
+	Recording start() {
+		Recording current = new Recording();
+		recording.set(current);
+		return current;
+	}
+
+	void stop() {
+		recording.remove();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return track(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return track(super.getConnection(username, password));
+	}
+
+	private Connection track(Connection connection) {
+		Recording current = recording.get();
+		if (current == null) {
+			return connection;
+		}
+		long acquired = System.nanoTime();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("close")) {
+						current.holds.add(Duration.ofNanos(System.nanoTime() - acquired));
+					} else if (STATEMENT_METHODS.contains(method.getName())) {
+						current.statements.incrementAndGet();
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getTargetException();
+					}
+				});
+	}
+
+	static class Recording {
+
+		private final List<Duration> holds = new CopyOnWriteArrayList<>();
+		private final AtomicInteger statements = new AtomicInteger();
+
+		List<Duration> holds() {
+			return holds;
+		}
+
+		int statements() {
+			return statements.get();
+		}
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		static BeanPostProcessor recordingDataSourcePostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+						return new RecordingDataSource(dataSource);
+					}
+					return bean;
+				}
+			};
+		}
+	}
+}
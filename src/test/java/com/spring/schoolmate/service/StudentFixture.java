@@ -0,0 +1,32 @@
+package com.spring.schoolmate.service;
+
+import com.spring.schoolmate.entity.Role;
+import com.spring.schoolmate.entity.Student;
+import com.spring.schoolmate.repository.RoleRepository;
+import com.spring.schoolmate.repository.StudentRepository;
+
+import java.util.UUID;
+
+/**
+ * 통합 테스트용 학생 생성 (STUDENT 역할이 없으면 함께 생성, 이메일은 매번 새로 만듦)
+ */
+final class StudentFixture {
+
+	private StudentFixture() {
+	}
+
+	static Student create(RoleRepository roleRepository, StudentRepository studentRepository, String name, int balance) {
+		Role role = roleRepository.findByRoleName(Role.RoleType.STUDENT).orElseGet(() -> {
+			Role created = new Role();
+			created.setRoleName(Role.RoleType.STUDENT);
+			return roleRepository.save(created);
+		});
+		return studentRepository.save(Student.builder()
+				.role(role)
+				.email(UUID.randomUUID() + "@test.com")
+				.password("password")
+				.name(name)
+				.pointBalance(balance)
+				.build());
+	}
+}